@@ -5,12 +5,22 @@
 package dao;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import model.Booking;
 import model.BookingStatus;
+import model.Customer;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
+import utils.DateTimeRange;
 import utils.HibernateUtil;
 
 /**
@@ -21,9 +31,12 @@ import utils.HibernateUtil;
  * BookingDAO - Data Access Object for Booking Entity
  */
 public class BookingDAO extends GenericDAOImpl<Booking, Long> {
+
+    // IDs per UPDATE in confirmPaidPending
+    private static final int MIGRATION_CHUNK_SIZE = 1000;
     
     public BookingDAO() {
-        super(Booking.class);
+        super(Booking.class, Booking.GRAPH_LIST);
     }
 
     /**
@@ -33,6 +46,7 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
         String hql = "FROM Booking WHERE customer.customerId = :customerId ORDER BY bookingDate DESC, startTime DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Booking> query = session.createQuery(hql, Booking.class);
+            applyGraph(session, query, Booking.GRAPH_LIST);
             query.setParameter("customerId", customerId);
             return query.list();
         } catch (Exception e) {
@@ -48,6 +62,7 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
         String hql = "FROM Booking WHERE gamingStation.stationId = :stationId ORDER BY bookingDate DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Booking> query = session.createQuery(hql, Booking.class);
+            applyGraph(session, query, Booking.GRAPH_LIST);
             query.setParameter("stationId", stationId);
             return query.list();
         } catch (Exception e) {
@@ -56,30 +71,384 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
         }
     }
 
+    /**
+     * Station, day, times and status of a booking - enough to tell which
+     * derived data (events, rollups, waitlist) a write to the booking affects
+     */
+    public record BookingKey(Long bookingId, Long stationId, LocalDate bookingDate, BookingStatus status,
+                             LocalTime startTime, LocalTime endTime) {
+    }
+
+    // Select list read by toKey
+    private static final String KEY_COLUMNS =
+            "b.bookingId, b.gamingStation.stationId, b.bookingDate, b.status, b.startTime, b.endTime";
+
+    private static BookingKey toKey(Object[] row) {
+        return new BookingKey((Long) row[0], (Long) row[1], (LocalDate) row[2], (BookingStatus) row[3],
+                (LocalTime) row[4], (LocalTime) row[5]);
+    }
+
+    /**
+     * Get the key of one booking without loading the entity
+     * @return the key, or null if there is no such booking
+     */
+    public BookingKey findKey(Long bookingId) {
+        List<BookingKey> keys = findKeys("b.bookingId = :id", bookingId);
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * Get the keys of the given bookings; unknown IDs are skipped
+     */
+    public List<BookingKey> findKeys(Collection<Long> bookingIds) {
+        return bookingIds.isEmpty() ? List.of() : findKeys("b.bookingId IN :id", bookingIds);
+    }
+
+    /**
+     * Get the keys of all bookings of a customer
+     */
+    public List<BookingKey> findKeysByCustomer(Long customerId) {
+        return findKeys("b.customer.customerId = :id", customerId);
+    }
+
+    private List<BookingKey> findKeys(String condition, Object id) {
+        String hql = "SELECT " + KEY_COLUMNS + " FROM Booking b WHERE " + condition;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            query.setParameter("id", id);
+            List<BookingKey> keys = new ArrayList<>();
+            for (Object[] row : query.list()) {
+                keys.add(toKey(row));
+            }
+            return keys;
+        } catch (Exception e) {
+            logger.error("Error finding booking keys: {}", e.getMessage());
+            throw new RuntimeException("Failed to find booking keys", e);
+        }
+    }
+
     /**
      * Check for booking conflicts (BUSINESS VALIDATION RULE #1)
      */
     public boolean hasConflict(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        String hql = "FROM Booking WHERE gamingStation.stationId = :stationId " +
+        return hasConflict(stationId, date, startTime, endTime, List.of());
+    }
+
+    /**
+     * Check for booking conflicts, ignoring the given bookings (e.g. the ones being updated)
+     */
+    public boolean hasConflict(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                               Collection<Long> excludedIds) {
+        String hql = "SELECT COUNT(*) FROM Booking WHERE gamingStation.stationId = :stationId " +
                      "AND bookingDate = :date " +
                      "AND status IN ('PENDING', 'CONFIRMED', 'ONGOING') " +
                      "AND ((startTime <= :startTime AND endTime > :startTime) " +
                      "OR (startTime < :endTime AND endTime >= :endTime) " +
-                     "OR (startTime >= :startTime AND endTime <= :endTime))";
+                     "OR (startTime >= :startTime AND endTime <= :endTime))" +
+                     (excludedIds.isEmpty() ? "" : " AND bookingId NOT IN :excludedIds");
         
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            Query<Booking> query = session.createQuery(hql, Booking.class);
+            Query<Long> query = session.createQuery(hql, Long.class);
             query.setParameter("stationId", stationId);
             query.setParameter("date", date);
             query.setParameter("startTime", startTime);
             query.setParameter("endTime", endTime);
-            return !query.list().isEmpty();
+            if (!excludedIds.isEmpty()) {
+                query.setParameter("excludedIds", excludedIds);
+            }
+            return query.uniqueResult() > 0;
         } catch (Exception e) {
             logger.error("Error checking booking conflict: {}", e.getMessage());
             return true; // Return true to prevent booking on error
         }
     }
 
+    /**
+     * Stations with a pending, confirmed or ongoing booking overlapping a time window
+     */
+    public List<Long> findBusyStationIds(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        String hql = "SELECT DISTINCT b.gamingStation.stationId FROM Booking b " +
+                     "WHERE b.bookingDate = :date AND b.status IN :statuses " +
+                     "AND b.startTime < :endTime AND b.endTime > :startTime";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(hql, Long.class);
+            query.setParameter("date", date);
+            query.setParameter("statuses", BLOCKING_STATUSES);
+            query.setParameter("startTime", startTime);
+            query.setParameter("endTime", endTime);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding busy stations: {}", e.getMessage());
+            throw new RuntimeException("Failed to find busy stations", e);
+        }
+    }
+
+    /**
+     * Pending, confirmed and ongoing bookings in a date range, ordered by start
+     * @param stationId one station, or null for all
+     * @return rows of [stationId, bookingDate, startTime, endTime]
+     */
+    public List<Object[]> findBlockedIntervals(DateTimeRange range, Long stationId) {
+        String hql = "SELECT b.gamingStation.stationId, b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+                     "WHERE b.bookingDate >= :startDate AND b.bookingDate < :endDate AND b.status IN :statuses" +
+                     (stationId != null ? " AND b.gamingStation.stationId = :stationId" : "") +
+                     " ORDER BY b.bookingDate, b.startTime";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            query.setParameter("startDate", range.getStartDate());
+            query.setParameter("endDate", range.getEndDateExclusive());
+            query.setParameter("statuses", BLOCKING_STATUSES);
+            if (stationId != null) {
+                query.setParameter("stationId", stationId);
+            }
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding blocked intervals: {}", e.getMessage());
+            throw new RuntimeException("Failed to find blocked intervals", e);
+        }
+    }
+
+    /**
+     * Save a series of bookings and the one payment covering them, deducting
+     * the total from the customer balance, all in one transaction.
+     * Bookings go out in JDBC batches; nothing is written if any insert fails
+     * or the balance no longer covers the payment. Being paid, the bookings
+     * are saved CONFIRMED. The customer row stays locked until commit, so
+     * concurrent payments cannot both spend the same balance.
+     */
+    public List<Booking> saveAllWithPayment(List<Booking> bookings, Long customerId, model.Transaction payment) {
+        org.hibernate.Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            transaction = session.beginTransaction();
+            CustomerDAO.adjustBalance(session, customerId, payment.getAmount().negate());
+            session.persist(payment);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).confirm();
+                session.persist(bookings.get(i));
+                if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+            DataVersion.bump(Booking.class, Customer.class, model.Transaction.class);
+            logger.info("Saved {} booking(s) with one payment for customer {}", bookings.size(), customerId);
+            return bookings;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error saving booking series: {}", e.getMessage());
+            throw new RuntimeException("Failed to save booking series", e);
+        }
+    }
+
+    /**
+     * Save a single booking and its payment ("Booking #id"), deducting the
+     * amount from the customer balance, all in one transaction with the
+     * customer row locked. Being paid, the booking is saved CONFIRMED.
+     */
+    public Booking saveWithPayment(Booking booking, Long customerId, model.Transaction payment) {
+        org.hibernate.Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            CustomerDAO.adjustBalance(session, customerId, payment.getAmount().negate());
+            booking.confirm();
+            session.persist(booking);
+            payment.setDescription("Booking #" + booking.getBookingId());
+            session.persist(payment);
+            transaction.commit();
+            DataVersion.bump(Booking.class, Customer.class, model.Transaction.class);
+            return booking;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error saving booking: {}", e.getMessage());
+            throw new RuntimeException("Failed to save booking", e);
+        }
+    }
+
+    /**
+     * Pending, confirmed and ongoing bookings of one day, for the lifecycle scheduler
+     * @return rows of [bookingId, stationId, customerId, bookingDate, startTime, endTime, status]
+     */
+    public List<Object[]> findLifecycleRows(LocalDate date) {
+        String hql = "SELECT b.bookingId, b.gamingStation.stationId, b.customer.customerId, b.bookingDate, " +
+                     "b.startTime, b.endTime, b.status " +
+                     "FROM Booking b WHERE b.bookingDate = :date AND b.status IN :statuses";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            query.setParameter("date", date);
+            query.setParameter("statuses", BLOCKING_STATUSES);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding lifecycle rows: {}", e.getMessage());
+            throw new RuntimeException("Failed to find lifecycle rows", e);
+        }
+    }
+
+    /**
+     * Bookings and stations moved on by applyLifecycle
+     * @param moved bookings whose status changed, as they were before
+     * @param stations new status of each station whose status changed
+     */
+    public record LifecycleChanges(List<BookingKey> moved, Map<Long, model.StationStatus> stations) {
+    }
+
+    /**
+     * Move bookings on by the clock with a few bulk UPDATEs in one transaction:
+     * CONFIRMED to ONGOING, then ONGOING to COMPLETED, so a booking that both
+     * starts and ends in one batch ends up completed.
+     * A booking whose status has changed meanwhile is left alone. Afterwards a
+     * touched station is OCCUPIED if a booking is ongoing on it and AVAILABLE
+     * otherwise; stations in maintenance or out of order are never changed.
+     */
+    public LifecycleChanges applyLifecycle(Collection<Long> toComplete, Collection<Long> toStart) {
+        org.hibernate.Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            List<BookingKey> moved = new ArrayList<>();
+            Set<Long> touched = new HashSet<>();
+            touched.addAll(transition(session, toStart, BookingStatus.CONFIRMED, BookingStatus.ONGOING, moved));
+            touched.addAll(transition(session, toComplete, BookingStatus.ONGOING, BookingStatus.COMPLETED, moved));
+
+            Map<Long, model.StationStatus> stations = new HashMap<>();
+            if (!touched.isEmpty()) {
+                String ongoing = "EXISTS (SELECT b.bookingId FROM Booking b WHERE b.gamingStation = g AND b.status = :ongoing)";
+                setStationStatus(session, touched, model.StationStatus.AVAILABLE, model.StationStatus.OCCUPIED,
+                        ongoing, stations);
+                setStationStatus(session, touched, model.StationStatus.OCCUPIED, model.StationStatus.AVAILABLE,
+                        "NOT " + ongoing, stations);
+            }
+            transaction.commit();
+            if (!moved.isEmpty()) {
+                DataVersion.bump(Booking.class);
+            }
+            if (!stations.isEmpty()) {
+                DataVersion.bump(model.GamingStation.class);
+            }
+            return new LifecycleChanges(moved, stations);
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error applying booking lifecycle: {}", e.getMessage());
+            throw new RuntimeException("Failed to apply booking lifecycle", e);
+        }
+    }
+
+    // Returns the stations of the bookings moved
+    private List<Long> transition(Session session, Collection<Long> bookingIds, BookingStatus from,
+                                  BookingStatus to, List<BookingKey> moved) {
+        if (bookingIds.isEmpty()) {
+            return List.of();
+        }
+        List<BookingKey> keys = new ArrayList<>();
+        for (Object[] row : session.createQuery(
+                "SELECT " + KEY_COLUMNS + " FROM Booking b WHERE b.bookingId IN :ids AND b.status = :from", Object[].class)
+                .setParameter("ids", bookingIds)
+                .setParameter("from", from)
+                .list()) {
+            keys.add(toKey(row));
+        }
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = keys.stream().map(BookingKey::bookingId).toList();
+        session.createMutationQuery("UPDATE Booking SET status = :to, updatedAt = :now WHERE bookingId IN :ids AND status = :from")
+                .setParameter("to", to)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", ids)
+                .setParameter("from", from)
+                .executeUpdate();
+        moved.addAll(keys);
+        return keys.stream().map(BookingKey::stationId).distinct().toList();
+    }
+
+    // Set stations from one status to another where the condition on their bookings holds
+    private void setStationStatus(Session session, Collection<Long> stationIds, model.StationStatus from,
+                                  model.StationStatus to, String condition, Map<Long, model.StationStatus> changed) {
+        List<Long> ids = session.createQuery(
+                "SELECT g.stationId FROM GamingStation g WHERE g.stationId IN :ids AND g.status = :from AND " + condition,
+                Long.class)
+                .setParameter("ids", stationIds)
+                .setParameter("from", from)
+                .setParameter("ongoing", BookingStatus.ONGOING)
+                .list();
+        if (!ids.isEmpty()) {
+            session.createMutationQuery("UPDATE GamingStation SET status = :status WHERE stationId IN :ids")
+                    .setParameter("status", to)
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+            ids.forEach(id -> changed.put(id, to));
+        }
+    }
+
+    /**
+     * One-off migration: confirm PENDING bookings that were paid for.
+     * Until bookings were confirmed on payment every booking was saved
+     * PENDING, paid or not. A booking counts as paid if its customer has a
+     * BOOKING_PAYMENT naming it ("Booking #id"), or a recurring or group
+     * payment made within a minute of the booking being created (the series
+     * and its payment are saved in one transaction). Running it again
+     * changes nothing, as it only touches PENDING rows.
+     * @return the bookings confirmed, as they were before
+     */
+    public List<BookingKey> confirmPaidPending() {
+        String hql = "SELECT " + KEY_COLUMNS + " FROM Booking b " +
+                     "WHERE b.status = :pending AND EXISTS (SELECT t.transactionId FROM Transaction t " +
+                     "WHERE t.customer = b.customer AND t.transactionType = :payment " +
+                     "AND (t.description = CONCAT('Booking #', CAST(b.bookingId AS String)) " +
+                     "OR ((t.description LIKE 'Recurring booking:%' OR t.description LIKE 'Group booking:%') " +
+                     "AND t.transactionDate BETWEEN b.createdAt - 1 minute AND b.createdAt + 1 minute)))";
+        org.hibernate.Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            List<BookingKey> keys = new ArrayList<>();
+            for (Object[] row : session.createQuery(hql, Object[].class)
+                    .setParameter("pending", BookingStatus.PENDING)
+                    .setParameter("payment", model.TransactionType.BOOKING_PAYMENT)
+                    .list()) {
+                keys.add(toKey(row));
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < keys.size(); i += MIGRATION_CHUNK_SIZE) {
+                List<Long> ids = keys.subList(i, Math.min(keys.size(), i + MIGRATION_CHUNK_SIZE)).stream()
+                        .map(BookingKey::bookingId).toList();
+                session.createMutationQuery("UPDATE Booking SET status = :to, updatedAt = :now " +
+                                            "WHERE bookingId IN :ids AND status = :from")
+                        .setParameter("to", BookingStatus.CONFIRMED)
+                        .setParameter("now", now)
+                        .setParameter("ids", ids)
+                        .setParameter("from", BookingStatus.PENDING)
+                        .executeUpdate();
+            }
+            transaction.commit();
+            if (!keys.isEmpty()) {
+                DataVersion.bump(Booking.class);
+            }
+            return keys;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error confirming paid pending bookings: {}", e.getMessage());
+            throw new RuntimeException("Failed to confirm paid pending bookings", e);
+        }
+    }
+
+    /**
+     * Count stations with a confirmed or ongoing booking in progress at the given time
+     */
+    public long countStationsInUse(LocalDateTime at) {
+        String hql = "SELECT COUNT(DISTINCT b.gamingStation.stationId) FROM Booking b " +
+                     "WHERE b.bookingDate = :date AND b.startTime <= :time AND b.endTime > :time " +
+                     "AND b.status IN ('CONFIRMED', 'ONGOING')";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(hql, Long.class);
+            query.setParameter("date", at.toLocalDate());
+            query.setParameter("time", at.toLocalTime());
+            return query.uniqueResult();
+        } catch (Exception e) {
+            logger.error("Error counting stations in use: {}", e.getMessage());
+            throw new RuntimeException("Failed to count stations in use", e);
+        }
+    }
+
     /**
      * Get upcoming bookings
      */
@@ -88,6 +457,7 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
                      "ORDER BY bookingDate ASC, startTime ASC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Booking> query = session.createQuery(hql, Booking.class);
+            applyGraph(session, query, Booking.GRAPH_LIST);
             query.setParameter("today", LocalDate.now());
             return query.list();
         } catch (Exception e) {
@@ -97,15 +467,23 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
     }
 
     /**
-     * Get bookings by date range
+     * Get bookings by date range (both days inclusive)
      */
     public List<Booking> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        String hql = "FROM Booking WHERE bookingDate BETWEEN :startDate AND :endDate " +
+        return findByRange(DateTimeRange.ofDays(startDate, endDate));
+    }
+
+    /**
+     * Get bookings whose booking date falls in a half-open range
+     */
+    public List<Booking> findByRange(DateTimeRange range) {
+        String hql = "FROM Booking WHERE bookingDate >= :startDate AND bookingDate < :endDate " +
                      "ORDER BY bookingDate DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Booking> query = session.createQuery(hql, Booking.class);
-            query.setParameter("startDate", startDate);
-            query.setParameter("endDate", endDate);
+            applyGraph(session, query, Booking.GRAPH_LIST);
+            query.setParameter("startDate", range.getStartDate());
+            query.setParameter("endDate", range.getEndDateExclusive());
             return query.list();
         } catch (Exception e) {
             logger.error("Error finding bookings by date range: {}", e.getMessage());
@@ -113,6 +491,50 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
         }
     }
 
+    /**
+     * Count bookings whose booking date falls in a half-open range
+     */
+    public long countByRange(DateTimeRange range) {
+        String hql = "SELECT COUNT(*) FROM Booking WHERE bookingDate >= :startDate AND bookingDate < :endDate";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(hql, Long.class);
+            query.setParameter("startDate", range.getStartDate());
+            query.setParameter("endDate", range.getEndDateExclusive());
+            return query.uniqueResult();
+        } catch (Exception e) {
+            logger.error("Error counting bookings by date range: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Stream bookings whose booking date falls in a half-open range, oldest first.
+     * Customer and station are join fetched for report rendering.
+     * @return number of bookings streamed
+     */
+    public long streamByRange(DateTimeRange range, Consumer<? super Booking> consumer) {
+        return streamForReport(range, null, null, consumer);
+    }
+
+    /**
+     * Stream bookings for a report, oldest first; every filter is optional (null = any).
+     * Customer and station are join fetched for report rendering.
+     * @return number of bookings streamed
+     */
+    public long streamForReport(DateTimeRange range, Long stationId, BookingStatus status,
+                                Consumer<? super Booking> consumer) {
+        StringBuilder hql = new StringBuilder(
+                "FROM Booking b JOIN FETCH b.customer JOIN FETCH b.gamingStation WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(hql, params, range, stationId);
+        if (status != null) {
+            hql.append(" AND b.status = :status");
+            params.put("status", status);
+        }
+        hql.append(" ORDER BY b.bookingDate ASC, b.startTime ASC");
+        return streamQuery(hql.toString(), params, consumer);
+    }
+
     /**
      * Get bookings by status
      */
@@ -120,6 +542,7 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
         String hql = "FROM Booking WHERE status = :status ORDER BY bookingDate DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Booking> query = session.createQuery(hql, Booking.class);
+            applyGraph(session, query, Booking.GRAPH_LIST);
             query.setParameter("status", status);
             return query.list();
         } catch (Exception e) {
@@ -127,4 +550,101 @@ public class BookingDAO extends GenericDAOImpl<Booking, Long> {
             return List.of();
         }
     }
+
+    // Bookings that keep a slot from being booked again, as in hasConflict
+    public static final List<BookingStatus> BLOCKING_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.ONGOING);
+
+    // Statuses that represent time actually taken on a station (also used by RollupDAO).
+    // Paid bookings saved PENDING before bookings were confirmed on payment are
+    // confirmed at startup (confirmPaidPending), so they are counted here too.
+    static final List<BookingStatus> OCCUPYING_STATUSES =
+            List.of(BookingStatus.CONFIRMED, BookingStatus.ONGOING, BookingStatus.COMPLETED);
+
+    /**
+     * Find bookings for a report; every filter is optional (null = any)
+     */
+    public List<Booking> findForReport(DateTimeRange range, Long stationId, BookingStatus status) {
+        StringBuilder hql = new StringBuilder("FROM Booking b WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(hql, params, range, stationId);
+        if (status != null) {
+            hql.append(" AND b.status = :status");
+            params.put("status", status);
+        }
+        hql.append(" ORDER BY b.bookingDate ASC, b.startTime ASC");
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Booking> query = session.createQuery(hql.toString(), Booking.class);
+            applyGraph(session, query, Booking.GRAPH_REPORT);
+            params.forEach(query::setParameter);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding bookings for report: {}", e.getMessage());
+            throw new RuntimeException("Failed to find bookings for report", e);
+        }
+    }
+
+    /**
+     * Booked time per station, aggregated in the database.
+     * Stations without bookings in the range are included with zeros.
+     * @return rows of [stationId, stationName, stationType, bookings, hours, amount]
+     */
+    public List<Object[]> sumUsageByStation(DateTimeRange range, Long stationId) {
+        StringBuilder hql = new StringBuilder(
+                "SELECT g.stationId, g.stationName, g.stationType, COUNT(b.bookingId), " +
+                "COALESCE(SUM(b.durationHours), 0), COALESCE(SUM(b.totalAmount), 0) " +
+                "FROM GamingStation g LEFT JOIN Booking b ON b.gamingStation = g AND b.status IN :statuses");
+        Map<String, Object> params = new HashMap<>();
+        params.put("statuses", OCCUPYING_STATUSES);
+        if (range != null) {
+            hql.append(" AND b.bookingDate >= :startDate AND b.bookingDate < :endDate");
+            params.put("startDate", range.getStartDate());
+            params.put("endDate", range.getEndDateExclusive());
+        }
+        if (stationId != null) {
+            hql.append(" WHERE g.stationId = :stationId");
+            params.put("stationId", stationId);
+        }
+        hql.append(" GROUP BY g.stationId, g.stationName, g.stationType ORDER BY g.stationName");
+        return aggregate(hql.toString(), params, "station usage");
+    }
+
+    /**
+     * Bookings per starting hour of day, aggregated in the database
+     * @return rows of [hour, bookings, hours], hours without bookings omitted
+     */
+    public List<Object[]> countByStartHour(DateTimeRange range, Long stationId) {
+        StringBuilder hql = new StringBuilder(
+                "SELECT extract(hour from b.startTime), COUNT(b), COALESCE(SUM(b.durationHours), 0) " +
+                "FROM Booking b WHERE b.status IN :statuses");
+        Map<String, Object> params = new HashMap<>();
+        params.put("statuses", OCCUPYING_STATUSES);
+        appendFilters(hql, params, range, stationId);
+        hql.append(" GROUP BY extract(hour from b.startTime) ORDER BY extract(hour from b.startTime)");
+        return aggregate(hql.toString(), params, "peak hours");
+    }
+
+    private static void appendFilters(StringBuilder hql, Map<String, Object> params,
+                                      DateTimeRange range, Long stationId) {
+        if (range != null) {
+            hql.append(" AND b.bookingDate >= :startDate AND b.bookingDate < :endDate");
+            params.put("startDate", range.getStartDate());
+            params.put("endDate", range.getEndDateExclusive());
+        }
+        if (stationId != null) {
+            hql.append(" AND b.gamingStation.stationId = :stationId");
+            params.put("stationId", stationId);
+        }
+    }
+
+    private List<Object[]> aggregate(String hql, Map<String, Object> params, String description) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            params.forEach(query::setParameter);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error aggregating {}: {}", description, e.getMessage());
+            throw new RuntimeException("Failed to aggregate " + description, e);
+        }
+    }
 }
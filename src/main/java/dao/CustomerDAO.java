@@ -4,7 +4,12 @@
  */
 package dao;
 
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import model.Customer;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
@@ -20,7 +25,43 @@ import utils.HibernateUtil;
 public class CustomerDAO extends GenericDAOImpl<Customer, Long> {
     
     public CustomerDAO() {
-        super(Customer.class);
+        super(Customer.class, Customer.GRAPH_WITH_USER);
+    }
+
+    /**
+     * Add to (or, with a negative amount, deduct from) the customer balance
+     * and save the transaction recording it, in one database transaction.
+     * The customer row is locked while the balance is read and written.
+     */
+    public void applyPayment(Long customerId, BigDecimal amount, model.Transaction record) {
+        org.hibernate.Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            adjustBalance(session, customerId, amount);
+            session.persist(record);
+            transaction.commit();
+            DataVersion.bump(Customer.class, model.Transaction.class);
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error applying payment for customer {}: {}", customerId, e.getMessage());
+            throw new RuntimeException("Failed to apply payment", e);
+        }
+    }
+
+    /**
+     * Lock the customer row (SELECT ... FOR UPDATE) and change its balance
+     * inside the caller's transaction. A deduction the balance does not
+     * cover fails without changing anything.
+     */
+    static void adjustBalance(Session session, Long customerId, BigDecimal amount) {
+        Customer customer = session.find(Customer.class, customerId, LockModeType.PESSIMISTIC_WRITE);
+        if (customer == null) {
+            throw new IllegalStateException("Customer not found: " + customerId);
+        }
+        if (amount.signum() < 0 && !customer.hasSufficientBalance(amount.negate())) {
+            throw new IllegalStateException("Insufficient balance for customer " + customerId);
+        }
+        customer.addBalance(amount);
     }
 
     /**
@@ -30,6 +71,7 @@ public class CustomerDAO extends GenericDAOImpl<Customer, Long> {
         String hql = "FROM Customer WHERE user.userId = :userId";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Customer> query = session.createQuery(hql, Customer.class);
+            applyGraph(session, query, Customer.GRAPH_WITH_USER);
             query.setParameter("userId", userId);
             return query.uniqueResult();
         } catch (Exception e) {
@@ -45,6 +87,7 @@ public class CustomerDAO extends GenericDAOImpl<Customer, Long> {
         String hql = "FROM Customer WHERE LOWER(firstName) LIKE :term OR LOWER(lastName) LIKE :term";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Customer> query = session.createQuery(hql, Customer.class);
+            applyGraph(session, query, Customer.GRAPH_WITH_USER);
             query.setParameter("term", "%" + searchTerm.toLowerCase() + "%");
             return query.list();
         } catch (Exception e) {
@@ -53,6 +96,57 @@ public class CustomerDAO extends GenericDAOImpl<Customer, Long> {
         }
     }
 
+    /**
+     * Find customers by ID, in the order of the given IDs; unknown IDs are skipped
+     */
+    public List<Customer> findByIds(List<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        String hql = "FROM Customer WHERE customerId IN :ids";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Customer> query = session.createQuery(hql, Customer.class);
+            applyGraph(session, query, Customer.GRAPH_WITH_USER);
+            query.setParameter("ids", customerIds);
+            Map<Long, Customer> byId = new HashMap<>();
+            for (Customer customer : query.list()) {
+                byId.put(customer.getCustomerId(), customer);
+            }
+            List<Customer> ordered = new ArrayList<>(byId.size());
+            for (Long id : customerIds) {
+                Customer customer = byId.get(id);
+                if (customer != null) {
+                    ordered.add(customer);
+                }
+            }
+            return ordered;
+        } catch (Exception e) {
+            logger.error("Error finding customers by IDs: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Searchable fields of customers for the in-memory search index
+     * @param customerId one customer, or null for all
+     * @return rows of [customerId, firstName, lastName, userId, email, phoneNumber, cardId, cardNumber]
+     */
+    public List<Object[]> findSearchRows(Long customerId) {
+        String hql = "SELECT c.customerId, c.firstName, c.lastName, u.userId, u.email, u.phoneNumber, " +
+                     "m.cardId, m.cardNumber FROM Customer c JOIN c.user u LEFT JOIN c.membershipCard m" +
+                     (customerId != null ? " WHERE c.customerId = :customerId" : "");
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            if (customerId != null) {
+                query.setParameter("customerId", customerId);
+            }
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error loading customer search rows: {}", e.getMessage());
+            throw new RuntimeException("Failed to load customer search rows", e);
+        }
+    }
+
     /**
      * Get top customers by hours played
      */
@@ -60,6 +154,7 @@ public class CustomerDAO extends GenericDAOImpl<Customer, Long> {
         String hql = "FROM Customer ORDER BY totalHoursPlayed DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Customer> query = session.createQuery(hql, Customer.class);
+            applyGraph(session, query, Customer.GRAPH_WITH_USER);
             query.setMaxResults(limit);
             return query.list();
         } catch (Exception e) {
@@ -75,6 +170,7 @@ public class CustomerDAO extends GenericDAOImpl<Customer, Long> {
         String hql = "FROM Customer WHERE accountBalance < :threshold";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Customer> query = session.createQuery(hql, Customer.class);
+            applyGraph(session, query, Customer.GRAPH_WITH_USER);
             query.setParameter("threshold", threshold);
             return query.list();
         } catch (Exception e) {
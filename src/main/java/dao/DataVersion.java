@@ -0,0 +1,42 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package dao;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataVersion - Per-entity write counters
+ *
+ * Every committed write through the DAOs bumps the version of the entity
+ * classes it touched. Anything derived from table contents (e.g. cached
+ * reports) can include the versions in its key and is invalidated simply by
+ * the version moving on. Versions live in memory only; writes made outside
+ * this server are not seen.
+ */
+public final class DataVersion {
+
+    private static final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private DataVersion() {
+    }
+
+    public static void bump(Class<?>... entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            versions.computeIfAbsent(entityClass, c -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public static long get(Class<?> entityClass) {
+        AtomicLong version = versions.get(entityClass);
+        return version != null ? version.get() : 0;
+    }
+}
@@ -15,7 +15,10 @@ import model.*;
 import utils.HibernateUtil;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * GamingStationDAO
@@ -26,6 +29,35 @@ public class GamingStationDAO extends GenericDAOImpl<GamingStation, Long> {
         super(GamingStation.class);
     }
 
+    /**
+     * Find stations by ID, in the order of the given IDs; unknown IDs are skipped
+     */
+    public List<GamingStation> findByIds(List<Long> stationIds) {
+        if (stationIds.isEmpty()) {
+            return List.of();
+        }
+        String hql = "FROM GamingStation WHERE stationId IN :ids";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<GamingStation> query = session.createQuery(hql, GamingStation.class);
+            query.setParameter("ids", stationIds);
+            Map<Long, GamingStation> byId = new HashMap<>();
+            for (GamingStation station : query.list()) {
+                byId.put(station.getStationId(), station);
+            }
+            List<GamingStation> ordered = new ArrayList<>(byId.size());
+            for (Long id : stationIds) {
+                GamingStation station = byId.get(id);
+                if (station != null) {
+                    ordered.add(station);
+                }
+            }
+            return ordered;
+        } catch (Exception e) {
+            logger.error("Error finding stations by IDs: {}", e.getMessage());
+            throw new RuntimeException("Failed to find stations by IDs", e);
+        }
+    }
+
     public List<GamingStation> findByStatus(StationStatus status) {
         String hql = "FROM GamingStation WHERE status = :status";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
@@ -54,6 +86,26 @@ public class GamingStationDAO extends GenericDAOImpl<GamingStation, Long> {
         return findByStatus(StationStatus.AVAILABLE);
     }
 
+    /**
+     * Installed games
+     * @param stationId one station, or null for all
+     * @return rows of [stationId, gameId]
+     */
+    public List<Object[]> findInstalledGames(Long stationId) {
+        String hql = "SELECT sg.gamingStation.stationId, sg.game.gameId FROM StationGame sg" +
+                     (stationId != null ? " WHERE sg.gamingStation.stationId = :stationId" : "");
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            if (stationId != null) {
+                query.setParameter("stationId", stationId);
+            }
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding installed games: {}", e.getMessage());
+            throw new RuntimeException("Failed to find installed games", e);
+        }
+    }
+
     public List<GamingStation> getStationsNeedingMaintenance() {
         String hql = "FROM GamingStation WHERE nextMaintenanceDate <= :today";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
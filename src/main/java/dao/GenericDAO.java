@@ -9,7 +9,11 @@ package dao;
  * @author Odeth
  */
 
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 import org.slf4j.Logger;
@@ -17,8 +21,16 @@ import org.slf4j.LoggerFactory;
 import utils.HibernateUtil;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import model.Booking;
 import model.Customer;
+import model.MembershipCard;
+import model.TournamentParticipant;
 import org.hibernate.HibernateException;
 
 /**
@@ -31,7 +43,14 @@ public interface GenericDAO<T, ID extends Serializable> {
     void delete(ID id);
     T findById(ID id);
     List<T> findAll();
+    List<T> findAll(String graphName);
     long count();
+
+    // Bulk operations - one session and one commit for the whole list
+    List<T> saveAll(List<T> entities);
+    void insertAll(List<T> entities);
+    int updateAll(List<T> entities);
+    int deleteAllById(List<ID> ids);
 }
 
 /**
@@ -39,11 +58,27 @@ public interface GenericDAO<T, ID extends Serializable> {
  * Provides common CRUD operations using Hibernate
  */
 abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<T, ID> {
+    // Rows fetched per round trip when streaming through a cursor
+    protected static final int STREAM_FETCH_SIZE = 500;
+    // Keep in sync with hibernate.jdbc.batch_size in hibernate.cfg.xml
+    protected static final int JDBC_BATCH_SIZE = 50;
+    protected static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     private final Class<T> entityClass;
+    private final String defaultGraph;
 
     public GenericDAOImpl(Class<T> entityClass) {
+        this(entityClass, null);
+    }
+
+    /**
+     * @param defaultGraph named entity graph used by findById/findAll, so that
+     *        entities handed to RMI clients carry the associations they display
+     */
+    public GenericDAOImpl(Class<T> entityClass, String defaultGraph) {
         this.entityClass = entityClass;
+        this.defaultGraph = defaultGraph;
     }
 
     @Override
@@ -53,6 +88,7 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
             transaction = session.beginTransaction();
             session.persist(entity);
             transaction.commit();
+            bumpDataVersion();
             logger.info("{} saved successfully: {}", entityClass.getSimpleName(), entity);
             return entity;
         } catch (Exception e) {
@@ -67,8 +103,17 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            if (defaultGraph != null) {
+                // Load the managed copy with its graph first, so the merged result
+                // returned to clients carries initialised associations, not proxies
+                Object id = session.getSessionFactory().getPersistenceUnitUtil().getIdentifier(entity);
+                if (id != null) {
+                    session.find(entityClass, id, Map.of(FETCH_GRAPH_HINT, session.getEntityGraph(defaultGraph)));
+                }
+            }
             T updatedEntity = session.merge(entity);
             transaction.commit();
+            bumpDataVersion();
             logger.info("{} updated successfully: {}", entityClass.getSimpleName(), entity);
             return updatedEntity;
         } catch (Exception e) {
@@ -85,25 +130,13 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
             transaction = session.beginTransaction();
             T entity = session.get(entityClass, id);
             if (entity != null) {
-                Customer customer = (Customer) entity;
-
-                    // Explicitly clear associations if needed
-                if (entity instanceof Customer) {
-
-                    // Remove associations before deleting customer
-                    customer.getBookings().clear();
-                    customer.getTransactions().clear();
-                    customer.getTournamentParticipations().clear();
-                    if (customer.getMembershipCard() != null) {
-                        session.remove(customer.getMembershipCard());
-                    }
-                }
-                session.remove(entity);
+                removeEntity(session, entity);
                 logger.info("{} deleted successfully with ID: {}", entityClass.getSimpleName(), id);
             } else {
                 logger.warn("{} with ID {} not found for deletion", entityClass.getSimpleName(), id);
             }
             transaction.commit();
+            bumpDataVersion();
         }
         catch (HibernateException he) {
         if (transaction != null) {
@@ -137,10 +170,186 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
 //}
 
 
+    /**
+     * Record a committed write, including rows removed along with a Customer
+     */
+    private void bumpDataVersion() {
+        DataVersion.bump(entityClass);
+        if (entityClass == Customer.class) {
+            DataVersion.bump(Booking.class, model.Transaction.class,
+                    TournamentParticipant.class, MembershipCard.class);
+        }
+    }
+
+    /**
+     * Remove a managed entity, clearing Customer child associations first
+     */
+    private void removeEntity(Session session, T entity) {
+        if (entity instanceof Customer) {
+            Customer customer = (Customer) entity;
+
+            // Remove associations before deleting customer
+            customer.getBookings().clear();
+            customer.getTransactions().clear();
+            customer.getTournamentParticipations().clear();
+            if (customer.getMembershipCard() != null) {
+                session.remove(customer.getMembershipCard());
+            }
+        }
+        session.remove(entity);
+    }
+
+    /**
+     * Persist all entities in one transaction.
+     * The persistence context is flushed and cleared every JDBC_BATCH_SIZE
+     * entities so statements go out in JDBC batches and memory stays flat.
+     * Cascades and lifecycle callbacks apply as with save().
+     */
+    @Override
+    public List<T> saveAll(List<T> entities) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            transaction = session.beginTransaction();
+            for (int i = 0; i < entities.size(); i++) {
+                session.persist(entities.get(i));
+                if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+            bumpDataVersion();
+            logger.info("Saved {} {}(s) in one transaction", entities.size(), entityClass.getSimpleName());
+            return entities;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error saving {} batch: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Failed to save " + entityClass.getSimpleName() + " batch", e);
+        }
+    }
+
+    /**
+     * Fast path: insert all entities through a StatelessSession.
+     * No persistence context, dirty checking, cascades or lifecycle callbacks,
+     * so entities must be fully initialised and reference existing rows only.
+     */
+    @Override
+    public void insertAll(List<T> entities) {
+        Transaction transaction = null;
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            transaction = session.beginTransaction();
+            for (T entity : entities) {
+                session.insert(entity);
+            }
+            transaction.commit();
+            bumpDataVersion();
+            logger.info("Inserted {} {}(s) through stateless session", entities.size(), entityClass.getSimpleName());
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error inserting {} batch: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Failed to insert " + entityClass.getSimpleName() + " batch", e);
+        }
+    }
+
+    /**
+     * Update all entities in one transaction.
+     * Each entity is merged as with update(), so @PreUpdate callbacks run;
+     * entities whose row no longer exists are skipped, not re-inserted.
+     * Entities go in chunks of JDBC_BATCH_SIZE: the existing rows of a chunk
+     * are loaded with one IN query, so merge finds them in the persistence
+     * context instead of selecting each, and the chunk's UPDATEs go out as
+     * one JDBC batch before the context is cleared.
+     * @return number of entities updated
+     */
+    @Override
+    public int updateAll(List<T> entities) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            transaction = session.beginTransaction();
+            PersistenceUnitUtil persistenceUnitUtil = session.getSessionFactory().getPersistenceUnitUtil();
+            int updated = 0;
+            for (int from = 0; from < entities.size(); from += JDBC_BATCH_SIZE) {
+                List<T> chunk = entities.subList(from, Math.min(from + JDBC_BATCH_SIZE, entities.size()));
+                List<Object> ids = new ArrayList<>(chunk.size());
+                for (T entity : chunk) {
+                    Object id = persistenceUnitUtil.getIdentifier(entity);
+                    if (id != null) {
+                        ids.add(id);
+                    }
+                }
+                if (ids.isEmpty()) {
+                    continue;
+                }
+                Set<Object> existing = new HashSet<>();
+                for (T loaded : session.byMultipleIds(entityClass).multiLoad(ids)) {
+                    if (loaded != null) {
+                        existing.add(persistenceUnitUtil.getIdentifier(loaded));
+                    }
+                }
+                for (T entity : chunk) {
+                    if (existing.contains(persistenceUnitUtil.getIdentifier(entity))) {
+                        session.merge(entity);
+                        updated++;
+                    }
+                }
+                session.flush();
+                session.clear();
+            }
+            transaction.commit();
+            if (updated > 0) {
+                bumpDataVersion();
+            }
+            logger.info("Updated {} of {} {}(s) in one transaction", updated, entities.size(), entityClass.getSimpleName());
+            return updated;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error updating {} batch: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Failed to update " + entityClass.getSimpleName() + " batch", e);
+        }
+    }
+
+    /**
+     * Delete all entities with the given IDs in one transaction.
+     * Entities are removed through the session so cascades still apply.
+     * @return number of entities deleted
+     */
+    @Override
+    public int deleteAllById(List<ID> ids) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+            transaction = session.beginTransaction();
+            int deleted = 0;
+            for (ID id : ids) {
+                T entity = session.get(entityClass, id);
+                if (entity != null) {
+                    removeEntity(session, entity);
+                    if (++deleted % JDBC_BATCH_SIZE == 0) {
+                        session.flush();
+                        session.clear();
+                    }
+                }
+            }
+            transaction.commit();
+            bumpDataVersion();
+            logger.info("Deleted {} of {} {}(s) in one transaction", deleted, ids.size(), entityClass.getSimpleName());
+            return deleted;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error deleting {} batch: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Failed to delete " + entityClass.getSimpleName() + " batch", e);
+        }
+    }
+
     @Override
     public T findById(ID id) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            T entity = session.get(entityClass, id);
+            T entity = defaultGraph != null
+                    ? session.find(entityClass, id, Map.of(FETCH_GRAPH_HINT, session.getEntityGraph(defaultGraph)))
+                    : session.get(entityClass, id);
             if (entity != null) {
                 logger.info("{} found with ID: {}", entityClass.getSimpleName(), id);
             } else {
@@ -155,9 +364,19 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
 
     @Override
     public List<T> findAll() {
+        return findAll(defaultGraph);
+    }
+
+    /**
+     * Find all entities, fetching the associations of the given named graph
+     * @param graphName named entity graph, or null to load associations lazily
+     */
+    @Override
+    public List<T> findAll(String graphName) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             String hql = "FROM " + entityClass.getSimpleName();
             Query<T> query = session.createQuery(hql, entityClass);
+            applyGraph(session, query, graphName);
             List<T> results = query.list();
             logger.info("Retrieved {} {}(s)", results.size(), entityClass.getSimpleName());
             return results;
@@ -181,6 +400,15 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
         }
     }
 
+    /**
+     * Fetch the associations of a named entity graph with the query
+     */
+    protected void applyGraph(Session session, Query<?> query, String graphName) {
+        if (graphName != null) {
+            query.setHint(FETCH_GRAPH_HINT, session.getEntityGraph(graphName));
+        }
+    }
+
     /**
      * Execute custom HQL query
      */
@@ -197,6 +425,36 @@ abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<
         }
     }
 
+    /**
+     * Stream results of a custom HQL query through a forward-only cursor.
+     * Rows are handed to the consumer one by one and the session is cleared
+     * every STREAM_FETCH_SIZE rows, so large result sets never sit on the heap.
+     * @return number of rows streamed
+     */
+    protected long streamQuery(String hql, Map<String, Object> params, Consumer<? super T> consumer) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<T> query = session.createQuery(hql, entityClass);
+            params.forEach(query::setParameter);
+            query.setReadOnly(true);
+            query.setFetchSize(STREAM_FETCH_SIZE);
+
+            long count = 0;
+            try (ScrollableResults<T> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept(results.get());
+                    if (++count % STREAM_FETCH_SIZE == 0) {
+                        session.clear();
+                    }
+                }
+            }
+            logger.info("Streamed {} {}(s)", count, entityClass.getSimpleName());
+            return count;
+        } catch (Exception e) {
+            logger.error("Error streaming {}: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Failed to stream " + entityClass.getSimpleName(), e);
+        }
+    }
+
     /**
      * Execute custom query returning single result
      */
@@ -5,8 +5,10 @@
 package dao;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import model.Notification;
 import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 import utils.HibernateUtil;
 
@@ -18,15 +20,49 @@ import utils.HibernateUtil;
  * NotificationDAO
  */
 public class NotificationDAO extends GenericDAOImpl<Notification, Long> {
+
+    private static final int UNKNOWN = -1;
+
+    /**
+     * Cached unread count of one user. Every write that touches the user's
+     * notifications bumps the version, so a count loaded while a write was in
+     * flight no longer matches and is not cached.
+     */
+    private record UnreadCount(long version, int count) {
+    }
+
+    // Unread count per user ID - loaded on first request, kept current by the writes below
+    private final ConcurrentHashMap<Long, UnreadCount> unreadCounts = new ConcurrentHashMap<>();
     
     public NotificationDAO() {
-        super(Notification.class);
+        super(Notification.class, Notification.GRAPH_WITH_USER);
+    }
+
+    @Override
+    public Notification save(Notification notification) {
+        Notification saved = super.save(notification);
+        trackNewNotification(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Notification> saveAll(List<Notification> notifications) {
+        List<Notification> saved = super.saveAll(notifications);
+        saved.forEach(this::trackNewNotification);
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Notification> notifications) {
+        super.insertAll(notifications);
+        notifications.forEach(this::trackNewNotification);
     }
 
     public List<Notification> findByUserId(Long userId) {
         String hql = "FROM Notification WHERE user.userId = :userId ORDER BY sentAt DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Notification> query = session.createQuery(hql, Notification.class);
+            applyGraph(session, query, Notification.GRAPH_WITH_USER);
             query.setParameter("userId", userId);
             return query.list();
         } catch (Exception e) {
@@ -39,6 +75,7 @@ public class NotificationDAO extends GenericDAOImpl<Notification, Long> {
         String hql = "FROM Notification WHERE user.userId = :userId AND isRead = false ORDER BY sentAt DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Notification> query = session.createQuery(hql, Notification.class);
+            applyGraph(session, query, Notification.GRAPH_WITH_USER);
             query.setParameter("userId", userId);
             return query.list();
         } catch (Exception e) {
@@ -46,5 +83,106 @@ public class NotificationDAO extends GenericDAOImpl<Notification, Long> {
             return List.of();
         }
     }
-}
 
+    /**
+     * Get the number of unread notifications for a user.
+     * Served from the counter cache; the database is only queried when the
+     * user's count is not cached (first call, or after it was invalidated).
+     */
+    public int countUnread(Long userId) {
+        UnreadCount current = unreadCounts.computeIfAbsent(userId, id -> new UnreadCount(0, UNKNOWN));
+        if (current.count() != UNKNOWN) {
+            return current.count();
+        }
+        int loaded = queryUnreadCount(userId);
+        // Only cache if no write touched this user while we were counting
+        unreadCounts.replace(userId, current, new UnreadCount(current.version(), loaded));
+        return loaded;
+    }
+
+    /**
+     * Mark every unread notification of a user as read with a single UPDATE
+     * @return number of notifications updated
+     */
+    public int markAllAsRead(Long userId) {
+        String hql = "UPDATE Notification SET isRead = true WHERE user.userId = :userId AND isRead = false";
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int updated = session.createMutationQuery(hql)
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            transaction.commit();
+            DataVersion.bump(Notification.class);
+
+            invalidateUnreadCount(userId);
+            logger.info("Marked {} notification(s) as read for user {}", updated, userId);
+            return updated;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error marking notifications as read for user {}: {}", userId, e.getMessage());
+            throw new RuntimeException("Failed to mark notifications as read", e);
+        }
+    }
+
+    /**
+     * Mark the given notifications as read with a single UPDATE
+     * @return number of notifications updated
+     */
+    public int markAsRead(List<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+
+            // Users whose unread counters change
+            List<Long> userIds = session.createQuery(
+                    "SELECT DISTINCT n.user.userId FROM Notification n " +
+                    "WHERE n.notificationId IN :ids AND n.isRead = false", Long.class)
+                    .setParameter("ids", notificationIds)
+                    .list();
+
+            int updated = session.createMutationQuery(
+                    "UPDATE Notification SET isRead = true WHERE notificationId IN :ids AND isRead = false")
+                    .setParameter("ids", notificationIds)
+                    .executeUpdate();
+            transaction.commit();
+            DataVersion.bump(Notification.class);
+
+            // Reload those counters on next request
+            userIds.forEach(this::invalidateUnreadCount);
+            logger.info("Marked {} notification(s) as read", updated);
+            return updated;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error marking notifications as read: {}", e.getMessage());
+            throw new RuntimeException("Failed to mark notifications as read", e);
+        }
+    }
+
+    private int queryUnreadCount(Long userId) {
+        String hql = "SELECT COUNT(*) FROM Notification WHERE user.userId = :userId AND isRead = false";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(hql, Long.class);
+            query.setParameter("userId", userId);
+            return query.uniqueResult().intValue();
+        } catch (Exception e) {
+            logger.error("Error counting unread notifications: {}", e.getMessage());
+            throw new RuntimeException("Failed to count unread notifications", e);
+        }
+    }
+
+    private void trackNewNotification(Notification notification) {
+        if (notification.isUnread() && notification.getUser() != null) {
+            unreadCounts.computeIfPresent(notification.getUser().getUserId(), (id, current) ->
+                    new UnreadCount(current.version() + 1,
+                            current.count() == UNKNOWN ? UNKNOWN : current.count() + 1));
+        }
+    }
+
+    private void invalidateUnreadCount(Long userId) {
+        unreadCounts.computeIfPresent(userId, (id, current) -> new UnreadCount(current.version() + 1, UNKNOWN));
+    }
+}
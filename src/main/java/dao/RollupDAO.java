@@ -0,0 +1,286 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package dao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import model.DailyRevenueRollup;
+import model.PaymentMethod;
+import model.StationDailyRollup;
+import model.TransactionType;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import utils.DateTimeRange;
+import utils.HibernateUtil;
+
+/**
+ *
+ * @author Odeth
+ */
+/**
+ * RollupDAO - Per-day summary tables derived from bookings and transactions
+ *
+ * Rollup rows are never edited field by field: a refresh recomputes the
+ * affected days from the source rows with INSERT ... SELECT and upserts the
+ * result, so applying the same refresh twice (or racing a backfill) is
+ * harmless. Days that no longer have source rows are deleted first.
+ */
+public class RollupDAO extends GenericDAOImpl<StationDailyRollup, Long> {
+
+    private static final String OCCUPYING = BookingDAO.OCCUPYING_STATUSES.stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ", "(", ")"));
+
+    private static final String STATION_ROLLUP_UPSERT =
+            "INSERT INTO station_daily_rollups " +
+            "(station_id, rollup_date, bookings, booked_hours, revenue, no_shows, cancellations, updated_at) " +
+            "SELECT b.station_id, b.booking_date, " +
+            "SUM(CASE WHEN b.status IN " + OCCUPYING + " THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN b.status IN " + OCCUPYING + " THEN b.duration_hours END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status IN " + OCCUPYING + " THEN b.total_amount END), 0), " +
+            "SUM(CASE WHEN b.status = 'NO_SHOW' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+            "NOW() FROM bookings b WHERE %s GROUP BY b.station_id, b.booking_date " +
+            "ON DUPLICATE KEY UPDATE bookings = VALUES(bookings), booked_hours = VALUES(booked_hours), " +
+            "revenue = VALUES(revenue), no_shows = VALUES(no_shows), " +
+            "cancellations = VALUES(cancellations), updated_at = VALUES(updated_at)";
+
+    private static final String REVENUE_ROLLUP_UPSERT =
+            "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, transaction_type, payment_method, transactions, amount, updated_at) " +
+            "SELECT DATE(t.transaction_date), t.transaction_type, t.payment_method, COUNT(*), SUM(t.amount), NOW() " +
+            "FROM transactions t WHERE t.transaction_date >= :start AND t.transaction_date < :end " +
+            "GROUP BY DATE(t.transaction_date), t.transaction_type, t.payment_method " +
+            "ON DUPLICATE KEY UPDATE transactions = VALUES(transactions), amount = VALUES(amount), " +
+            "updated_at = VALUES(updated_at)";
+
+    /**
+     * One cell of the station rollup table
+     */
+    public record StationDay(Long stationId, LocalDate date) {
+    }
+
+    public RollupDAO() {
+        super(StationDailyRollup.class);
+    }
+
+    /**
+     * Recompute the rollups of the given station days in one transaction
+     */
+    public void refreshStationDays(Collection<StationDay> cells) {
+        if (cells.isEmpty()) {
+            return;
+        }
+        String upsert = String.format(STATION_ROLLUP_UPSERT,
+                "b.station_id = :stationId AND b.booking_date = :date");
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            for (StationDay cell : cells) {
+                session.createNativeMutationQuery(
+                        "DELETE FROM station_daily_rollups WHERE station_id = :stationId AND rollup_date = :date")
+                        .setParameter("stationId", cell.stationId())
+                        .setParameter("date", cell.date())
+                        .executeUpdate();
+                session.createNativeMutationQuery(upsert)
+                        .setParameter("stationId", cell.stationId())
+                        .setParameter("date", cell.date())
+                        .executeUpdate();
+            }
+            transaction.commit();
+            DataVersion.bump(StationDailyRollup.class);
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error refreshing station rollups: {}", e.getMessage());
+            throw new RuntimeException("Failed to refresh station rollups", e);
+        }
+    }
+
+    /**
+     * Recompute the revenue rollups of the given days in one transaction
+     */
+    public void refreshRevenueDays(Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            for (LocalDate day : days) {
+                replaceRevenueRange(session, DateTimeRange.ofDay(day));
+            }
+            transaction.commit();
+            DataVersion.bump(DailyRevenueRollup.class);
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error refreshing revenue rollups: {}", e.getMessage());
+            throw new RuntimeException("Failed to refresh revenue rollups", e);
+        }
+    }
+
+    /**
+     * Rebuild both rollup tables for a range of days with set-based statements
+     * @return number of rollup rows written
+     */
+    public int rebuild(DateTimeRange range) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.createNativeMutationQuery(
+                    "DELETE FROM station_daily_rollups WHERE rollup_date >= :startDate AND rollup_date < :endDate")
+                    .setParameter("startDate", range.getStartDate())
+                    .setParameter("endDate", range.getEndDateExclusive())
+                    .executeUpdate();
+            int written = session.createNativeMutationQuery(String.format(STATION_ROLLUP_UPSERT,
+                    "b.booking_date >= :startDate AND b.booking_date < :endDate"))
+                    .setParameter("startDate", range.getStartDate())
+                    .setParameter("endDate", range.getEndDateExclusive())
+                    .executeUpdate();
+            written += replaceRevenueRange(session, range);
+            transaction.commit();
+            DataVersion.bump(StationDailyRollup.class, DailyRevenueRollup.class);
+            return written;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error rebuilding rollups: {}", e.getMessage());
+            throw new RuntimeException("Failed to rebuild rollups", e);
+        }
+    }
+
+    private int replaceRevenueRange(Session session, DateTimeRange range) {
+        session.createNativeMutationQuery(
+                "DELETE FROM daily_revenue_rollups WHERE rollup_date >= :startDate AND rollup_date < :endDate")
+                .setParameter("startDate", range.getStartDate())
+                .setParameter("endDate", range.getEndDateExclusive())
+                .executeUpdate();
+        return session.createNativeMutationQuery(REVENUE_ROLLUP_UPSERT)
+                .setParameter("start", range.getStart())
+                .setParameter("end", range.getEnd())
+                .executeUpdate();
+    }
+
+    /**
+     * Earliest and latest day with bookings or transactions
+     * @return range covering all source rows, or null if there are none
+     */
+    public DateTimeRange findSourceRange() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Object[] bookings = session.createQuery(
+                    "SELECT MIN(b.bookingDate), MAX(b.bookingDate) FROM Booking b", Object[].class)
+                    .uniqueResult();
+            Object[] transactions = session.createQuery(
+                    "SELECT MIN(cast(t.transactionDate as LocalDate)), MAX(cast(t.transactionDate as LocalDate)) " +
+                    "FROM Transaction t", Object[].class)
+                    .uniqueResult();
+            LocalDate first = earliest((LocalDate) bookings[0], (LocalDate) transactions[0]);
+            LocalDate last = latest((LocalDate) bookings[1], (LocalDate) transactions[1]);
+            return first != null ? DateTimeRange.ofDays(first, last) : null;
+        } catch (Exception e) {
+            logger.error("Error finding rollup source range: {}", e.getMessage());
+            throw new RuntimeException("Failed to find rollup source range", e);
+        }
+    }
+
+    /**
+     * Whether both rollup tables are empty (e.g. first start after an upgrade)
+     */
+    public boolean isEmpty() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT COUNT(*) FROM StationDailyRollup", Long.class).uniqueResult() == 0
+                    && session.createQuery("SELECT COUNT(*) FROM DailyRevenueRollup", Long.class).uniqueResult() == 0;
+        } catch (Exception e) {
+            logger.error("Error counting rollups: {}", e.getMessage());
+            throw new RuntimeException("Failed to count rollups", e);
+        }
+    }
+
+    /**
+     * Booked time per station from the rollups; same rows as BookingDAO.sumUsageByStation
+     * @return rows of [stationId, stationName, stationType, bookings, hours, amount]
+     */
+    public List<Object[]> sumUsageByStation(DateTimeRange range, Long stationId) {
+        StringBuilder hql = new StringBuilder(
+                "SELECT g.stationId, g.stationName, g.stationType, COALESCE(SUM(r.bookings), 0), " +
+                "COALESCE(SUM(r.bookedHours), 0), COALESCE(SUM(r.revenue), 0) " +
+                "FROM GamingStation g LEFT JOIN StationDailyRollup r ON r.stationId = g.stationId");
+        Map<String, Object> params = new HashMap<>();
+        if (range != null) {
+            hql.append(" AND r.rollupDate >= :startDate AND r.rollupDate < :endDate");
+            params.put("startDate", range.getStartDate());
+            params.put("endDate", range.getEndDateExclusive());
+        }
+        if (stationId != null) {
+            hql.append(" WHERE g.stationId = :stationId");
+            params.put("stationId", stationId);
+        }
+        hql.append(" GROUP BY g.stationId, g.stationName, g.stationType ORDER BY g.stationName");
+        return aggregate(hql.toString(), params, "station usage rollups");
+    }
+
+    /**
+     * Revenue per calendar day from the rollups; same rows as TransactionDAO.sumAmountByDay
+     * @return rows of [LocalDate day, Long transactions, BigDecimal amount], oldest first
+     */
+    public List<Object[]> sumAmountByDay(DateTimeRange range, PaymentMethod paymentMethod,
+                                         Collection<TransactionType> types) {
+        StringBuilder hql = new StringBuilder(
+                "SELECT r.rollupDate, SUM(r.transactions), SUM(r.amount) " +
+                "FROM DailyRevenueRollup r WHERE r.transactionType IN :types");
+        Map<String, Object> params = new HashMap<>();
+        params.put("types", types);
+        if (range != null) {
+            hql.append(" AND r.rollupDate >= :startDate AND r.rollupDate < :endDate");
+            params.put("startDate", range.getStartDate());
+            params.put("endDate", range.getEndDateExclusive());
+        }
+        if (paymentMethod != null) {
+            hql.append(" AND r.paymentMethod = :paymentMethod");
+            params.put("paymentMethod", paymentMethod);
+        }
+        hql.append(" GROUP BY r.rollupDate ORDER BY r.rollupDate");
+        return aggregate(hql.toString(), params, "revenue rollups");
+    }
+
+    /**
+     * Total amount of the given transaction types over all days
+     */
+    public BigDecimal sumAmount(Collection<TransactionType> types) {
+        String hql = "SELECT COALESCE(SUM(r.amount), 0) FROM DailyRevenueRollup r WHERE r.transactionType IN :types";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            BigDecimal total = session.createQuery(hql, BigDecimal.class)
+                    .setParameter("types", types)
+                    .uniqueResult();
+            return total != null ? total : BigDecimal.ZERO;
+        } catch (Exception e) {
+            logger.error("Error summing revenue rollups: {}", e.getMessage());
+            throw new RuntimeException("Failed to sum revenue rollups", e);
+        }
+    }
+
+    private List<Object[]> aggregate(String hql, Map<String, Object> params, String description) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            params.forEach(query::setParameter);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error aggregating {}: {}", description, e.getMessage());
+            throw new RuntimeException("Failed to aggregate " + description, e);
+        }
+    }
+
+    private static LocalDate earliest(LocalDate a, LocalDate b) {
+        return a == null ? b : b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate latest(LocalDate a, LocalDate b) {
+        return a == null ? b : b == null || a.isAfter(b) ? a : b;
+    }
+}
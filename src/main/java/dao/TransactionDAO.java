@@ -4,11 +4,19 @@
  */
 package dao;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import model.PaymentMethod;
 import model.Transaction;
+import model.TransactionType;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
+import utils.DateTimeRange;
 import utils.HibernateUtil;
 
 /**
@@ -21,13 +29,14 @@ import utils.HibernateUtil;
 public class TransactionDAO extends GenericDAOImpl<Transaction, Long> {
     
     public TransactionDAO() {
-        super(Transaction.class);
+        super(Transaction.class, Transaction.GRAPH_LIST);
     }
 
     public List<Transaction> findByCustomerId(Long customerId) {
         String hql = "FROM Transaction WHERE customer.customerId = :customerId ORDER BY transactionDate DESC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Transaction> query = session.createQuery(hql, Transaction.class);
+            applyGraph(session, query, Transaction.GRAPH_LIST);
             query.setParameter("customerId", customerId);
             return query.list();
         } catch (Exception e) {
@@ -36,17 +45,145 @@ public class TransactionDAO extends GenericDAOImpl<Transaction, Long> {
         }
     }
 
+    /**
+     * Find transactions between two calendar days (both inclusive)
+     */
     public List<Transaction> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        String hql = "FROM Transaction WHERE DATE(transactionDate) BETWEEN :startDate AND :endDate";
+        return findByRange(DateTimeRange.ofDays(startDate, endDate));
+    }
+
+    /**
+     * Find transactions in a half-open timestamp range.
+     * Compares the raw transaction_date column so the index can be used.
+     */
+    public List<Transaction> findByRange(DateTimeRange range) {
+        String hql = "FROM Transaction WHERE transactionDate >= :start AND transactionDate < :end " +
+                     "ORDER BY transactionDate ASC";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<Transaction> query = session.createQuery(hql, Transaction.class);
-            query.setParameter("startDate", startDate);
-            query.setParameter("endDate", endDate);
+            applyGraph(session, query, Transaction.GRAPH_LIST);
+            query.setParameter("start", range.getStart());
+            query.setParameter("end", range.getEnd());
             return query.list();
         } catch (Exception e) {
             logger.error("Error finding transactions by date range: {}", e.getMessage());
             return List.of();
         }
     }
-}
 
+    /**
+     * Stream transactions in a half-open timestamp range, oldest first.
+     * The customer is join fetched for report rendering.
+     * @return number of transactions streamed
+     */
+    public long streamByRange(DateTimeRange range, Consumer<? super Transaction> consumer) {
+        return streamForReport(range, null, consumer);
+    }
+
+    /**
+     * Stream transactions for a report, oldest first; every filter is optional (null = any).
+     * The customer is join fetched for report rendering.
+     * @return number of transactions streamed
+     */
+    public long streamForReport(DateTimeRange range, PaymentMethod paymentMethod,
+                                Consumer<? super Transaction> consumer) {
+        StringBuilder hql = new StringBuilder("FROM Transaction t JOIN FETCH t.customer WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(hql, params, range, paymentMethod);
+        hql.append(" ORDER BY t.transactionDate ASC");
+        return streamQuery(hql.toString(), params, consumer);
+    }
+
+    /**
+     * Days on which a customer has transactions
+     */
+    public List<LocalDate> findDaysByCustomer(Long customerId) {
+        String hql = "SELECT DISTINCT cast(t.transactionDate as LocalDate) FROM Transaction t " +
+                     "WHERE t.customer.customerId = :customerId";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<LocalDate> query = session.createQuery(hql, LocalDate.class);
+            query.setParameter("customerId", customerId);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding transaction days by customer: {}", e.getMessage());
+            throw new RuntimeException("Failed to find transaction days", e);
+        }
+    }
+
+    /**
+     * Sum transaction amounts of the given types, computed in the database
+     * @param range period to sum over, or null for all time
+     */
+    public BigDecimal sumAmount(DateTimeRange range, Collection<TransactionType> types) {
+        String hql = "SELECT COALESCE(SUM(amount), 0) FROM Transaction WHERE transactionType IN :types" +
+                     (range != null ? " AND transactionDate >= :start AND transactionDate < :end" : "");
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<BigDecimal> query = session.createQuery(hql, BigDecimal.class);
+            query.setParameter("types", types);
+            if (range != null) {
+                query.setParameter("start", range.getStart());
+                query.setParameter("end", range.getEnd());
+            }
+            BigDecimal total = query.uniqueResult();
+            return total != null ? total : BigDecimal.ZERO;
+        } catch (Exception e) {
+            logger.error("Error summing transaction amounts: {}", e.getMessage());
+            throw new RuntimeException("Failed to sum transaction amounts", e);
+        }
+    }
+
+    /**
+     * Find transactions for a report; every filter is optional (null = any)
+     */
+    public List<Transaction> findForReport(DateTimeRange range, PaymentMethod paymentMethod) {
+        StringBuilder hql = new StringBuilder("FROM Transaction t WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(hql, params, range, paymentMethod);
+        hql.append(" ORDER BY t.transactionDate ASC");
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Transaction> query = session.createQuery(hql.toString(), Transaction.class);
+            applyGraph(session, query, Transaction.GRAPH_REPORT);
+            params.forEach(query::setParameter);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding transactions for report: {}", e.getMessage());
+            throw new RuntimeException("Failed to find transactions for report", e);
+        }
+    }
+
+    /**
+     * Revenue per calendar day, aggregated in the database
+     * @return rows of [LocalDate day, Long transactions, BigDecimal amount], oldest first
+     */
+    public List<Object[]> sumAmountByDay(DateTimeRange range, PaymentMethod paymentMethod,
+                                         Collection<TransactionType> types) {
+        StringBuilder hql = new StringBuilder(
+                "SELECT cast(t.transactionDate as LocalDate), COUNT(t), SUM(t.amount) " +
+                "FROM Transaction t WHERE t.transactionType IN :types");
+        Map<String, Object> params = new HashMap<>();
+        params.put("types", types);
+        appendFilters(hql, params, range, paymentMethod);
+        hql.append(" GROUP BY cast(t.transactionDate as LocalDate) ORDER BY cast(t.transactionDate as LocalDate)");
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql.toString(), Object[].class);
+            params.forEach(query::setParameter);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error summing daily revenue: {}", e.getMessage());
+            throw new RuntimeException("Failed to sum daily revenue", e);
+        }
+    }
+
+    private static void appendFilters(StringBuilder hql, Map<String, Object> params,
+                                      DateTimeRange range, PaymentMethod paymentMethod) {
+        if (range != null) {
+            hql.append(" AND t.transactionDate >= :start AND t.transactionDate < :end");
+            params.put("start", range.getStart());
+            params.put("end", range.getEnd());
+        }
+        if (paymentMethod != null) {
+            hql.append(" AND t.paymentMethod = :paymentMethod");
+            params.put("paymentMethod", paymentMethod);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.hibernate.Session;
 import org.hibernate.query.Query;
 import model.*;
 import utils.HibernateUtil;
+import utils.PasswordService;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -58,15 +59,17 @@ public class UserDAO extends GenericDAOImpl<User, Long> {
     }
 
     /**
-     * Authenticate user
+     * Authenticate user - the password is checked against the stored hash
+     * in memory, never sent to the database
      */
-    public User authenticate(String username, String password) {
-        String hql = "FROM User WHERE username = :username AND password = :password AND isActive = true";
+    public User authenticate(String username, String password, PasswordService passwords) {
+        String hql = "FROM User WHERE username = :username AND isActive = true";
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             Query<User> query = session.createQuery(hql, User.class);
             query.setParameter("username", username);
-            query.setParameter("password", password);
-            return query.uniqueResult();
+            User user = query.uniqueResult();
+            boolean valid = passwords.verify(password, user != null ? user.getPassword() : null);
+            return valid ? user : null;
         } catch (Exception e) {
             logger.error("Error authenticating user: {}", e.getMessage());
             return null;
@@ -102,4 +105,17 @@ public class UserDAO extends GenericDAOImpl<User, Long> {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Count users currently holding a session token
+     */
+    public long countActiveSessions() {
+        String hql = "SELECT COUNT(*) FROM User WHERE sessionToken IS NOT NULL";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(hql, Long.class).uniqueResult();
+        } catch (Exception e) {
+            logger.error("Error counting active sessions: {}", e.getMessage());
+            throw new RuntimeException("Failed to count active sessions", e);
+        }
+    }
+}
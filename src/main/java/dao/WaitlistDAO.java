@@ -0,0 +1,145 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package dao;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import model.WaitlistEntry;
+import model.WaitlistStatus;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import utils.HibernateUtil;
+
+/**
+ *
+ * @author Odeth
+ */
+/**
+ * WaitlistDAO - Data Access Object for WaitlistEntry Entity
+ */
+public class WaitlistDAO extends GenericDAOImpl<WaitlistEntry, Long> {
+
+    public WaitlistDAO() {
+        super(WaitlistEntry.class, WaitlistEntry.GRAPH_WITH_CUSTOMER);
+    }
+
+    /**
+     * Entries of a customer, newest first
+     */
+    public List<WaitlistEntry> findByCustomerId(Long customerId) {
+        String hql = "FROM WaitlistEntry WHERE customer.customerId = :customerId ORDER BY createdAt DESC";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<WaitlistEntry> query = session.createQuery(hql, WaitlistEntry.class);
+            applyGraph(session, query, WaitlistEntry.GRAPH_WITH_CUSTOMER);
+            query.setParameter("customerId", customerId);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding waitlist entries by customer: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Waiting entries from a day on, oldest first
+     * @return rows of [entryId, customerId, stationType, bookingDate, startTime, endTime, autoBook]
+     */
+    public List<Object[]> findWaitingRows(LocalDate fromDate) {
+        String hql = "SELECT w.entryId, w.customer.customerId, w.stationType, w.bookingDate, w.startTime, " +
+                     "w.endTime, w.autoBook FROM WaitlistEntry w " +
+                     "WHERE w.status = :status AND w.bookingDate >= :fromDate ORDER BY w.entryId";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(hql, Object[].class);
+            query.setParameter("status", WaitlistStatus.WAITING);
+            query.setParameter("fromDate", fromDate);
+            return query.list();
+        } catch (Exception e) {
+            logger.error("Error finding waiting entries: {}", e.getMessage());
+            throw new RuntimeException("Failed to find waiting entries", e);
+        }
+    }
+
+    /**
+     * Whether a customer already waits for exactly this type and window
+     */
+    public boolean isWaiting(Long customerId, model.StationType stationType, LocalDate date,
+                             LocalTime startTime, LocalTime endTime) {
+        String hql = "SELECT COUNT(*) FROM WaitlistEntry WHERE customer.customerId = :customerId " +
+                     "AND stationType = :stationType AND bookingDate = :date AND startTime = :startTime " +
+                     "AND endTime = :endTime AND status = :status";
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(hql, Long.class);
+            query.setParameter("customerId", customerId);
+            query.setParameter("stationType", stationType);
+            query.setParameter("date", date);
+            query.setParameter("startTime", startTime);
+            query.setParameter("endTime", endTime);
+            query.setParameter("status", WaitlistStatus.WAITING);
+            return query.uniqueResult() > 0;
+        } catch (Exception e) {
+            logger.error("Error checking waitlist: {}", e.getMessage());
+            throw new RuntimeException("Failed to check waitlist", e);
+        }
+    }
+
+    /**
+     * Resolve a waiting entry with a single UPDATE
+     * @param bookingId booking made for it, or null
+     * @return false if the entry was no longer waiting
+     */
+    public boolean resolve(Long entryId, WaitlistStatus status, Long bookingId) {
+        String hql = "UPDATE WaitlistEntry SET status = :status, bookingId = :bookingId, resolvedAt = :now " +
+                     "WHERE entryId = :entryId AND status = :waiting";
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int updated = session.createMutationQuery(hql)
+                    .setParameter("status", status)
+                    .setParameter("bookingId", bookingId)
+                    .setParameter("now", LocalDateTime.now())
+                    .setParameter("entryId", entryId)
+                    .setParameter("waiting", WaitlistStatus.WAITING)
+                    .executeUpdate();
+            transaction.commit();
+            DataVersion.bump(WaitlistEntry.class);
+            return updated > 0;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error resolving waitlist entry {}: {}", entryId, e.getMessage());
+            throw new RuntimeException("Failed to resolve waitlist entry", e);
+        }
+    }
+
+    /**
+     * Expire waiting entries whose window has started
+     * @return number of entries expired
+     */
+    public int expireStarted(LocalDateTime now) {
+        String hql = "UPDATE WaitlistEntry SET status = :expired, resolvedAt = :now WHERE status = :waiting " +
+                     "AND (bookingDate < :today OR (bookingDate = :today AND startTime <= :time))";
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int updated = session.createMutationQuery(hql)
+                    .setParameter("expired", WaitlistStatus.EXPIRED)
+                    .setParameter("now", now)
+                    .setParameter("waiting", WaitlistStatus.WAITING)
+                    .setParameter("today", now.toLocalDate())
+                    .setParameter("time", now.toLocalTime())
+                    .executeUpdate();
+            transaction.commit();
+            if (updated > 0) {
+                DataVersion.bump(WaitlistEntry.class);
+            }
+            return updated;
+        } catch (Exception e) {
+            if (transaction != null) transaction.rollback();
+            logger.error("Error expiring waitlist entries: {}", e.getMessage());
+            throw new RuntimeException("Failed to expire waitlist entries", e);
+        }
+    }
+}
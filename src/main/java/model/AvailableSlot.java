@@ -0,0 +1,60 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * AvailableSlot - Data Transfer Object for a free station slot
+ */
+public class AvailableSlot implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long stationId;
+    private String stationName;
+    private StationType stationType;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    // Hourly rate times duration, before any membership discount
+    private BigDecimal estimatedAmount;
+
+    // Constructor
+    public AvailableSlot() {}
+
+    // Getters and Setters
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public String getStationName() { return stationName; }
+    public void setStationName(String stationName) { this.stationName = stationName; }
+
+    public StationType getStationType() { return stationType; }
+    public void setStationType(StationType stationType) { this.stationType = stationType; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public BigDecimal getEstimatedAmount() { return estimatedAmount; }
+    public void setEstimatedAmount(BigDecimal estimatedAmount) { this.estimatedAmount = estimatedAmount; }
+
+    @Override
+    public String toString() {
+        return "AvailableSlot{stationId=" + stationId + ", stationName='" + stationName + "', date=" + date +
+               ", startTime=" + startTime + ", endTime=" + endTime + "}";
+    }
+}
@@ -22,22 +22,43 @@ import java.time.LocalTime;
  * One GamingStation has Many Bookings
  */
 @Entity
-@Table(name = "bookings")
+@NamedEntityGraphs({
+    // List/detail views returned to clients: customer (with user) and station
+    @NamedEntityGraph(name = Booking.GRAPH_LIST,
+        attributeNodes = {
+            @NamedAttributeNode(value = "customer", subgraph = "customer.user"),
+            @NamedAttributeNode("gamingStation")
+        },
+        subgraphs = @NamedSubgraph(name = "customer.user", attributeNodes = @NamedAttributeNode("user"))),
+    // Reports only print customer and station names
+    @NamedEntityGraph(name = Booking.GRAPH_REPORT,
+        attributeNodes = {
+            @NamedAttributeNode("customer"),
+            @NamedAttributeNode("gamingStation")
+        })
+})
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_date", columnList = "booking_date"),
+    @Index(name = "idx_bookings_station_date", columnList = "station_id, booking_date")
+})
 public class Booking implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_LIST = "Booking.list";
+    public static final String GRAPH_REPORT = "Booking.report";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "booking_id")
     private Long bookingId;
 
     // Many-to-One with Customer
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
     // Many-to-One with GamingStation
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "station_id", nullable = false)
     private GamingStation gamingStation;
 
@@ -0,0 +1,92 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * ChangeEvent - Compact change notification pushed to registered clients
+ * Carries IDs and the changed state only, never full entity graphs
+ */
+public class ChangeEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ChangeEventType type;
+    private final Long entityId;
+    private final Long stationId;
+    private final Long customerId;
+    private final Long userId;
+    private final String status;
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final LocalDateTime occurredAt;
+
+    private ChangeEvent(ChangeEventType type, Long entityId, Long stationId, Long customerId, Long userId,
+                        String status, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this.type = type;
+        this.entityId = entityId;
+        this.stationId = stationId;
+        this.customerId = customerId;
+        this.userId = userId;
+        this.status = status;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static ChangeEvent stationStatus(Long stationId, StationStatus status) {
+        return new ChangeEvent(ChangeEventType.STATION_STATUS_CHANGED, stationId, stationId, null, null,
+                String.valueOf(status), null, null, null);
+    }
+
+    public static ChangeEvent booking(ChangeEventType type, Long bookingId, Long stationId, Long customerId,
+                                      BookingStatus status, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return new ChangeEvent(type, bookingId, stationId, customerId, null,
+                String.valueOf(status), date, startTime, endTime);
+    }
+
+    public static ChangeEvent notification(Long notificationId, Long userId, NotificationType notificationType) {
+        return new ChangeEvent(ChangeEventType.NOTIFICATION_CREATED, notificationId, null, null, userId,
+                String.valueOf(notificationType), null, null, null);
+    }
+
+    /**
+     * Events were dropped for this client; reload instead of applying deltas
+     */
+    public static ChangeEvent resync() {
+        return new ChangeEvent(ChangeEventType.RESYNC, null, null, null, null, null, null, null, null);
+    }
+
+    public ChangeEventType getType() { return type; }
+    public Long getEntityId() { return entityId; }
+    public Long getStationId() { return stationId; }
+    public Long getCustomerId() { return customerId; }
+    public Long getUserId() { return userId; }
+    public String getStatus() { return status; }
+    public LocalDate getDate() { return date; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "type=" + type +
+                ", entityId=" + entityId +
+                ", status=" + status +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+/**
+ *
+ * @author Odeth
+ */
+public enum ConflictPolicy {
+    REJECT,     // Book nothing if any occurrence conflicts
+    SKIP        // Book the free occurrences only
+}
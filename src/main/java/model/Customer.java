@@ -21,17 +21,20 @@ import java.util.List;
  * Customer Entity
  */
 @Entity
+@NamedEntityGraph(name = Customer.GRAPH_WITH_USER, attributeNodes = @NamedAttributeNode("user"))
 @Table(name = "customers")
 public class Customer implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_WITH_USER = "Customer.withUser";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "customer_id")
     private Long customerId;
 
     // One-to-One relationship with User
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     private User user;
 
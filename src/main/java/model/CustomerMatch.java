@@ -0,0 +1,61 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * CustomerMatch - Data Transfer Object for one customer search hit
+ */
+public class CustomerMatch implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long customerId;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    private String cardNumber;
+    // 1.0 when every query word matched a word exactly, lower for prefix, substring and typo matches
+    private double score;
+
+    // Constructors
+    public CustomerMatch() {}
+
+    public CustomerMatch(Long customerId, String fullName, String email, String phoneNumber,
+                         String cardNumber, double score) {
+        this.customerId = customerId;
+        this.fullName = fullName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.cardNumber = cardNumber;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+
+    public String getCardNumber() { return cardNumber; }
+    public void setCardNumber(String cardNumber) { this.cardNumber = cardNumber; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    @Override
+    public String toString() {
+        return "CustomerMatch{customerId=" + customerId + ", fullName='" + fullName + "', score=" + score + "}";
+    }
+}
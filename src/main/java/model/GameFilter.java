@@ -0,0 +1,58 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * GameFilter - Data Transfer Object for a game catalog query
+ * Empty sets and null values do not filter; values within one set are ORed,
+ * different filters are ANDed.
+ */
+public class GameFilter implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Every word must start a word of the title ("call du" finds "Call of Duty")
+    private String titlePrefix;
+    // HashSet, not Set, so the fields are known to be serializable
+    private HashSet<String> genres = new HashSet<>();
+    private HashSet<AgeRating> ageRatings = new HashSet<>();
+    private HashSet<String> publishers = new HashSet<>();
+    private Boolean multiplayer;
+    private int limit = 50;
+
+    // Constructor
+    public GameFilter() {}
+
+    // Getters and Setters
+    public String getTitlePrefix() { return titlePrefix; }
+    public void setTitlePrefix(String titlePrefix) { this.titlePrefix = titlePrefix; }
+
+    public Set<String> getGenres() { return genres; }
+    public void setGenres(Set<String> genres) { this.genres = genres != null ? new HashSet<>(genres) : null; }
+
+    public Set<AgeRating> getAgeRatings() { return ageRatings; }
+    public void setAgeRatings(Set<AgeRating> ageRatings) { this.ageRatings = ageRatings != null ? new HashSet<>(ageRatings) : null; }
+
+    public Set<String> getPublishers() { return publishers; }
+    public void setPublishers(Set<String> publishers) { this.publishers = publishers != null ? new HashSet<>(publishers) : null; }
+
+    public Boolean getMultiplayer() { return multiplayer; }
+    public void setMultiplayer(Boolean multiplayer) { this.multiplayer = multiplayer; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    @Override
+    public String toString() {
+        return "GameFilter{titlePrefix='" + titlePrefix + "', genres=" + genres + ", ageRatings=" + ageRatings +
+               ", publishers=" + publishers + ", multiplayer=" + multiplayer + ", limit=" + limit + "}";
+    }
+}
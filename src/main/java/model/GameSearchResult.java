@@ -0,0 +1,60 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * GameSearchResult - Data Transfer Object for one page of the game catalog
+ * Each facet is counted with every filter applied except its own, so the
+ * counts show how many games picking that value instead would give.
+ */
+public class GameSearchResult implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Concrete collection types so the fields are known to be serializable
+    // Sorted by title, at most GameFilter.limit
+    private ArrayList<Game> games;
+    private int totalMatches;
+    // LinkedHashMap keeps the order the index sorted the counts in
+    private LinkedHashMap<String, Integer> genreCounts;
+    private LinkedHashMap<AgeRating, Integer> ageRatingCounts;
+    private LinkedHashMap<String, Integer> publisherCounts;
+    private LinkedHashMap<Boolean, Integer> multiplayerCounts;
+
+    // Constructor
+    public GameSearchResult() {}
+
+    // Getters and Setters
+    public List<Game> getGames() { return games; }
+    public void setGames(List<Game> games) { this.games = games != null ? new ArrayList<>(games) : null; }
+
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+
+    public Map<String, Integer> getGenreCounts() { return genreCounts; }
+    public void setGenreCounts(Map<String, Integer> genreCounts) { this.genreCounts = genreCounts != null ? new LinkedHashMap<>(genreCounts) : null; }
+
+    public Map<AgeRating, Integer> getAgeRatingCounts() { return ageRatingCounts; }
+    public void setAgeRatingCounts(Map<AgeRating, Integer> ageRatingCounts) { this.ageRatingCounts = ageRatingCounts != null ? new LinkedHashMap<>(ageRatingCounts) : null; }
+
+    public Map<String, Integer> getPublisherCounts() { return publisherCounts; }
+    public void setPublisherCounts(Map<String, Integer> publisherCounts) { this.publisherCounts = publisherCounts != null ? new LinkedHashMap<>(publisherCounts) : null; }
+
+    public Map<Boolean, Integer> getMultiplayerCounts() { return multiplayerCounts; }
+    public void setMultiplayerCounts(Map<Boolean, Integer> multiplayerCounts) { this.multiplayerCounts = multiplayerCounts != null ? new LinkedHashMap<>(multiplayerCounts) : null; }
+
+    @Override
+    public String toString() {
+        return "GameSearchResult{games=" + (games != null ? games.size() : 0) + ", totalMatches=" + totalMatches + "}";
+    }
+}
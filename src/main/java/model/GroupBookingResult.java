@@ -0,0 +1,45 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * GroupBookingResult - Data Transfer Object for stations booked together for one window
+ */
+public class GroupBookingResult implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ArrayList, not List, so the field is known to be serializable
+    private ArrayList<Booking> bookings;
+    private BigDecimal totalAmount;
+    // The one payment covering all bookings
+    private Transaction payment;
+
+    // Constructor
+    public GroupBookingResult() {}
+
+    // Getters and Setters
+    public List<Booking> getBookings() { return bookings; }
+    public void setBookings(List<Booking> bookings) { this.bookings = bookings != null ? new ArrayList<>(bookings) : null; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Transaction getPayment() { return payment; }
+    public void setPayment(Transaction payment) { this.payment = payment; }
+
+    @Override
+    public String toString() {
+        return "GroupBookingResult{bookings=" + (bookings != null ? bookings.size() : 0) +
+               ", totalAmount=" + totalAmount + "}";
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * MetricsSeries - Data Transfer Object for live metric trend lines
+ * All arrays have one entry per sample, oldest first.
+ */
+public class MetricsSeries implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long sampleIntervalMillis;
+    private long[] timestamps;
+    // Stations with a confirmed or ongoing booking in progress
+    private int[] occupiedStations;
+    // Users holding a session token
+    private int[] activeSessions;
+    // Bookings created in the minute before the sample
+    private int[] bookingsPerMinute;
+    // Booking and tournament payments (RWF) in the minute before the sample
+    private double[] revenuePerMinute;
+
+    // Constructor
+    public MetricsSeries() {}
+
+    // Getters and Setters
+    public long getSampleIntervalMillis() { return sampleIntervalMillis; }
+    public void setSampleIntervalMillis(long sampleIntervalMillis) { this.sampleIntervalMillis = sampleIntervalMillis; }
+
+    public long[] getTimestamps() { return timestamps; }
+    public void setTimestamps(long[] timestamps) { this.timestamps = timestamps; }
+
+    public int[] getOccupiedStations() { return occupiedStations; }
+    public void setOccupiedStations(int[] occupiedStations) { this.occupiedStations = occupiedStations; }
+
+    public int[] getActiveSessions() { return activeSessions; }
+    public void setActiveSessions(int[] activeSessions) { this.activeSessions = activeSessions; }
+
+    public int[] getBookingsPerMinute() { return bookingsPerMinute; }
+    public void setBookingsPerMinute(int[] bookingsPerMinute) { this.bookingsPerMinute = bookingsPerMinute; }
+
+    public double[] getRevenuePerMinute() { return revenuePerMinute; }
+    public void setRevenuePerMinute(double[] revenuePerMinute) { this.revenuePerMinute = revenuePerMinute; }
+
+    public int size() { return timestamps != null ? timestamps.length : 0; }
+
+    @Override
+    public String toString() {
+        return "MetricsSeries{samples=" + size() + ", sampleIntervalMillis=" + sampleIntervalMillis + "}";
+    }
+}
@@ -14,6 +14,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -23,17 +25,20 @@ import java.time.LocalDateTime;
  * @author Odeth
  */
 @Entity
+@NamedEntityGraph(name = Notification.GRAPH_WITH_USER, attributeNodes = @NamedAttributeNode("user"))
 @Table(name = "notifications")
 public class Notification implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_WITH_USER = "Notification.withUser";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "notification_id")
     private Long notificationId;
 
     // Many-to-One with User
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -0,0 +1,71 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * RecurringBookingRequest - Data Transfer Object for a series of bookings
+ * of one station at the same time of day
+ */
+public class RecurringBookingRequest implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long customerId;
+    private Long stationId;
+    private LocalDate firstDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private RecurrencePattern pattern = RecurrencePattern.WEEKLY;
+    private int occurrences;
+    private ConflictPolicy conflictPolicy = ConflictPolicy.REJECT;
+
+    // Constructor
+    public RecurringBookingRequest() {}
+
+    // Getters and Setters
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public LocalDate getFirstDate() { return firstDate; }
+    public void setFirstDate(LocalDate firstDate) { this.firstDate = firstDate; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public RecurrencePattern getPattern() { return pattern; }
+    public void setPattern(RecurrencePattern pattern) { this.pattern = pattern; }
+
+    public int getOccurrences() { return occurrences; }
+    public void setOccurrences(int occurrences) { this.occurrences = occurrences; }
+
+    public ConflictPolicy getConflictPolicy() { return conflictPolicy; }
+    public void setConflictPolicy(ConflictPolicy conflictPolicy) { this.conflictPolicy = conflictPolicy; }
+
+    /**
+     * Date of the n-th occurrence, from 0
+     */
+    public LocalDate occurrenceDate(int n) {
+        return pattern == RecurrencePattern.DAILY ? firstDate.plusDays(n) : firstDate.plusWeeks(n);
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringBookingRequest{customerId=" + customerId + ", stationId=" + stationId +
+               ", firstDate=" + firstDate + ", startTime=" + startTime + ", endTime=" + endTime +
+               ", pattern=" + pattern + ", occurrences=" + occurrences + ", conflictPolicy=" + conflictPolicy + "}";
+    }
+}
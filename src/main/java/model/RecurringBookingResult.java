@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * RecurringBookingResult - Data Transfer Object for the outcome of a booking series
+ */
+public class RecurringBookingResult implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ArrayList, not List, so the fields are known to be serializable
+    private ArrayList<Booking> bookings;
+    // Occurrences left out under ConflictPolicy.SKIP
+    private ArrayList<LocalDate> skippedDates;
+    private BigDecimal totalAmount;
+    // The one payment covering all bookings
+    private Transaction payment;
+
+    // Constructor
+    public RecurringBookingResult() {}
+
+    // Getters and Setters
+    public List<Booking> getBookings() { return bookings; }
+    public void setBookings(List<Booking> bookings) { this.bookings = bookings != null ? new ArrayList<>(bookings) : null; }
+
+    public List<LocalDate> getSkippedDates() { return skippedDates; }
+    public void setSkippedDates(List<LocalDate> skippedDates) { this.skippedDates = skippedDates != null ? new ArrayList<>(skippedDates) : null; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Transaction getPayment() { return payment; }
+    public void setPayment(Transaction payment) { this.payment = payment; }
+
+    @Override
+    public String toString() {
+        return "RecurringBookingResult{bookings=" + (bookings != null ? bookings.size() : 0) +
+               ", skippedDates=" + skippedDates + ", totalAmount=" + totalAmount + "}";
+    }
+}
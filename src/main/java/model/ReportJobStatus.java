@@ -0,0 +1,73 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.time.LocalDateTime;
+
+ /**
+ * ReportJobStatus - Data Transfer Object for an asynchronous report job
+ */
+public class ReportJobStatus implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String jobId;
+    private String reportType;
+    private String format;
+    private ReportJobState state;
+    private long sizeBytes;
+    private boolean fromCache;
+    private String errorMessage;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+
+    // Constructor
+    public ReportJobStatus() {}
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public ReportJobState getState() { return state; }
+    public void setState(ReportJobState state) { this.state = state; }
+
+    /** Size of the finished artifact; 0 until the job completes */
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public boolean isFromCache() { return fromCache; }
+    public void setFromCache(boolean fromCache) { this.fromCache = fromCache; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    @Override
+    public String toString() {
+        return "ReportJobStatus{" +
+                "jobId='" + jobId + '\'' +
+                ", reportType='" + reportType + '\'' +
+                ", format='" + format + '\'' +
+                ", state=" + state +
+                ", sizeBytes=" + sizeBytes +
+                ", fromCache=" + fromCache +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * SlotHold - Data Transfer Object for a temporary hold on a station slot
+ * Pass the token to createBooking before the hold expires.
+ */
+public class SlotHold implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String token;
+    private Long stationId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public SlotHold() {}
+
+    public SlotHold(String token, Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                    LocalDateTime expiresAt) {
+        this.token = token;
+        this.stationId = stationId;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    @Override
+    public String toString() {
+        return "SlotHold{stationId=" + stationId + ", date=" + date + ", startTime=" + startTime +
+               ", endTime=" + endTime + ", expiresAt=" + expiresAt + "}";
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ *
+ * @author Odeth
+ */
+/**
+ * StationDailyRollup - Booking totals of one station on one day
+ * Maintained by dao.RollupDAO from the bookings table; never edited directly.
+ */
+@Entity
+@Table(name = "station_daily_rollups",
+    uniqueConstraints = @UniqueConstraint(name = "uk_station_rollup_day", columnNames = {"station_id", "rollup_date"}),
+    indexes = @Index(name = "idx_station_rollup_date", columnList = "rollup_date"))
+public class StationDailyRollup implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    @Column(name = "station_id", nullable = false)
+    private Long stationId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    // Confirmed, ongoing and completed bookings
+    @Column(name = "bookings", nullable = false)
+    private int bookings;
+
+    @Column(name = "booked_hours", precision = 10, scale = 2, nullable = false)
+    private BigDecimal bookedHours = BigDecimal.ZERO;
+
+    @Column(name = "revenue", precision = 12, scale = 2, nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "no_shows", nullable = false)
+    private int noShows;
+
+    @Column(name = "cancellations", nullable = false)
+    private int cancellations;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public StationDailyRollup() {
+    }
+
+    // Getters and Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    public Long getStationId() {
+        return stationId;
+    }
+
+    public void setStationId(Long stationId) {
+        this.stationId = stationId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(int bookings) {
+        this.bookings = bookings;
+    }
+
+    public BigDecimal getBookedHours() {
+        return bookedHours;
+    }
+
+    public void setBookedHours(BigDecimal bookedHours) {
+        this.bookedHours = bookedHours;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public int getNoShows() {
+        return noShows;
+    }
+
+    public void setNoShows(int noShows) {
+        this.noShows = noShows;
+    }
+
+    public int getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(int cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StationDailyRollup{" +
+                "stationId=" + stationId +
+                ", rollupDate=" + rollupDate +
+                ", bookings=" + bookings +
+                ", bookedHours=" + bookedHours +
+                ", revenue=" + revenue +
+                ", noShows=" + noShows +
+                ", cancellations=" + cancellations +
+                '}';
+    }
+}
@@ -31,12 +31,12 @@ public class StationGame implements Serializable {
     private Long stationGameId;
 
     // Many-to-One with GamingStation
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "station_id", nullable = false)
     private GamingStation gamingStation;
 
     // Many-to-One with Game
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
@@ -18,17 +18,32 @@ import java.time.LocalDateTime;
  * Transaction Entity - Financial Records
  */
 @Entity
-@Table(name = "transactions")
+@NamedEntityGraphs({
+    // List views returned to clients: customer with user
+    @NamedEntityGraph(name = Transaction.GRAPH_LIST,
+        attributeNodes = @NamedAttributeNode(value = "customer", subgraph = "customer.user"),
+        subgraphs = @NamedSubgraph(name = "customer.user", attributeNodes = @NamedAttributeNode("user"))),
+    // Reports only print the customer name
+    @NamedEntityGraph(name = Transaction.GRAPH_REPORT,
+        attributeNodes = @NamedAttributeNode("customer"))
+})
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_date", columnList = "transaction_date"),
+    @Index(name = "idx_transactions_customer_date", columnList = "customer_id, transaction_date")
+})
 public class Transaction implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_LIST = "Transaction.list";
+    public static final String GRAPH_REPORT = "Transaction.report";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "transaction_id")
     private Long transactionId;
 
     // Many-to-One with Customer
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
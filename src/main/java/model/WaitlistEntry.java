@@ -0,0 +1,210 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ *
+ * @author Odeth
+ */
+/**
+ * WaitlistEntry - A customer waiting for any station of a type in a time window
+ * Kept in memory by rmi.Waitlist; this table makes the queue survive restarts.
+ */
+@Entity
+@NamedEntityGraph(name = WaitlistEntry.GRAPH_WITH_CUSTOMER,
+    attributeNodes = @NamedAttributeNode(value = "customer", subgraph = "customer.user"),
+    subgraphs = @NamedSubgraph(name = "customer.user", attributeNodes = @NamedAttributeNode("user")))
+@Table(name = "waitlist_entries", indexes = {
+    @Index(name = "idx_waitlist_status_date", columnList = "status, booking_date"),
+    @Index(name = "idx_waitlist_customer", columnList = "customer_id")
+})
+public class WaitlistEntry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String GRAPH_WITH_CUSTOMER = "WaitlistEntry.withCustomer";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private Customer customer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "station_type", nullable = false)
+    private StationType stationType;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // Book and charge at once when a slot opens, rather than only notify
+    @Column(name = "auto_book", nullable = false)
+    private boolean autoBook;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    // Booking made for this entry, once BOOKED
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    // Constructors
+    public WaitlistEntry() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public WaitlistEntry(Customer customer, StationType stationType, LocalDate bookingDate,
+                         LocalTime startTime, LocalTime endTime, boolean autoBook) {
+        this();
+        this.customer = customer;
+        this.stationType = stationType;
+        this.bookingDate = bookingDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.autoBook = autoBook;
+    }
+
+    // Business Methods
+    public boolean isWaiting() {
+        return status == WaitlistStatus.WAITING;
+    }
+
+    // Getters and Setters
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public StationType getStationType() {
+        return stationType;
+    }
+
+    public void setStationType(StationType stationType) {
+        this.stationType = stationType;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public boolean isAutoBook() {
+        return autoBook;
+    }
+
+    public void setAutoBook(boolean autoBook) {
+        this.autoBook = autoBook;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "entryId=" + entryId +
+                ", stationType=" + stationType +
+                ", bookingDate=" + bookingDate +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", autoBook=" + autoBook +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package model;
+
+/**
+ *
+ * @author Odeth
+ */
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,    // Told a matching slot opened up
+    BOOKED,     // Booked automatically
+    CANCELLED,
+    EXPIRED
+}
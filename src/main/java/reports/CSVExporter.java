@@ -149,6 +149,35 @@ public class CSVExporter {
         }
     }
 
+    /**
+     * Generate an aggregate report from a generic table
+     */
+    public static String generateTableReport(ReportTable report) {
+        try {
+            StringBuilder csv = new StringBuilder();
+            
+            // Header
+            String[] headers = report.getHeaders();
+            for (int i = 0; i < headers.length; i++) {
+                csv.append(escapeCSV(headers[i])).append(i < headers.length - 1 ? "," : "\n");
+            }
+            
+            // Data rows
+            for (Object[] row : report.getRows()) {
+                for (int i = 0; i < row.length; i++) {
+                    csv.append(escapeCSV(row[i] != null ? row[i].toString() : "")).append(i < row.length - 1 ? "," : "\n");
+                }
+            }
+            
+            logger.info("{} CSV report generated successfully", report.getTitle());
+            return csv.toString();
+            
+        } catch (Exception e) {
+            logger.error("Error generating {} CSV report", report.getTitle(), e);
+            return null;
+        }
+    }
+
     /**
      * Escape special characters in CSV
      */
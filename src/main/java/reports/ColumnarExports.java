@@ -0,0 +1,53 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import model.Booking;
+import model.BookingStatus;
+import model.PaymentMethod;
+import model.StationType;
+import model.Transaction;
+import model.TransactionType;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ColumnarExports - Column layouts of the analytics extracts
+ *
+ * Column names are part of the file contract with analysts; add columns
+ * at the end rather than renaming or reordering existing ones.
+ */
+public final class ColumnarExports {
+
+    private ColumnarExports() {
+    }
+
+    public static final ColumnarWriter.Schema<Booking> BOOKINGS = new ColumnarWriter.Schema<Booking>()
+            .longColumn("bookingId", Booking::getBookingId)
+            .longColumn("customerId", b -> b.getCustomer().getCustomerId())
+            .stringColumn("customerName", b -> b.getCustomer().getFullName())
+            .longColumn("stationId", b -> b.getGamingStation().getStationId())
+            .stringColumn("stationName", b -> b.getGamingStation().getStationName())
+            .enumColumn("stationType", StationType.class, b -> b.getGamingStation().getStationType())
+            .dateColumn("bookingDate", Booking::getBookingDate)
+            .timeColumn("startTime", Booking::getStartTime)
+            .timeColumn("endTime", Booking::getEndTime)
+            .decimalColumn("durationHours", 2, Booking::getDurationHours)
+            .decimalColumn("totalAmount", 2, Booking::getTotalAmount)
+            .enumColumn("status", BookingStatus.class, Booking::getStatus)
+            .dateTimeColumn("createdAt", Booking::getCreatedAt);
+
+    public static final ColumnarWriter.Schema<Transaction> TRANSACTIONS = new ColumnarWriter.Schema<Transaction>()
+            .longColumn("transactionId", Transaction::getTransactionId)
+            .longColumn("customerId", t -> t.getCustomer().getCustomerId())
+            .stringColumn("customerName", t -> t.getCustomer().getFullName())
+            .enumColumn("transactionType", TransactionType.class, Transaction::getTransactionType)
+            .decimalColumn("amount", 2, Transaction::getAmount)
+            .enumColumn("paymentMethod", PaymentMethod.class, Transaction::getPaymentMethod)
+            .stringColumn("referenceId", Transaction::getReferenceId)
+            .dateTimeColumn("transactionDate", Transaction::getTransactionDate);
+}
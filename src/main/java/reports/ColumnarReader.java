@@ -0,0 +1,233 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import reports.ColumnarWriter.ColumnType;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ColumnarReader - Reads files written by ColumnarWriter, one row group at a time
+ *
+ * <pre>
+ * try (ColumnarReader reader = new ColumnarReader(in)) {
+ *     while (reader.nextRowGroup()) {
+ *         Object[] amounts = reader.getColumn(reader.indexOf("amount"));
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * Values come back typed (Long, BigDecimal, LocalDate, LocalTime,
+ * LocalDateTime, String); enum columns are returned as constant names.
+ */
+public class ColumnarReader implements Closeable {
+
+    private final DataInputStream in;
+    private final List<String> names = new ArrayList<>();
+    private final List<ColumnType> types = new ArrayList<>();
+    private final List<Integer> scales = new ArrayList<>();
+    private final List<String[]> dictionaries = new ArrayList<>();
+    private final Inflater inflater = new Inflater();
+    private Object[][] columns;
+    private int rowCount;
+    private long totalRows = -1;
+
+    public ColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        readHeader();
+    }
+
+    public List<String> getColumnNames() {
+        return names;
+    }
+
+    public ColumnType getColumnType(int column) {
+        return types.get(column);
+    }
+
+    public int indexOf(String name) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No such column: " + name);
+        }
+        return index;
+    }
+
+    /**
+     * Decode the next row group
+     * @return false once the footer has been reached
+     */
+    public boolean nextRowGroup() throws IOException {
+        if (totalRows >= 0) {
+            return false;
+        }
+        rowCount = in.readInt();
+        if (rowCount == 0) {
+            totalRows = in.readLong();
+            in.readInt(); // row group count
+            checkMagic();
+            columns = null;
+            return false;
+        }
+        columns = new Object[names.size()][];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = decodeChunk(i);
+        }
+        return true;
+    }
+
+    /**
+     * Rows in the current row group
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Values of a column in the current row group; nulls where absent
+     */
+    public Object[] getColumn(int column) {
+        return columns[column];
+    }
+
+    /**
+     * Row count from the footer; only known after the last row group
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private void readHeader() throws IOException {
+        checkMagic();
+        int version = in.readUnsignedByte();
+        if (version != ColumnarWriter.VERSION) {
+            throw new IOException("Unsupported columnar format version: " + version);
+        }
+        int columnCount = in.readInt();
+        for (int i = 0; i < columnCount; i++) {
+            names.add(in.readUTF());
+            ColumnType type = ColumnType.values()[in.readUnsignedByte()];
+            types.add(type);
+            scales.add(type == ColumnType.DECIMAL ? (int) in.readByte() : 0);
+            String[] dictionary = null;
+            if (type == ColumnType.ENUM) {
+                dictionary = new String[in.readInt()];
+                for (int d = 0; d < dictionary.length; d++) {
+                    dictionary[d] = in.readUTF();
+                }
+            }
+            dictionaries.add(dictionary);
+        }
+    }
+
+    private void checkMagic() throws IOException {
+        byte[] magic = new byte[ColumnarWriter.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarWriter.MAGIC)) {
+            throw new IOException("Not a columnar export file");
+        }
+    }
+
+    private Object[] decodeChunk(int column) throws IOException {
+        byte[] raw = new byte[in.readInt()];
+        byte[] deflated = new byte[in.readInt()];
+        in.readFully(deflated);
+        inflater.reset();
+        inflater.setInput(deflated);
+        try {
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+            if (length != raw.length) {
+                throw new IOException("Truncated column chunk");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk", e);
+        }
+
+        Cursor cursor = new Cursor(raw);
+        int nullCount = (int) cursor.varint();
+        BitSet nulls = new BitSet();
+        if (nullCount > 0) {
+            int bitmapLength = (rowCount + 7) / 8;
+            nulls = BitSet.valueOf(Arrays.copyOfRange(raw, cursor.position, cursor.position + bitmapLength));
+            cursor.position += bitmapLength;
+        }
+
+        ColumnType type = types.get(column);
+        Object[] values = new Object[rowCount];
+        long previous = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (nulls.get(row)) {
+                continue;
+            }
+            switch (type) {
+                case LONG -> values[row] = previous += cursor.zigzag();
+                case DECIMAL -> values[row] = BigDecimal.valueOf(cursor.zigzag(), scales.get(column));
+                case DATE -> values[row] = LocalDate.ofEpochDay(previous += cursor.zigzag());
+                case TIME -> values[row] = LocalTime.ofSecondOfDay(cursor.varint());
+                case DATETIME -> values[row] = LocalDateTime.ofEpochSecond(previous += cursor.zigzag(), 0, ZoneOffset.UTC);
+                case STRING -> {
+                    int length = (int) cursor.varint();
+                    values[row] = new String(raw, cursor.position, length, StandardCharsets.UTF_8);
+                    cursor.position += length;
+                }
+                case ENUM -> values[row] = dictionaries.get(column)[(int) cursor.varint()];
+            }
+        }
+        return values;
+    }
+
+    private static final class Cursor {
+        final byte[] bytes;
+        int position;
+
+        Cursor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
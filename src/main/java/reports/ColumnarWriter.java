@@ -0,0 +1,304 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ColumnarWriter - Compact typed columnar export, written row by row
+ *
+ * Rows are buffered into row groups; each column of a group is encoded
+ * separately and deflated, so similar values sit together and compress well.
+ * Only one row group is ever held in memory.
+ *
+ * File layout (big-endian, "varint" = unsigned LEB128, "zigzag" = signed varint):
+ * <pre>
+ * header    : magic "GCCF", version byte, int columnCount,
+ *             per column: UTF name, byte type, type details
+ *               DECIMAL -> byte scale
+ *               ENUM    -> int size, UTF constant per dictionary code
+ * row group : int rowCount (&gt; 0), then per column a chunk:
+ *             int rawLength, int deflatedLength, deflated bytes of
+ *               varint nullCount, null bitmap if nullCount &gt; 0 ((rows+7)/8 bytes),
+ *               values of the non-null rows:
+ *                 LONG     zigzag delta from the previous value
+ *                 DECIMAL  zigzag unscaled value at the column scale
+ *                 DATE     zigzag delta of epoch day
+ *                 TIME     varint second of day
+ *                 DATETIME zigzag delta of epoch second (UTC)
+ *                 STRING   varint byte length + UTF-8 bytes
+ *                 ENUM     varint dictionary code
+ * footer    : int 0, long totalRows, int rowGroupCount, magic "GCCF"
+ * </pre>
+ * Deltas restart at zero in every row group. ColumnarReader reads the format.
+ */
+public class ColumnarWriter<T> implements Closeable {
+
+    static final byte[] MAGIC = {'G', 'C', 'C', 'F'};
+    static final byte VERSION = 1;
+    public static final int DEFAULT_ROW_GROUP_SIZE = 64 * 1024;
+
+    public enum ColumnType {
+        LONG, DECIMAL, DATE, TIME, DATETIME, STRING, ENUM
+    }
+
+    /**
+     * Column definitions: name, type and how to read the value from a row
+     */
+    public static final class Schema<T> {
+        private final List<Column<T>> columns = new ArrayList<>();
+
+        public Schema<T> longColumn(String name, Function<T, Long> getter) {
+            return add(new Column<>(name, ColumnType.LONG, 0, null, getter));
+        }
+
+        public Schema<T> decimalColumn(String name, int scale, Function<T, BigDecimal> getter) {
+            return add(new Column<>(name, ColumnType.DECIMAL, scale, null, getter));
+        }
+
+        public Schema<T> dateColumn(String name, Function<T, LocalDate> getter) {
+            return add(new Column<>(name, ColumnType.DATE, 0, null, getter));
+        }
+
+        public Schema<T> timeColumn(String name, Function<T, LocalTime> getter) {
+            return add(new Column<>(name, ColumnType.TIME, 0, null, getter));
+        }
+
+        public Schema<T> dateTimeColumn(String name, Function<T, LocalDateTime> getter) {
+            return add(new Column<>(name, ColumnType.DATETIME, 0, null, getter));
+        }
+
+        public Schema<T> stringColumn(String name, Function<T, String> getter) {
+            return add(new Column<>(name, ColumnType.STRING, 0, null, getter));
+        }
+
+        /**
+         * Dictionary-encoded column; the dictionary is the enum's constants
+         */
+        public <E extends Enum<E>> Schema<T> enumColumn(String name, Class<E> enumType, Function<T, E> getter) {
+            return add(new Column<>(name, ColumnType.ENUM, 0, enumType.getEnumConstants(), getter));
+        }
+
+        private Schema<T> add(Column<T> column) {
+            columns.add(column);
+            return this;
+        }
+    }
+
+    private record Column<T>(String name, ColumnType type, int scale, Enum<?>[] dictionary,
+                             Function<T, ?> getter) {}
+
+    private final DataOutputStream out;
+    private final List<Column<T>> columns;
+    private final int rowGroupSize;
+    private final ColumnBuffer[] buffers;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private byte[] deflated = new byte[8 * 1024];
+    private int rowsInGroup;
+    private long totalRows;
+    private int rowGroups;
+    private boolean closed;
+
+    public ColumnarWriter(OutputStream out, Schema<T> schema) throws IOException {
+        this(out, schema, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarWriter(OutputStream out, Schema<T> schema, int rowGroupSize) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.columns = List.copyOf(schema.columns);
+        this.rowGroupSize = rowGroupSize;
+        this.buffers = new ColumnBuffer[columns.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ColumnBuffer();
+        }
+        writeHeader();
+    }
+
+    public void write(T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T> column = columns.get(i);
+            buffers[i].append(column, rowsInGroup, column.getter().apply(row));
+        }
+        totalRows++;
+        if (++rowsInGroup == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Write the last row group and the footer. Does not close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushRowGroup();
+            out.writeInt(0);
+            out.writeLong(totalRows);
+            out.writeInt(rowGroups);
+            out.write(MAGIC);
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(columns.size());
+        for (Column<T> column : columns) {
+            out.writeUTF(column.name());
+            out.writeByte(column.type().ordinal());
+            if (column.type() == ColumnType.DECIMAL) {
+                out.writeByte(column.scale());
+            } else if (column.type() == ColumnType.ENUM) {
+                out.writeInt(column.dictionary().length);
+                for (Enum<?> constant : column.dictionary()) {
+                    out.writeUTF(constant.name());
+                }
+            }
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rowsInGroup == 0) {
+            return;
+        }
+        out.writeInt(rowsInGroup);
+        ByteBuffer raw = new ByteBuffer();
+        for (ColumnBuffer buffer : buffers) {
+            raw.size = 0;
+            int nullCount = buffer.nulls.cardinality();
+            raw.writeVarint(nullCount);
+            if (nullCount > 0) {
+                byte[] bitmap = Arrays.copyOf(buffer.nulls.toByteArray(), (rowsInGroup + 7) / 8);
+                raw.write(bitmap, 0, bitmap.length);
+            }
+            raw.write(buffer.values.bytes, 0, buffer.values.size);
+            writeDeflated(raw);
+            buffer.reset();
+        }
+        rowsInGroup = 0;
+        rowGroups++;
+    }
+
+    private void writeDeflated(ByteBuffer raw) throws IOException {
+        deflater.reset();
+        deflater.setInput(raw.bytes, 0, raw.size);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == deflated.length) {
+                deflated = Arrays.copyOf(deflated, deflated.length * 2);
+            }
+            length += deflater.deflate(deflated, length, deflated.length - length);
+        }
+        out.writeInt(raw.size);
+        out.writeInt(length);
+        out.write(deflated, 0, length);
+    }
+
+    /**
+     * Encoded values and null positions of one column in the current row group
+     */
+    private static final class ColumnBuffer {
+        final ByteBuffer values = new ByteBuffer();
+        final BitSet nulls = new BitSet();
+        long previous;
+
+        void append(Column<?> column, int row, Object value) {
+            if (value == null) {
+                nulls.set(row);
+                return;
+            }
+            switch (column.type()) {
+                case LONG -> delta((Long) value);
+                case DECIMAL -> values.writeZigzag(((BigDecimal) value)
+                        .setScale(column.scale(), RoundingMode.HALF_UP).unscaledValue().longValueExact());
+                case DATE -> delta(((LocalDate) value).toEpochDay());
+                case TIME -> values.writeVarint(((LocalTime) value).toSecondOfDay());
+                case DATETIME -> delta(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC));
+                case STRING -> {
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    values.writeVarint(bytes.length);
+                    values.write(bytes, 0, bytes.length);
+                }
+                case ENUM -> values.writeVarint(((Enum<?>) value).ordinal());
+            }
+        }
+
+        private void delta(long value) {
+            values.writeZigzag(value - previous);
+            previous = value;
+        }
+
+        void reset() {
+            values.size = 0;
+            nulls.clear();
+            previous = 0;
+        }
+    }
+
+    /**
+     * Growable byte array with varint encoding
+     */
+    static final class ByteBuffer {
+        byte[] bytes = new byte[4096];
+        int size;
+
+        void write(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeZigzag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
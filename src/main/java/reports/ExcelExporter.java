@@ -11,12 +11,14 @@ package reports;
 
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.WorkbookUtil;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import model.*;
 
 import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -226,6 +228,59 @@ public class ExcelExporter {
         }
     }
 
+    /**
+     * Generate an aggregate report from a generic table
+     */
+    public static byte[] generateTableReport(ReportTable report) {
+        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet(WorkbookUtil.createSafeSheetName(report.getTitle()));
+
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+
+            // Filter description above the table
+            sheet.createRow(0).createCell(0).setCellValue(report.getTitle() + " - " + report.getSubtitle());
+
+            // Create header row
+            Row headerRow = sheet.createRow(2);
+            String[] headers = report.getHeaders();
+            for (int i = 0; i < headers.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(headers[i]);
+                cell.setCellStyle(headerStyle);
+            }
+
+            // Fill data rows
+            int rowNum = 3;
+            for (Object[] values : report.getRows()) {
+                Row row = sheet.createRow(rowNum++);
+                for (int i = 0; i < values.length; i++) {
+                    Object value = values[i] instanceof BigDecimal decimal ? decimal.doubleValue() : values[i];
+                    createCell(row, i, value, dataStyle);
+                }
+            }
+
+            // Summary lines below the table
+            rowNum++;
+            for (String line : report.getSummary()) {
+                sheet.createRow(rowNum++).createCell(0).setCellValue(line);
+            }
+
+            // Auto-size columns
+            for (int i = 0; i < headers.length; i++) {
+                sheet.autoSizeColumn(i);
+            }
+
+            workbook.write(baos);
+            logger.info("{} Excel report generated successfully", report.getTitle());
+            return baos.toByteArray();
+
+        } catch (Exception e) {
+            logger.error("Error generating {} Excel report", report.getTitle(), e);
+            return null;
+        }
+    }
+
     // Helper methods
     private static CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
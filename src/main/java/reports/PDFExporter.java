@@ -16,9 +16,12 @@ import org.slf4j.LoggerFactory;
 import model.*;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * PDFExporter - Generates PDF reports using iText
@@ -34,6 +37,9 @@ public class PDFExporter {
     private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD, BaseColor.WHITE);
     private static final Font NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 10);
 
+    // Rows buffered in a streaming table before it is flushed to the document
+    private static final int STREAM_FRAGMENT_ROWS = 200;
+
     /**
      * Generate Customer Report
      */
@@ -121,83 +127,144 @@ public class PDFExporter {
      */
     public static byte[] generateBookingReport(List<Booking> bookings) {
         try {
-            Document document = new Document(PageSize.A4.rotate()); // Landscape
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = PdfWriter.getInstance(document, baos);
-            writer.setPageEvent(new HeaderFooter());
-            
-            document.open();
-
-            // Title
-            Paragraph title = new Paragraph("Booking Report", TITLE_FONT);
-            title.setAlignment(Element.ALIGN_CENTER);
-            title.setSpacingAfter(20);
-            document.add(title);
-
-            // Generated date
-            Paragraph date = new Paragraph(
-                "Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
-                NORMAL_FONT
-            );
-            date.setAlignment(Element.ALIGN_RIGHT);
-            date.setSpacingAfter(20);
-            document.add(date);
-
-            // Summary
-            Paragraph summary = new Paragraph("Total Bookings: " + bookings.size(), NORMAL_FONT);
-            summary.setSpacingAfter(15);
-            document.add(summary);
-
-            // Create table
-            PdfPTable table = new PdfPTable(8);
-            table.setWidthPercentage(100);
-            float[] columnWidths = {0.8f, 2f, 2f, 1.5f, 1.2f, 1.2f, 1.2f, 1.5f};
-            table.setWidths(columnWidths);
-
-            // Add headers
-            addTableHeader(table, new String[]{"ID", "Customer", "Station", "Date", "Start", "End", "Duration", "Amount (RWF)"});
+            writeBookingReport(baos, null, RowSource.of(bookings));
+            return baos.toByteArray();
+        } catch (Exception e) {
+            logger.error("Error generating booking PDF report", e);
+            return null;
+        }
+    }
 
-            // Add data rows
-            boolean alternateRow = false;
-            double totalRevenue = 0;
+    /**
+     * Write Booking Report to a stream, pulling rows from the source as it goes.
+     * The table is added in fragments of STREAM_FRAGMENT_ROWS rows; iText lays
+     * out and writes each fragment and then drops it, so memory stays flat
+     * however many bookings there are.
+     * @param subtitle filter description, or null
+     */
+    public static void writeBookingReport(OutputStream out, String subtitle, RowSource<Booking> bookings)
+            throws DocumentException {
+        Document document = new Document(PageSize.A4.rotate()); // Landscape
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setPageEvent(new HeaderFooter());
+        
+        document.open();
+        addTitle(document, "Booking Report", subtitle);
+
+        // Create table
+        PdfPTable table = new PdfPTable(8);
+        table.setWidthPercentage(100);
+        float[] columnWidths = {0.8f, 2f, 2f, 1.5f, 1.2f, 1.2f, 1.2f, 1.5f};
+        table.setWidths(columnWidths);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+
+        // Add headers
+        addTableHeader(table, new String[]{"ID", "Customer", "Station", "Date", "Start", "End", "Duration", "Amount (RWF)"});
+
+        // Add data rows
+        boolean[] alternateRow = {false};
+        BigDecimal[] totalRevenue = {BigDecimal.ZERO};
+        
+        long count = streamRows(document, table, bookings, booking -> {
+            addTableCell(table, String.valueOf(booking.getBookingId()), alternateRow[0]);
+            addTableCell(table, booking.getCustomer().getFullName(), alternateRow[0]);
+            addTableCell(table, booking.getGamingStation().getStationName(), alternateRow[0]);
+            addTableCell(table, booking.getBookingDate().toString(), alternateRow[0]);
+            addTableCell(table, booking.getStartTime().toString(), alternateRow[0]);
+            addTableCell(table, booking.getEndTime().toString(), alternateRow[0]);
+            addTableCell(table, booking.getDurationHours().toString() + "h", alternateRow[0]);
+            addTableCell(table, booking.getTotalAmount().toString(), alternateRow[0]);
             
-            for (Booking booking : bookings) {
-                addTableCell(table, String.valueOf(booking.getBookingId()), alternateRow);
-                addTableCell(table, booking.getCustomer().getFullName(), alternateRow);
-                addTableCell(table, booking.getGamingStation().getStationName(), alternateRow);
-                addTableCell(table, booking.getBookingDate().toString(), alternateRow);
-                addTableCell(table, booking.getStartTime().toString(), alternateRow);
-                addTableCell(table, booking.getEndTime().toString(), alternateRow);
-                addTableCell(table, booking.getDurationHours().toString() + "h", alternateRow);
-                addTableCell(table, booking.getTotalAmount().toString(), alternateRow);
-                
-                totalRevenue += booking.getTotalAmount().doubleValue();
-                alternateRow = !alternateRow;
-            }
+            totalRevenue[0] = totalRevenue[0].add(booking.getTotalAmount());
+            alternateRow[0] = !alternateRow[0];
+        });
 
-            document.add(table);
+        // Statistics
+        addStatisticsHeading(document);
+        document.add(new Paragraph("Total Bookings: " + count, NORMAL_FONT));
+        document.add(new Paragraph("Total Revenue: " + String.format("%.2f", totalRevenue[0]) + " RWF", NORMAL_FONT));
 
-            // Statistics
-            document.add(new Paragraph(" "));
-            Paragraph stats = new Paragraph("Report Statistics:", new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD));
-            stats.setSpacingBefore(20);
-            document.add(stats);
-            document.add(new Paragraph("Total Revenue: " + String.format("%.2f", totalRevenue) + " RWF", NORMAL_FONT));
+        document.close();
+        logger.info("Booking PDF report generated successfully ({} rows)", count);
+    }
 
-            document.close();
-            logger.info("Booking PDF report generated successfully");
+    /**
+     * Generate Revenue Report
+     */
+    public static byte[] generateRevenueReport(List<Transaction> transactions) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            writeRevenueReport(baos, null, RowSource.of(transactions));
             return baos.toByteArray();
-
         } catch (Exception e) {
-            logger.error("Error generating booking PDF report", e);
+            logger.error("Error generating revenue PDF report", e);
             return null;
         }
     }
 
     /**
-     * Generate Revenue Report
+     * Write Revenue Report to a stream, pulling rows from the source as it goes
+     * @param subtitle filter description, or null
+     * @see #writeBookingReport
      */
-    public static byte[] generateRevenueReport(List<Transaction> transactions) {
+    public static void writeRevenueReport(OutputStream out, String subtitle, RowSource<Transaction> transactions)
+            throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setPageEvent(new HeaderFooter());
+        
+        document.open();
+        addTitle(document, "Revenue Report", subtitle);
+
+        // Create table
+        PdfPTable table = new PdfPTable(6);
+        table.setWidthPercentage(100);
+        float[] columnWidths = {1f, 2f, 2f, 1.5f, 1.5f, 2f};
+        table.setWidths(columnWidths);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+
+        // Add headers
+        addTableHeader(table, new String[]{"ID", "Customer", "Type", "Amount (RWF)", "Method", "Date"});
+
+        // Add data rows
+        boolean[] alternateRow = {false};
+        BigDecimal[] totalRevenue = {BigDecimal.ZERO};
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        
+        long count = streamRows(document, table, transactions, transaction -> {
+            addTableCell(table, String.valueOf(transaction.getTransactionId()), alternateRow[0]);
+            addTableCell(table, transaction.getCustomer().getFullName(), alternateRow[0]);
+            addTableCell(table, transaction.getTransactionType().toString().replace("_", " "), alternateRow[0]);
+            addTableCell(table, transaction.getAmount().toString(), alternateRow[0]);
+            addTableCell(table, transaction.getPaymentMethod().toString(), alternateRow[0]);
+            addTableCell(table, transaction.getTransactionDate().format(dateFormat), alternateRow[0]);
+            
+            // Only count revenue transactions (not deposits)
+            if (transaction.getTransactionType() == TransactionType.BOOKING_PAYMENT ||
+                transaction.getTransactionType() == TransactionType.TOURNAMENT_FEE ||
+                transaction.getTransactionType() == TransactionType.MEMBERSHIP_FEE) {
+                totalRevenue[0] = totalRevenue[0].add(transaction.getAmount());
+            }
+            
+            alternateRow[0] = !alternateRow[0];
+        });
+
+        // Statistics
+        addStatisticsHeading(document);
+        document.add(new Paragraph("Total Transactions: " + count, NORMAL_FONT));
+        document.add(new Paragraph("Total Revenue: " + String.format("%.2f", totalRevenue[0]) + " RWF", NORMAL_FONT));
+
+        document.close();
+        logger.info("Revenue PDF report generated successfully ({} rows)", count);
+    }
+
+    /**
+     * Generate Station Report
+     */
+    public static byte[] generateStationReport(List<GamingStation> stations) {
         try {
             Document document = new Document(PageSize.A4);
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -207,7 +274,7 @@ public class PDFExporter {
             document.open();
 
             // Title
-            Paragraph title = new Paragraph("Revenue Report", TITLE_FONT);
+            Paragraph title = new Paragraph("Gaming Station Report", TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
             title.setSpacingAfter(20);
             document.add(title);
@@ -221,34 +288,28 @@ public class PDFExporter {
             date.setSpacingAfter(20);
             document.add(date);
 
+            // Summary
+            Paragraph summary = new Paragraph("Total Stations: " + stations.size(), NORMAL_FONT);
+            summary.setSpacingAfter(15);
+            document.add(summary);
+
             // Create table
-            PdfPTable table = new PdfPTable(6);
+            PdfPTable table = new PdfPTable(5);
             table.setWidthPercentage(100);
-            float[] columnWidths = {1f, 2f, 2f, 1.5f, 1.5f, 2f};
+            float[] columnWidths = {1f, 2f, 1.5f, 1.5f, 1.5f};
             table.setWidths(columnWidths);
 
             // Add headers
-            addTableHeader(table, new String[]{"ID", "Customer", "Type", "Amount (RWF)", "Method", "Date"});
+            addTableHeader(table, new String[]{"ID", "Name", "Type", "Hourly Rate (RWF)", "Status"});
 
             // Add data rows
             boolean alternateRow = false;
-            double totalRevenue = 0;
-            
-            for (Transaction transaction : transactions) {
-                addTableCell(table, String.valueOf(transaction.getTransactionId()), alternateRow);
-                addTableCell(table, transaction.getCustomer().getFullName(), alternateRow);
-                addTableCell(table, transaction.getTransactionType().toString().replace("_", " "), alternateRow);
-                addTableCell(table, transaction.getAmount().toString(), alternateRow);
-                addTableCell(table, transaction.getPaymentMethod().toString(), alternateRow);
-                addTableCell(table, transaction.getTransactionDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")), alternateRow);
-                
-                // Only count revenue transactions (not deposits)
-                if (transaction.getTransactionType() == TransactionType.BOOKING_PAYMENT ||
-                    transaction.getTransactionType() == TransactionType.TOURNAMENT_FEE ||
-                    transaction.getTransactionType() == TransactionType.MEMBERSHIP_FEE) {
-                    totalRevenue += transaction.getAmount().doubleValue();
-                }
-                
+            for (GamingStation station : stations) {
+                addTableCell(table, String.valueOf(station.getStationId()), alternateRow);
+                addTableCell(table, station.getStationName(), alternateRow);
+                addTableCell(table, station.getStationType().toString(), alternateRow);
+                addTableCell(table, station.getHourlyRate().toString(), alternateRow);
+                addTableCell(table, station.getStatus().toString().replace("_", " "), alternateRow);
                 alternateRow = !alternateRow;
             }
 
@@ -256,27 +317,32 @@ public class PDFExporter {
 
             // Statistics
             document.add(new Paragraph(" "));
-            Paragraph stats = new Paragraph("Report Statistics:", new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD));
+            Paragraph stats = new Paragraph("Station Statistics:", new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD));
             stats.setSpacingBefore(20);
             document.add(stats);
             
-            document.add(new Paragraph("Total Transactions: " + transactions.size(), NORMAL_FONT));
-            document.add(new Paragraph("Total Revenue: " + String.format("%.2f", totalRevenue) + " RWF", NORMAL_FONT));
+            long availableStations = stations.stream()
+                .filter(s -> s.getStatus() == StationStatus.AVAILABLE)
+                .count();
+            
+            document.add(new Paragraph("Available Stations: " + availableStations, NORMAL_FONT));
+            document.add(new Paragraph("Occupied Stations: " + 
+                stations.stream().filter(s -> s.getStatus() == StationStatus.OCCUPIED).count(), NORMAL_FONT));
 
             document.close();
-            logger.info("Revenue PDF report generated successfully");
+            logger.info("Station PDF report generated successfully");
             return baos.toByteArray();
 
         } catch (Exception e) {
-            logger.error("Error generating revenue PDF report", e);
+            logger.error("Error generating station PDF report", e);
             return null;
         }
     }
 
     /**
-     * Generate Station Report
+     * Generate an aggregate report from a generic table
      */
-    public static byte[] generateStationReport(List<GamingStation> stations) {
+    public static byte[] generateTableReport(ReportTable report) {
         try {
             Document document = new Document(PageSize.A4);
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -286,11 +352,16 @@ public class PDFExporter {
             document.open();
 
             // Title
-            Paragraph title = new Paragraph("Gaming Station Report", TITLE_FONT);
+            Paragraph title = new Paragraph(report.getTitle(), TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
-            title.setSpacingAfter(20);
+            title.setSpacingAfter(5);
             document.add(title);
 
+            Paragraph subtitle = new Paragraph(report.getSubtitle(), NORMAL_FONT);
+            subtitle.setAlignment(Element.ALIGN_CENTER);
+            subtitle.setSpacingAfter(15);
+            document.add(subtitle);
+
             // Generated date
             Paragraph date = new Paragraph(
                 "Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
@@ -300,58 +371,102 @@ public class PDFExporter {
             date.setSpacingAfter(20);
             document.add(date);
 
-            // Summary
-            Paragraph summary = new Paragraph("Total Stations: " + stations.size(), NORMAL_FONT);
-            summary.setSpacingAfter(15);
-            document.add(summary);
-
             // Create table
-            PdfPTable table = new PdfPTable(5);
+            PdfPTable table = new PdfPTable(report.getHeaders().length);
             table.setWidthPercentage(100);
-            float[] columnWidths = {1f, 2f, 1.5f, 1.5f, 1.5f};
-            table.setWidths(columnWidths);
+            table.setSpacingBefore(10f);
+            table.setSpacingAfter(10f);
+            table.setHeaderRows(1);
 
-            // Add headers
-            addTableHeader(table, new String[]{"ID", "Name", "Type", "Hourly Rate (RWF)", "Status"});
+            addTableHeader(table, report.getHeaders());
 
-            // Add data rows
             boolean alternateRow = false;
-            for (GamingStation station : stations) {
-                addTableCell(table, String.valueOf(station.getStationId()), alternateRow);
-                addTableCell(table, station.getStationName(), alternateRow);
-                addTableCell(table, station.getStationType().toString(), alternateRow);
-                addTableCell(table, station.getHourlyRate().toString(), alternateRow);
-                addTableCell(table, station.getStatus().toString().replace("_", " "), alternateRow);
+            for (Object[] row : report.getRows()) {
+                for (Object value : row) {
+                    addTableCell(table, value != null ? value.toString() : "", alternateRow);
+                }
                 alternateRow = !alternateRow;
             }
 
             document.add(table);
 
-            // Statistics
-            document.add(new Paragraph(" "));
-            Paragraph stats = new Paragraph("Station Statistics:", new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD));
-            stats.setSpacingBefore(20);
-            document.add(stats);
-            
-            long availableStations = stations.stream()
-                .filter(s -> s.getStatus() == StationStatus.AVAILABLE)
-                .count();
-            
-            document.add(new Paragraph("Available Stations: " + availableStations, NORMAL_FONT));
-            document.add(new Paragraph("Occupied Stations: " + 
-                stations.stream().filter(s -> s.getStatus() == StationStatus.OCCUPIED).count(), NORMAL_FONT));
+            // Summary
+            for (String line : report.getSummary()) {
+                document.add(new Paragraph(line, NORMAL_FONT));
+            }
 
             document.close();
-            logger.info("Station PDF report generated successfully");
+            logger.info("{} PDF report generated successfully", report.getTitle());
             return baos.toByteArray();
 
         } catch (Exception e) {
-            logger.error("Error generating station PDF report", e);
+            logger.error("Error generating {} PDF report", report.getTitle(), e);
             return null;
         }
     }
 
     // Helper methods
+
+    /**
+     * Feed rows into an incomplete table, flushing it to the document every
+     * STREAM_FRAGMENT_ROWS rows, then complete it
+     * @return number of rows written
+     */
+    private static <T> long streamRows(Document document, PdfPTable table, RowSource<T> rows,
+                                       Consumer<T> addRow) throws DocumentException {
+        long[] count = {0};
+        try {
+            rows.forEach(row -> {
+                addRow.accept(row);
+                if (++count[0] % STREAM_FRAGMENT_ROWS == 0) {
+                    try {
+                        document.add(table);
+                    } catch (DocumentException e) {
+                        throw new ExceptionConverter(e);
+                    }
+                }
+            });
+        } catch (ExceptionConverter e) {
+            if (e.getException() instanceof DocumentException de) {
+                throw de;
+            }
+            throw e;
+        }
+        table.setComplete(true);
+        document.add(table);
+        return count[0];
+    }
+
+    private static void addTitle(Document document, String text, String subtitle) throws DocumentException {
+        Paragraph title = new Paragraph(text, TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(subtitle != null ? 5 : 20);
+        document.add(title);
+
+        if (subtitle != null) {
+            Paragraph filter = new Paragraph(subtitle, NORMAL_FONT);
+            filter.setAlignment(Element.ALIGN_CENTER);
+            filter.setSpacingAfter(15);
+            document.add(filter);
+        }
+
+        // Generated date
+        Paragraph date = new Paragraph(
+            "Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+            NORMAL_FONT
+        );
+        date.setAlignment(Element.ALIGN_RIGHT);
+        date.setSpacingAfter(20);
+        document.add(date);
+    }
+
+    private static void addStatisticsHeading(Document document) throws DocumentException {
+        document.add(new Paragraph(" "));
+        Paragraph stats = new Paragraph("Report Statistics:", new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD));
+        stats.setSpacingBefore(20);
+        document.add(stats);
+    }
+
     private static void addTableHeader(PdfPTable table, String[] headers) {
         for (String header : headers) {
             PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
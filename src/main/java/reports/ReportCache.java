@@ -0,0 +1,157 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ReportCache - On-disk cache of rendered reports, evicted LRU by total size
+ *
+ * Keys already contain the data versions the report was built from, so
+ * entries never need invalidating; stale ones simply stop being asked for
+ * and age out. Data versions do not survive a restart, so files left by a
+ * previous run are removed on start-up.
+ */
+public final class ReportCache {
+    private static final Logger logger = LoggerFactory.getLogger(ReportCache.class);
+
+    private static final String SUFFIX = ".report";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private record Entry(Path path, long size) {}
+
+    public ReportCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stale) {
+                Files.deleteIfExists(path);
+            }
+        }
+        MetricsRegistry.gauge("reports.cache.bytes", this::getTotalBytes);
+        logger.info("Report cache at {} (max {} MB)", directory, maxBytes / (1024 * 1024));
+    }
+
+    /**
+     * Cache in gamingcenter.reports.cacheDir (default: temp dir), capped at
+     * gamingcenter.reports.cacheMaxMb megabytes (default 256)
+     */
+    public static ReportCache fromSystemProperties() throws IOException {
+        Path directory = Paths.get(System.getProperty("gamingcenter.reports.cacheDir",
+                Paths.get(System.getProperty("java.io.tmpdir"), "gamingcenter-reports").toString()));
+        long maxMb = Long.getLong("gamingcenter.reports.cacheMaxMb", 256);
+        return new ReportCache(directory, maxMb * 1024 * 1024);
+    }
+
+    /**
+     * @return the cached file, or null if absent
+     */
+    public synchronized Path get(String key) {
+        Entry entry = entries.get(key);
+        MetricsRegistry.counter(entry != null ? "reports.cache.hits" : "reports.cache.misses").increment();
+        return entry != null ? entry.path() : null;
+    }
+
+    /**
+     * Writes a report body; used to render straight into the cache file
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Store a rendered report, evicting least recently used entries as needed
+     */
+    public Path put(String key, byte[] data) throws IOException {
+        return put(key, out -> out.write(data));
+    }
+
+    /**
+     * Render a report directly into the cache, without holding it in memory.
+     * Nothing is cached if the content fails part way.
+     */
+    public Path put(String key, Content content) throws IOException {
+        Path path = directory.resolve(fileName(key));
+        long size;
+        // Write outside the lock; the rename makes the file appear complete
+        Path temp = Files.createTempFile(directory, "tmp-", ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                content.writeTo(out);
+            }
+            size = Files.size(temp);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(path, size));
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += size;
+            evict(key);
+        }
+        return path;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue().size();
+            MetricsRegistry.counter("reports.cache.evictions").increment();
+            try {
+                Files.deleteIfExists(eldest.getValue().path());
+            } catch (IOException e) {
+                logger.warn("Could not delete evicted report {}: {}", eldest.getValue().path(), e.getMessage());
+            }
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
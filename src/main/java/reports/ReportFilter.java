@@ -0,0 +1,181 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import model.BookingStatus;
+import model.PaymentMethod;
+import utils.DateTimeRange;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ReportFilter - Parsed and validated report parameters
+ *
+ * Parameters (all optional):
+ * <ul>
+ *   <li>from, to - first and last day, yyyy-MM-dd, both inclusive, given together</li>
+ *   <li>stationId - a single gaming station</li>
+ *   <li>status - booking status</li>
+ *   <li>paymentMethod - transaction payment method</li>
+ * </ul>
+ * Each report type accepts only the parameters that apply to it.
+ */
+public final class ReportFilter {
+
+    public static final String FROM = "from";
+    public static final String TO = "to";
+    public static final String STATION_ID = "stationId";
+    public static final String STATUS = "status";
+    public static final String PAYMENT_METHOD = "paymentMethod";
+
+    private static final ReportFilter NONE = new ReportFilter(null, null, null, null);
+
+    private final DateTimeRange range;
+    private final Long stationId;
+    private final BookingStatus status;
+    private final PaymentMethod paymentMethod;
+
+    private ReportFilter(DateTimeRange range, Long stationId, BookingStatus status, PaymentMethod paymentMethod) {
+        this.range = range;
+        this.stationId = stationId;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public static ReportFilter none() {
+        return NONE;
+    }
+
+    /**
+     * Parameters a report type accepts
+     */
+    public static Set<String> supportedParams(String type) {
+        return switch (type) {
+            case "BOOKINGS" -> Set.of(FROM, TO, STATION_ID, STATUS);
+            case "REVENUE", "DAILY_REVENUE" -> Set.of(FROM, TO, PAYMENT_METHOD);
+            case "STATION_UTILIZATION", "PEAK_HOURS" -> Set.of(FROM, TO, STATION_ID);
+            default -> Set.of();
+        };
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown, inapplicable or malformed parameters
+     */
+    public static ReportFilter parse(String type, Map<String, String> params) {
+        if (params == null || params.isEmpty()) {
+            return NONE;
+        }
+        Set<String> supported = supportedParams(type);
+        for (String name : params.keySet()) {
+            if (!supported.contains(name)) {
+                throw new IllegalArgumentException("Parameter '" + name + "' is not supported by " + type + " reports");
+            }
+        }
+
+        DateTimeRange range = null;
+        String from = params.get(FROM);
+        String to = params.get(TO);
+        if (from != null || to != null) {
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Parameters 'from' and 'to' must be given together");
+            }
+            LocalDate firstDay = parseDate(FROM, from);
+            LocalDate lastDay = parseDate(TO, to);
+            if (lastDay.isBefore(firstDay)) {
+                throw new IllegalArgumentException("'to' must not be before 'from'");
+            }
+            range = DateTimeRange.ofDays(firstDay, lastDay);
+        }
+
+        Long stationId = null;
+        if (params.containsKey(STATION_ID)) {
+            try {
+                stationId = Long.valueOf(params.get(STATION_ID).trim());
+            } catch (NumberFormatException | NullPointerException e) {
+                throw new IllegalArgumentException("Invalid stationId: " + params.get(STATION_ID));
+            }
+        }
+
+        return new ReportFilter(range, stationId,
+                parseEnum(BookingStatus.class, STATUS, params.get(STATUS)),
+                parseEnum(PaymentMethod.class, PAYMENT_METHOD, params.get(PAYMENT_METHOD)));
+    }
+
+    /**
+     * Null when the report is not limited to a period
+     */
+    public DateTimeRange getRange() {
+        return range;
+    }
+
+    public Long getStationId() {
+        return stationId;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    /**
+     * Canonical parameter form, so equivalent requests share a cache entry
+     */
+    public Map<String, String> toParams() {
+        Map<String, String> params = new TreeMap<>();
+        if (range != null) {
+            params.put(FROM, range.getStartDate().toString());
+            params.put(TO, range.getEndDateExclusive().minusDays(1).toString());
+        }
+        if (stationId != null) params.put(STATION_ID, stationId.toString());
+        if (status != null) params.put(STATUS, status.name());
+        if (paymentMethod != null) params.put(PAYMENT_METHOD, paymentMethod.name());
+        return params;
+    }
+
+    /**
+     * Human readable summary for report headings, e.g. "2025-01-01 to 2025-01-31, station 3"
+     */
+    public String describe() {
+        List<String> parts = new ArrayList<>();
+        parts.add(range != null
+                ? range.getStartDate() + " to " + range.getEndDateExclusive().minusDays(1)
+                : "All time");
+        if (stationId != null) parts.add("station " + stationId);
+        if (status != null) parts.add("status " + status);
+        if (paymentMethod != null) parts.add("paid by " + paymentMethod.getDisplayName());
+        return String.join(", ", parts);
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid '" + name + "' date (expected yyyy-MM-dd): " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumType, String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+/**
+ *
+ * @author Odeth
+ */
+public enum ReportFormat {
+    PDF,
+    EXCEL,
+    CSV,
+    // Typed, compressed column file for analytics (see ColumnarWriter)
+    COLUMNAR;
+
+    /**
+     * Parse a client-supplied format name ("pdf", "excel"/"xlsx", "csv", "columnar")
+     */
+    public static ReportFormat parse(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Report format is required");
+        }
+        String name = format.trim().toUpperCase();
+        if (name.equals("XLSX")) {
+            return EXCEL;
+        }
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format: " + format);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import dao.BookingDAO;
+import dao.CustomerDAO;
+import dao.GamingStationDAO;
+import dao.RollupDAO;
+import dao.TransactionDAO;
+import com.itextpdf.text.DocumentException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import model.Booking;
+import model.Customer;
+import model.DailyRevenueRollup;
+import model.GamingStation;
+import model.StationDailyRollup;
+import model.Transaction;
+import model.TransactionType;
+import model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ReportGenerator - Loads report data and renders it with the exporters
+ *
+ * Filters are pushed down into the queries; the aggregate report types
+ * (DAILY_REVENUE, STATION_UTILIZATION, PEAK_HOURS) only fetch grouped rows.
+ * DAILY_REVENUE and STATION_UTILIZATION read the daily rollups once those
+ * are backfilled, so they may trail the latest writes by a few seconds.
+ */
+public class ReportGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(ReportGenerator.class);
+
+    public static final Set<String> REPORT_TYPES = Set.of("CUSTOMERS", "BOOKINGS", "REVENUE", "STATIONS",
+            "DAILY_REVENUE", "STATION_UTILIZATION", "PEAK_HOURS");
+
+    // Transaction types counted as revenue, as on the dashboard
+    private static final List<TransactionType> REVENUE_TYPES =
+            List.of(TransactionType.BOOKING_PAYMENT, TransactionType.TOURNAMENT_FEE);
+
+    private final CustomerDAO customerDAO;
+    private final BookingDAO bookingDAO;
+    private final TransactionDAO transactionDAO;
+    private final GamingStationDAO stationDAO;
+    private final RollupDAO rollupDAO;
+    private final RollupService rollups;
+
+    public ReportGenerator(CustomerDAO customerDAO, BookingDAO bookingDAO, TransactionDAO transactionDAO,
+                           GamingStationDAO stationDAO, RollupDAO rollupDAO, RollupService rollups) {
+        this.customerDAO = customerDAO;
+        this.bookingDAO = bookingDAO;
+        this.transactionDAO = transactionDAO;
+        this.stationDAO = stationDAO;
+        this.rollupDAO = rollupDAO;
+        this.rollups = rollups;
+    }
+
+    /**
+     * Normalise and validate a report type name
+     */
+    public static String normalizeType(String reportType) {
+        String type = reportType != null ? reportType.trim().toUpperCase() : "";
+        if (!REPORT_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unknown report type: " + reportType);
+        }
+        return type;
+    }
+
+    /**
+     * Entity classes whose contents a report is built from
+     */
+    public static Class<?>[] dependencies(String type) {
+        return switch (type) {
+            case "CUSTOMERS" -> new Class<?>[] {Customer.class, User.class};
+            case "BOOKINGS" -> new Class<?>[] {Booking.class, Customer.class, GamingStation.class};
+            case "REVENUE" -> new Class<?>[] {Transaction.class, Customer.class};
+            case "STATIONS" -> new Class<?>[] {GamingStation.class};
+            // Raw tables while the rollups are being backfilled, rollups after
+            case "DAILY_REVENUE" -> new Class<?>[] {Transaction.class, DailyRevenueRollup.class};
+            case "STATION_UTILIZATION" -> new Class<?>[] {Booking.class, GamingStation.class, StationDailyRollup.class};
+            case "PEAK_HOURS" -> new Class<?>[] {Booking.class};
+            default -> throw new IllegalArgumentException("Unknown report type: " + type);
+        };
+    }
+
+    /**
+     * Render a report
+     * @param type normalised report type
+     * @return the artifact; CSV is UTF-8 encoded
+     */
+    public byte[] generate(String type, ReportFormat format, ReportFilter filter) {
+        checkFormat(type, format);
+        if (format == ReportFormat.COLUMNAR) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                writeColumnar(type, filter, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+        logger.info("Generating {} report: {} ({})", format, type, filter.describe());
+        ReportTable table = switch (type) {
+            case "DAILY_REVENUE" -> dailyRevenue(filter);
+            case "STATION_UTILIZATION" -> stationUtilization(filter);
+            case "PEAK_HOURS" -> peakHours(filter);
+            default -> null;
+        };
+        byte[] result = table != null ? render(table, format) : switch (format) {
+            case PDF -> switch (type) {
+                case "CUSTOMERS" -> PDFExporter.generateCustomerReport(customerDAO.findAll());
+                case "BOOKINGS" -> PDFExporter.generateBookingReport(bookings(filter));
+                case "REVENUE" -> PDFExporter.generateRevenueReport(transactions(filter));
+                case "STATIONS" -> PDFExporter.generateStationReport(stationDAO.findAll());
+                default -> throw new IllegalArgumentException("Unknown report type: " + type);
+            };
+            case EXCEL -> switch (type) {
+                case "CUSTOMERS" -> ExcelExporter.generateCustomerReport(customerDAO.findAll());
+                case "BOOKINGS" -> ExcelExporter.generateBookingReport(bookings(filter));
+                case "REVENUE" -> ExcelExporter.generateRevenueReport(transactions(filter));
+                case "STATIONS" -> ExcelExporter.generateStationReport(stationDAO.findAll());
+                default -> throw new IllegalArgumentException("Unknown report type: " + type);
+            };
+            case CSV -> utf8(switch (type) {
+                case "CUSTOMERS" -> CSVExporter.generateCustomerReport(customerDAO.findAll());
+                case "BOOKINGS" -> CSVExporter.generateBookingReport(bookings(filter));
+                case "REVENUE" -> CSVExporter.generateRevenueReport(transactions(filter));
+                case "STATIONS" -> CSVExporter.generateStationReport(stationDAO.findAll());
+                default -> throw new IllegalArgumentException("Unknown report type: " + type);
+            });
+            case COLUMNAR -> throw new IllegalStateException("Columnar reports are written by writeColumnar");
+        };
+        // The exporters log and return null on failure
+        if (result == null) {
+            throw new IllegalStateException("Failed to render " + format + " report: " + type);
+        }
+        return result;
+    }
+
+    /**
+     * Render a report into a stream. Large row-level PDFs (BOOKINGS, REVENUE)
+     * are streamed from a database cursor page by page; other reports are
+     * rendered in memory and then copied out.
+     */
+    public void writeTo(String type, ReportFormat format, ReportFilter filter, OutputStream out) throws IOException {
+        if (format == ReportFormat.COLUMNAR) {
+            checkFormat(type, format);
+            writeColumnar(type, filter, out);
+            return;
+        }
+        if (format != ReportFormat.PDF || !(type.equals("BOOKINGS") || type.equals("REVENUE"))) {
+            out.write(generate(type, format, filter));
+            return;
+        }
+        logger.info("Streaming PDF report: {} ({})", type, filter.describe());
+        try {
+            if (type.equals("BOOKINGS")) {
+                PDFExporter.writeBookingReport(out, filter.describe(), consumer -> bookingDAO.streamForReport(
+                        filter.getRange(), filter.getStationId(), filter.getStatus(), consumer));
+            } else {
+                PDFExporter.writeRevenueReport(out, filter.describe(), consumer -> transactionDAO.streamForReport(
+                        filter.getRange(), filter.getPaymentMethod(), consumer));
+            }
+        } catch (DocumentException e) {
+            throw new IOException("Failed to render PDF report: " + type, e);
+        }
+    }
+
+    /**
+     * Reject format/type combinations that cannot be produced
+     */
+    public static void checkFormat(String type, ReportFormat format) {
+        if (format == ReportFormat.COLUMNAR && !(type.equals("BOOKINGS") || type.equals("REVENUE"))) {
+            throw new IllegalArgumentException("Columnar export is only available for BOOKINGS and REVENUE");
+        }
+    }
+
+    /**
+     * Analytics extract: rows streamed from a database cursor straight into
+     * a ColumnarWriter, one row group in memory at a time
+     */
+    private void writeColumnar(String type, ReportFilter filter, OutputStream out) throws IOException {
+        logger.info("Writing columnar extract: {} ({})", type, filter.describe());
+        try {
+            if (type.equals("BOOKINGS")) {
+                try (ColumnarWriter<Booking> writer = new ColumnarWriter<>(out, ColumnarExports.BOOKINGS)) {
+                    bookingDAO.streamForReport(filter.getRange(), filter.getStationId(), filter.getStatus(),
+                            booking -> writeRow(writer, booking));
+                }
+            } else {
+                try (ColumnarWriter<Transaction> writer = new ColumnarWriter<>(out, ColumnarExports.TRANSACTIONS)) {
+                    transactionDAO.streamForReport(filter.getRange(), filter.getPaymentMethod(),
+                            transaction -> writeRow(writer, transaction));
+                }
+            }
+        } catch (RuntimeException e) {
+            // streamQuery wraps failures from the consumer
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static <T> void writeRow(ColumnarWriter<T> writer, T row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Booking> bookings(ReportFilter filter) {
+        return filter == ReportFilter.none()
+                ? bookingDAO.findAll(Booking.GRAPH_REPORT)
+                : bookingDAO.findForReport(filter.getRange(), filter.getStationId(), filter.getStatus());
+    }
+
+    private List<Transaction> transactions(ReportFilter filter) {
+        return filter == ReportFilter.none()
+                ? transactionDAO.findAll(Transaction.GRAPH_REPORT)
+                : transactionDAO.findForReport(filter.getRange(), filter.getPaymentMethod());
+    }
+
+    private ReportTable dailyRevenue(ReportFilter filter) {
+        ReportTable table = new ReportTable("Daily Revenue", filter.describe(),
+                "Date", "Transactions", "Revenue (RWF)");
+        BigDecimal total = BigDecimal.ZERO;
+        long transactions = 0;
+        List<Object[]> rows = rollups.isReady()
+                ? rollupDAO.sumAmountByDay(filter.getRange(), filter.getPaymentMethod(), REVENUE_TYPES)
+                : transactionDAO.sumAmountByDay(filter.getRange(), filter.getPaymentMethod(), REVENUE_TYPES);
+        for (Object[] row : rows) {
+            BigDecimal amount = decimal(row[2]);
+            table.addRow(row[0], row[1], amount);
+            total = total.add(amount);
+            transactions += ((Number) row[1]).longValue();
+        }
+        long days = filter.getRange() != null ? filter.getRange().getDays() : rows.size();
+        table.addSummary("Total Revenue: " + total + " RWF from " + transactions + " transactions");
+        if (days > 0) {
+            table.addSummary("Average per Day: "
+                    + total.divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP) + " RWF over " + days + " day(s)");
+        }
+        return table;
+    }
+
+    private ReportTable stationUtilization(ReportFilter filter) {
+        ReportTable table = new ReportTable("Station Utilization", filter.describe(),
+                "ID", "Station", "Type", "Bookings", "Booked Hours", "Revenue (RWF)", "Utilization (% of 24h)");
+        // Capacity is only meaningful for a bounded period
+        BigDecimal capacityHours = filter.getRange() != null
+                ? BigDecimal.valueOf(filter.getRange().getDays() * 24L) : null;
+        BigDecimal totalHours = BigDecimal.ZERO;
+        List<Object[]> rows = rollups.isReady()
+                ? rollupDAO.sumUsageByStation(filter.getRange(), filter.getStationId())
+                : bookingDAO.sumUsageByStation(filter.getRange(), filter.getStationId());
+        for (Object[] row : rows) {
+            BigDecimal hours = decimal(row[4]);
+            totalHours = totalHours.add(hours);
+            table.addRow(row[0], row[1], row[2], row[3], hours, decimal(row[5]),
+                    capacityHours != null ? percent(hours, capacityHours) : "N/A");
+        }
+        table.addSummary("Total Booked Hours: " + totalHours);
+        return table;
+    }
+
+    private ReportTable peakHours(ReportFilter filter) {
+        ReportTable table = new ReportTable("Peak Hours", filter.describe(),
+                "Hour", "Bookings", "Booked Hours", "Share of Bookings (%)");
+        List<Object[]> rows = bookingDAO.countByStartHour(filter.getRange(), filter.getStationId());
+        long totalBookings = rows.stream().mapToLong(row -> ((Number) row[1]).longValue()).sum();
+        Object[] busiest = null;
+        for (Object[] row : rows) {
+            int hour = ((Number) row[0]).intValue();
+            long count = ((Number) row[1]).longValue();
+            table.addRow(String.format("%02d:00-%02d:00", hour, (hour + 1) % 24), count, row[2],
+                    percent(BigDecimal.valueOf(count), BigDecimal.valueOf(totalBookings)));
+            if (busiest == null || count > ((Number) busiest[1]).longValue()) {
+                busiest = row;
+            }
+        }
+        if (busiest != null) {
+            table.addSummary(String.format("Busiest Hour: %02d:00 (%d bookings)",
+                    ((Number) busiest[0]).intValue(), ((Number) busiest[1]).longValue()));
+        }
+        return table;
+    }
+
+    // Aggregates may come back as any numeric type depending on the dialect
+    private static BigDecimal decimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private static BigDecimal percent(BigDecimal part, BigDecimal whole) {
+        return whole.signum() == 0 ? BigDecimal.ZERO
+                : part.multiply(BigDecimal.valueOf(100)).divide(whole, 1, RoundingMode.HALF_UP);
+    }
+
+    private static byte[] render(ReportTable table, ReportFormat format) {
+        return switch (format) {
+            case PDF -> PDFExporter.generateTableReport(table);
+            case EXCEL -> ExcelExporter.generateTableReport(table);
+            case CSV -> utf8(CSVExporter.generateTableReport(table));
+            case COLUMNAR -> throw new IllegalArgumentException("Columnar export is not available for " + table.getTitle());
+        };
+    }
+
+    private static byte[] utf8(String csv) {
+        return csv != null ? csv.getBytes(StandardCharsets.UTF_8) : null;
+    }
+}
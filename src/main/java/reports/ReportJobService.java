@@ -0,0 +1,256 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import dao.DataVersion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.ReportJobState;
+import model.ReportJobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ReportJobService - Generates reports in the background and serves them in chunks
+ *
+ * A submitted report is looked up in the ReportCache first and completes at
+ * once on a hit. Otherwise it is queued on a small bounded pool; concurrent
+ * submissions of the same report share one job. Clients poll the job status
+ * and then download the artifact with fetchChunk.
+ */
+public class ReportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    public static final int MAX_CHUNK_SIZE = 1024 * 1024;
+    private static final long JOB_TTL_MINUTES = 60;
+
+    private final ReportGenerator generator;
+    private final ReportCache cache;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> inFlight = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportGenerator generator, ReportCache cache) {
+        this.generator = generator;
+        this.cache = cache;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), r -> {
+                    Thread thread = new Thread(r, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        MetricsRegistry.gauge("reports.jobs.queued", () -> executor.getQueue().size());
+    }
+
+    /**
+     * Submit a report job
+     * @return job ID for getStatus/fetchChunk
+     * @param params report parameters, see ReportFilter
+     * @throws IllegalArgumentException for an unknown type, format or parameter
+     * @throws IllegalStateException when the job queue is full
+     */
+    public String submit(String reportType, String format, Map<String, String> params) {
+        purgeExpiredJobs();
+        String type = ReportGenerator.normalizeType(reportType);
+        ReportFormat reportFormat = ReportFormat.parse(format);
+        ReportGenerator.checkFormat(type, reportFormat);
+        ReportFilter filter = ReportFilter.parse(type, params);
+        String key = cacheKey(type, reportFormat, filter);
+
+        Job job = new Job(type, reportFormat, filter, key);
+        Path cached = cache.get(key);
+        if (cached != null) {
+            job.complete(cached, true);
+            jobs.put(job.id, job);
+            return job.id;
+        }
+
+        Job existing = inFlight.putIfAbsent(key, job);
+        if (existing != null) {
+            return existing.id;
+        }
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, job);
+            jobs.remove(job.id);
+            MetricsRegistry.counter("reports.jobs.rejected").increment();
+            throw new IllegalStateException("Report queue is full, please retry later");
+        }
+        MetricsRegistry.counter("reports.jobs.submitted").increment();
+        return job.id;
+    }
+
+    /**
+     * Generate synchronously on the caller's thread, going through the cache
+     */
+    public byte[] generateNow(String reportType, ReportFormat format, Map<String, String> params) throws IOException {
+        String type = ReportGenerator.normalizeType(reportType);
+        ReportFilter filter = ReportFilter.parse(type, params);
+        String key = cacheKey(type, format, filter);
+        Path cached = cache.get(key);
+        if (cached != null) {
+            try {
+                return Files.readAllBytes(cached);
+            } catch (NoSuchFileException e) {
+                // Evicted between lookup and read - regenerate below
+            }
+        }
+        Path path = cache.put(key, out -> generator.writeTo(type, format, filter, out));
+        return Files.readAllBytes(path);
+    }
+
+    /**
+     * @return job status, or null if the job is unknown or expired
+     */
+    public ReportJobStatus getStatus(String jobId) {
+        Job job = jobId != null ? jobs.get(jobId) : null;
+        return job != null ? job.toStatus() : null;
+    }
+
+    /**
+     * Read part of a finished report
+     * @return up to length bytes from offset; empty at end of file
+     */
+    public byte[] fetchChunk(String jobId, long offset, int length) throws IOException {
+        Job job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown or expired report job: " + jobId);
+        }
+        if (job.state != ReportJobState.COMPLETED) {
+            throw new IllegalStateException("Report job is " + job.state);
+        }
+        if (offset < 0 || length <= 0) {
+            throw new IllegalArgumentException("Invalid chunk range");
+        }
+        Path path = cache.get(job.key);
+        if (path == null) {
+            throw new IllegalStateException("Report has been evicted from the cache, please resubmit");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(0,
+                    Math.min(Math.min(length, MAX_CHUNK_SIZE), channel.size() - offset)));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Report has been evicted from the cache, please resubmit");
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.state = ReportJobState.RUNNING;
+        try {
+            Path path = cache.put(job.key, out -> generator.writeTo(job.type, job.format, job.filter, out));
+            job.complete(path, false);
+            logger.info("Report job {} completed ({} bytes)", job.id, job.sizeBytes);
+        } catch (Exception e) {
+            MetricsRegistry.counter("reports.jobs.failed").increment();
+            logger.error("Report job {} failed: {}", job.id, e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            inFlight.remove(job.key, job);
+        }
+    }
+
+    /**
+     * Type, format, parameters and the version of every table the report reads
+     */
+    private static String cacheKey(String type, ReportFormat format, ReportFilter filter) {
+        StringJoiner key = new StringJoiner("|");
+        key.add(type).add(format.name()).add(filter.toParams().toString());
+        for (Class<?> entityClass : ReportGenerator.dependencies(type)) {
+            key.add(entityClass.getSimpleName() + "@" + DataVersion.get(entityClass));
+        }
+        return key.toString();
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(JOB_TTL_MINUTES);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final String type;
+        final ReportFormat format;
+        final ReportFilter filter;
+        final String key;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        volatile ReportJobState state = ReportJobState.QUEUED;
+        volatile LocalDateTime completedAt;
+        volatile long sizeBytes;
+        volatile boolean fromCache;
+        volatile String errorMessage;
+
+        Job(String type, ReportFormat format, ReportFilter filter, String key) {
+            this.type = type;
+            this.format = format;
+            this.filter = filter;
+            this.key = key;
+        }
+
+        void complete(Path path, boolean cached) {
+            try {
+                sizeBytes = Files.size(path);
+            } catch (IOException e) {
+                sizeBytes = 0;
+            }
+            fromCache = cached;
+            completedAt = LocalDateTime.now();
+            state = ReportJobState.COMPLETED;
+        }
+
+        void fail(String message) {
+            errorMessage = message;
+            completedAt = LocalDateTime.now();
+            state = ReportJobState.FAILED;
+        }
+
+        ReportJobStatus toStatus() {
+            ReportJobStatus status = new ReportJobStatus();
+            status.setJobId(id);
+            status.setReportType(type);
+            status.setFormat(format.name());
+            status.setState(state);
+            status.setSizeBytes(sizeBytes);
+            status.setFromCache(fromCache);
+            status.setErrorMessage(errorMessage);
+            status.setSubmittedAt(submittedAt);
+            status.setCompletedAt(completedAt);
+            return status;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * ReportTable - Title, column headers and rows of an aggregate report
+ *
+ * Rendered the same way by the PDF, Excel and CSV exporters. Cell values
+ * are kept as objects so Excel can store numbers as numbers.
+ */
+public class ReportTable {
+    private final String title;
+    private final String subtitle;
+    private final String[] headers;
+    private final List<Object[]> rows = new ArrayList<>();
+    private final List<String> summary = new ArrayList<>();
+
+    public ReportTable(String title, String subtitle, String... headers) {
+        this.title = title;
+        this.subtitle = subtitle;
+        this.headers = headers;
+    }
+
+    public ReportTable addRow(Object... values) {
+        if (values.length != headers.length) {
+            throw new IllegalArgumentException("Expected " + headers.length + " values, got " + values.length);
+        }
+        rows.add(values);
+        return this;
+    }
+
+    /**
+     * Add a summary line shown below the table
+     */
+    public ReportTable addSummary(String line) {
+        summary.add(line);
+        return this;
+    }
+
+    public String getTitle() { return title; }
+    public String getSubtitle() { return subtitle; }
+    public String[] getHeaders() { return headers; }
+    public List<Object[]> getRows() { return rows; }
+    public List<String> getSummary() { return summary; }
+}
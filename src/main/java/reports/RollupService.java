@@ -0,0 +1,196 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import dao.RollupDAO;
+import dao.RollupDAO.StationDay;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.DateTimeRange;
+import utils.MetricsRegistry;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * RollupService - Keeps the daily station and revenue rollups current
+ *
+ * Writes only mark the station days and revenue days they touched; a
+ * background thread recomputes the marked days every few seconds, so a burst
+ * of writes to the same day costs one refresh. On first start (empty rollup
+ * tables) all history is backfilled in monthly chunks; otherwise days marked
+ * before start() are recomputed first. Until that has finished isReady() is
+ * false and readers should use the raw tables.
+ */
+public class RollupService {
+    private static final Logger logger = LoggerFactory.getLogger(RollupService.class);
+
+    private static final String PREFIX = "gamingcenter.rollups.";
+    private static final int BACKFILL_CHUNK_DAYS = 31;
+
+    private final RollupDAO rollupDAO;
+    private final long flushIntervalMs;
+    private final Set<StationDay> dirtyStationDays = ConcurrentHashMap.newKeySet();
+    private final Set<LocalDate> dirtyRevenueDays = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+    // Serialises refreshes and rebuilds so they apply in order
+    private final Object refreshLock = new Object();
+    private volatile boolean ready;
+
+    public RollupService(RollupDAO rollupDAO) {
+        this(rollupDAO, Long.getLong(PREFIX + "flushIntervalMs", 3000));
+    }
+
+    public RollupService(RollupDAO rollupDAO, long flushIntervalMs) {
+        this.rollupDAO = rollupDAO;
+        this.flushIntervalMs = flushIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rollup-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.gauge("rollups.pending", () -> dirtyStationDays.size() + dirtyRevenueDays.size());
+    }
+
+    /**
+     * Start the background refresh, backfilling first if the rollups are
+     * empty and otherwise recomputing the days already marked
+     */
+    public void start() {
+        scheduler.execute(() -> {
+            try {
+                if (rollupDAO.isEmpty()) {
+                    logger.info("Rollup tables are empty, backfilling from bookings and transactions");
+                    rebuild(null, null);
+                } else {
+                    flush();
+                }
+                ready = true;
+            } catch (Exception e) {
+                logger.error("Rollup backfill failed, reports keep using raw tables: {}", e.getMessage(), e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether the rollups cover all history and can replace raw-table aggregates
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Record a committed booking write on a station day
+     */
+    public void bookingChanged(Long stationId, LocalDate bookingDate) {
+        if (stationId != null && bookingDate != null) {
+            dirtyStationDays.add(new StationDay(stationId, bookingDate));
+        }
+    }
+
+    /**
+     * Record a committed transaction write
+     */
+    public void transactionChanged(LocalDateTime transactionDate) {
+        dirtyRevenueDays.add(transactionDate != null ? transactionDate.toLocalDate() : LocalDate.now());
+    }
+
+    /**
+     * Recompute all rollups of a period from the raw tables
+     * @param from first day, or null together with to for all history
+     * @param to last day (inclusive)
+     * @return number of rollup rows written
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        DateTimeRange range = from != null && to != null ? DateTimeRange.ofDays(from, to) : rollupDAO.findSourceRange();
+        if (range == null) {
+            return 0;
+        }
+        int written = 0;
+        LocalDate chunkStart = range.getStartDate();
+        while (chunkStart.isBefore(range.getEndDateExclusive())) {
+            LocalDate chunkEnd = chunkStart.plusDays(BACKFILL_CHUNK_DAYS);
+            if (chunkEnd.isAfter(range.getEndDateExclusive())) {
+                chunkEnd = range.getEndDateExclusive();
+            }
+            synchronized (refreshLock) {
+                written += rollupDAO.rebuild(DateTimeRange.ofDays(chunkStart, chunkEnd.minusDays(1)));
+            }
+            chunkStart = chunkEnd;
+        }
+        MetricsRegistry.counter("rollups.rebuiltRows").add(written);
+        logger.info("Rebuilt {} rollup row(s) for {}", written, range);
+        return written;
+    }
+
+    /**
+     * Recompute every marked day now
+     */
+    public void flush() {
+        List<StationDay> stationDays = drain(dirtyStationDays);
+        List<LocalDate> revenueDays = drain(dirtyRevenueDays);
+        if (stationDays.isEmpty() && revenueDays.isEmpty()) {
+            return;
+        }
+        synchronized (refreshLock) {
+            try {
+                rollupDAO.refreshStationDays(stationDays);
+            } catch (RuntimeException e) {
+                dirtyStationDays.addAll(stationDays);
+                throw e;
+            }
+            try {
+                rollupDAO.refreshRevenueDays(revenueDays);
+            } catch (RuntimeException e) {
+                dirtyRevenueDays.addAll(revenueDays);
+                throw e;
+            }
+        }
+        MetricsRegistry.counter("rollups.refreshedDays").add(stationDays.size() + revenueDays.size());
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Pending rollup refreshes lost at shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Marks were put back; the next run retries them
+            MetricsRegistry.counter("rollups.failed").increment();
+            logger.error("Rollup refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private static <T> List<T> drain(Set<T> marks) {
+        List<T> drained = new ArrayList<>();
+        for (Iterator<T> it = marks.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+}
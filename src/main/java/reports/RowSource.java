@@ -0,0 +1,34 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ *
+ * @author Odeth
+ */
+ /**
+ * RowSource - Pushes report rows to a consumer one at a time
+ *
+ * Matches the DAO stream methods (e.g. bookingDAO::streamByRange), so an
+ * exporter can render straight from a database cursor without a list.
+ */
+@FunctionalInterface
+public interface RowSource<T> {
+
+    /**
+     * @return number of rows delivered
+     */
+    long forEach(Consumer<? super T> consumer);
+
+    static <T> RowSource<T> of(List<T> rows) {
+        return consumer -> {
+            rows.forEach(consumer);
+            return rows.size();
+        };
+    }
+}
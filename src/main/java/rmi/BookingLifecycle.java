@@ -0,0 +1,299 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.BookingDAO;
+import model.BookingStatus;
+import model.StationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+import utils.TimerWheel;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingLifecycle - Moves today's bookings on as their times come
+ *
+ * Each pending, confirmed or ongoing booking of the day gets two timers on
+ * a hierarchical TimerWheel:
+ *   start   CONFIRMED -&gt; ONGOING, station OCCUPIED
+ *   end     ONGOING -&gt; COMPLETED, station AVAILABLE unless the next
+ *           booking on it is already ongoing
+ * A booking is CONFIRMED once it is paid, which every booking created on
+ * the server is; paid bookings saved PENDING before that rule are confirmed
+ * at startup (BookingDAO.confirmPaidPending). A PENDING booking is never
+ * started, and is dropped once its end passes; if staff confirm it after
+ * its start time, re-arming fires the start timer at once. The clock
+ * never marks a booking NO_SHOW: without a check-in it cannot tell a
+ * customer who did not come from one who is playing, and a NO_SHOW frees
+ * the slot for the waitlist. Staff set NO_SHOW through updateBooking.
+ *
+ * Timers only queue the booking; every couple of seconds
+ * (gamingcenter.lifecycle.flushMillis) the queue is written with a few bulk
+ * UPDATEs in one transaction (BookingDAO.applyLifecycle), which skips
+ * bookings whose status changed meanwhile. Times already past when a
+ * booking is loaded fire at once, so a restart catches up.
+ *
+ * The day is loaded at start and again just after midnight, and booking
+ * writes re-arm the timers of the booking they touched, so the bookings
+ * table is never scanned on a schedule.
+ */
+public class BookingLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(BookingLifecycle.class);
+
+    private static final String PREFIX = "gamingcenter.lifecycle.";
+
+    /**
+     * A booking being followed
+     */
+    public record Tracked(Long bookingId, Long stationId, Long customerId, LocalDate date,
+                          LocalTime startTime, LocalTime endTime) {
+
+        LocalDateTime start() {
+            return date.atTime(startTime);
+        }
+
+        // A booking ending at midnight ends the next day
+        LocalDateTime end() {
+            return endTime.isAfter(startTime) ? date.atTime(endTime) : date.plusDays(1).atStartOfDay();
+        }
+    }
+
+    /**
+     * Told about committed changes, on the lifecycle thread
+     */
+    public interface Listener {
+        void bookingMoved(Tracked booking, BookingStatus from, BookingStatus to);
+
+        void stationChanged(Long stationId, StationStatus status);
+    }
+
+    private enum Event {
+        START, END
+    }
+
+    private record Due(Event event, Long bookingId) {
+    }
+
+    // Status each transition of BookingDAO.applyLifecycle moves a booking to
+    private static final Map<BookingStatus, BookingStatus> NEXT = Map.of(
+            BookingStatus.CONFIRMED, BookingStatus.ONGOING,
+            BookingStatus.ONGOING, BookingStatus.COMPLETED);
+
+    private final BookingDAO bookingDAO;
+    private final Listener listener;
+    private final long flushMillis;
+    private final TimerWheel wheel;
+    // Loads, re-arms and flushes run here, in order
+    private final ScheduledExecutorService updater;
+    private final Map<Long, Tracked> tracked = new ConcurrentHashMap<>();
+    // Updater thread only
+    private final Map<Long, List<TimerWheel.Timeout>> timers = new HashMap<>();
+    private final Queue<Due> due = new ConcurrentLinkedQueue<>();
+
+    public BookingLifecycle(BookingDAO bookingDAO, Listener listener) {
+        this(bookingDAO, listener, Long.getLong(PREFIX + "flushMillis", 2000));
+    }
+
+    public BookingLifecycle(BookingDAO bookingDAO, Listener listener, long flushMillis) {
+        this.bookingDAO = bookingDAO;
+        this.listener = listener;
+        this.flushMillis = flushMillis;
+        // 1 s ticks: level 0 spans about a minute, level 1 an hour, level 2 three days
+        this.wheel = new TimerWheel("booking-lifecycle", 1000, 64);
+        this.updater = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "booking-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.gauge("lifecycle.tracked", tracked::size);
+    }
+
+    /**
+     * Load today's bookings in the background and start writing transitions
+     */
+    public void start() {
+        enqueue(this::loadToday);
+        updater.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        updater.shutdownNow();
+        wheel.shutdown();
+    }
+
+    /**
+     * Re-arm the timers of a booking after a write
+     * @param status status after the write; anything but pending, confirmed
+     *               or ongoing just stops following it
+     */
+    public void bookingChanged(Long bookingId, Long stationId, Long customerId, LocalDate date,
+                               LocalTime startTime, LocalTime endTime, BookingStatus status) {
+        if (bookingId == null) {
+            return;
+        }
+        boolean follow = stationId != null && date != null && startTime != null && endTime != null
+                && date.equals(LocalDate.now()) && BookingDAO.BLOCKING_STATUSES.contains(status);
+        Tracked booking = follow ? new Tracked(bookingId, stationId, customerId, date, startTime, endTime) : null;
+        enqueue(() -> {
+            if (booking != null) {
+                track(booking);
+            } else {
+                untrack(bookingId);
+            }
+        });
+    }
+
+    public void bookingDeleted(Long bookingId) {
+        if (bookingId != null) {
+            enqueue(() -> untrack(bookingId));
+        }
+    }
+
+    private void loadToday() {
+        try {
+            long start = System.nanoTime();
+            LocalDate today = LocalDate.now();
+            List<Object[]> rows = bookingDAO.findLifecycleRows(today);
+            for (Object[] row : rows) {
+                track(new Tracked((Long) row[0], (Long) row[1], (Long) row[2], (LocalDate) row[3],
+                        (LocalTime) row[4], (LocalTime) row[5]));
+            }
+            logger.info("Booking lifecycle loaded {} bookings for {} in {} ms", rows.size(), today,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Booking lifecycle load failed: {}", e.getMessage(), e);
+        }
+        // Again just after the next midnight
+        LocalDateTime next = LocalDate.now().plusDays(1).atStartOfDay().plusSeconds(1);
+        wheel.schedule(() -> enqueue(this::loadToday), delayMillis(next), TimeUnit.MILLISECONDS);
+    }
+
+    private void track(Tracked booking) {
+        untrack(booking.bookingId());
+        tracked.put(booking.bookingId(), booking);
+        List<TimerWheel.Timeout> armed = new ArrayList<>(2);
+        armed.add(arm(Event.START, booking.bookingId(), booking.start()));
+        armed.add(arm(Event.END, booking.bookingId(), booking.end()));
+        timers.put(booking.bookingId(), armed);
+    }
+
+    private void untrack(Long bookingId) {
+        tracked.remove(bookingId);
+        List<TimerWheel.Timeout> armed = timers.remove(bookingId);
+        if (armed != null) {
+            armed.forEach(TimerWheel.Timeout::cancel);
+        }
+    }
+
+    private TimerWheel.Timeout arm(Event event, Long bookingId, LocalDateTime at) {
+        Due entry = new Due(event, bookingId);
+        return wheel.schedule(() -> due.add(entry), delayMillis(at), TimeUnit.MILLISECONDS);
+    }
+
+    private static long delayMillis(LocalDateTime at) {
+        return Math.max(0, Duration.between(LocalDateTime.now(), at).toMillis());
+    }
+
+    private void flush() {
+        List<Due> batch = new ArrayList<>();
+        try {
+            Set<Long> toStart = new LinkedHashSet<>();
+            Set<Long> toComplete = new LinkedHashSet<>();
+            for (Due entry; (entry = due.poll()) != null; ) {
+                batch.add(entry);
+                switch (entry.event()) {
+                    case START -> toStart.add(entry.bookingId());
+                    case END -> toComplete.add(entry.bookingId());
+                }
+            }
+            if (toStart.isEmpty() && toComplete.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            BookingDAO.LifecycleChanges changes = bookingDAO.applyLifecycle(toComplete, toStart);
+            MetricsRegistry.counter("lifecycle.flushes").increment();
+            MetricsRegistry.counter("lifecycle.moved").add(changes.moved().size());
+
+            // A booking started and completed in one batch appears twice; report where it began and ended
+            Map<Long, BookingStatus[]> fromTo = new LinkedHashMap<>();
+            for (BookingDAO.BookingKey key : changes.moved()) {
+                fromTo.computeIfAbsent(key.bookingId(), id -> new BookingStatus[]{key.status(), null})[1] =
+                        NEXT.get(key.status());
+            }
+            fromTo.forEach((bookingId, move) -> {
+                Tracked booking = tracked.get(bookingId);
+                if (move[1] != BookingStatus.ONGOING) {
+                    untrack(bookingId);
+                }
+                if (booking != null) {
+                    notify(booking, move[0], move[1]);
+                }
+            });
+            // Past its end a booking has no timers left; stop following it even if
+            // it never moved, like a PENDING booking nobody confirmed
+            LocalDateTime now = LocalDateTime.now();
+            for (Due entry : batch) {
+                Tracked booking = tracked.get(entry.bookingId());
+                if (entry.event() == Event.END && booking != null && !booking.end().isAfter(now)) {
+                    untrack(entry.bookingId());
+                }
+            }
+            changes.stations().forEach((stationId, status) -> {
+                try {
+                    listener.stationChanged(stationId, status);
+                } catch (RuntimeException e) {
+                    logger.error("Lifecycle listener failed for station {}: {}", stationId, e.getMessage(), e);
+                }
+            });
+            logger.debug("Booking lifecycle moved {} booking(s) and {} station(s) in {} ms",
+                    changes.moved().size(), changes.stations().size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the schedule; retry the batch on the next flush
+            due.addAll(batch);
+            MetricsRegistry.counter("lifecycle.failed").increment();
+            logger.error("Booking lifecycle flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void notify(Tracked booking, BookingStatus from, BookingStatus to) {
+        try {
+            listener.bookingMoved(booking, from, to);
+        } catch (RuntimeException e) {
+            logger.error("Lifecycle listener failed for booking {}: {}", booking.bookingId(), e.getMessage(), e);
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            updater.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+}
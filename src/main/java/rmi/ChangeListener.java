@@ -0,0 +1,29 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import model.ChangeEvent;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * ChangeListener - Remote callback interface
+ * Exported by clients and registered with RemoteService.registerChangeListener
+ * to receive pushed change events instead of polling
+ */
+public interface ChangeListener extends Remote {
+
+    /**
+     * Receive a batch of change events, oldest first.
+     * A RESYNC event means events were dropped: reload everything shown.
+     */
+    void onChanges(List<ChangeEvent> events) throws RemoteException;
+}
@@ -0,0 +1,186 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import model.ChangeEvent;
+import model.ChangeEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChangeNotifier - Fans out change events to registered client callbacks
+ *
+ * Every client gets its own bounded queue and is drained by a task on a
+ * dedicated executor, at most one task per client at a time. A slow or hung
+ * client only ties up its own task. When its queue is full the queued events
+ * are discarded and the next delivery starts with a single RESYNC event: the
+ * deltas it missed are gone, so it must reload its state rather than apply
+ * what follows. The RESYNC is a flag rather than a queue entry, so publishers
+ * refilling the queue cannot crowd it out.
+ * Clients whose callback fails with a RemoteException are unregistered.
+ */
+public class ChangeNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeNotifier.class);
+
+    private static final int DELIVERY_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public ChangeNotifier() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(DELIVERY_THREADS, r -> {
+            Thread thread = new Thread(r, "change-notifier-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a client callback
+     * @param userId user whose notification events the client receives
+     * @return registration ID used to unregister
+     */
+    public String register(ChangeListener listener, Long userId) {
+        String registrationId = UUID.randomUUID().toString();
+        subscribers.put(registrationId, new Subscriber(registrationId, listener, userId));
+        logger.info("Change listener registered: {} (user {})", registrationId, userId);
+        return registrationId;
+    }
+
+    public boolean unregister(String registrationId) {
+        Subscriber removed = subscribers.remove(registrationId);
+        if (removed != null) {
+            logger.info("Change listener unregistered: {} ({} events dropped)", registrationId, removed.dropped.get());
+        }
+        return removed != null;
+    }
+
+    /**
+     * Queue an event for every interested client. Never blocks the caller.
+     */
+    public void publish(ChangeEvent event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.accepts(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public void shutdown() {
+        subscribers.clear();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One registered client: bounded queue plus a single-flight delivery task
+     */
+    private final class Subscriber implements Runnable {
+        private final String registrationId;
+        private final ChangeListener listener;
+        private final Long userId;
+        private final ArrayBlockingQueue<ChangeEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicBoolean resyncPending = new AtomicBoolean(false);
+        private final AtomicLong dropped = new AtomicLong();
+
+        Subscriber(String registrationId, ChangeListener listener, Long userId) {
+            this.registrationId = registrationId;
+            this.listener = listener;
+            this.userId = userId;
+        }
+
+        boolean accepts(ChangeEvent event) {
+            // Notifications are private to their user; everything else is broadcast
+            if (event.getType() == ChangeEventType.NOTIFICATION_CREATED) {
+                return userId != null && userId.equals(event.getUserId());
+            }
+            return true;
+        }
+
+        void offer(ChangeEvent event) {
+            if (!queue.offer(event)) {
+                // Drop the backlog before raising the flag, so nothing older
+                // than the RESYNC can be delivered after it
+                List<ChangeEvent> backlog = new ArrayList<>(QUEUE_CAPACITY);
+                queue.drainTo(backlog);
+                dropped.addAndGet(backlog.size() + 1L);
+                if (!resyncPending.getAndSet(true)) {
+                    logger.warn("Change listener {} fell behind, sending RESYNC", registrationId);
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            List<ChangeEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            if (resyncPending.getAndSet(false)) {
+                batch.add(ChangeEvent.resync());
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            try {
+                if (!batch.isEmpty()) {
+                    listener.onChanges(batch);
+                }
+            } catch (RemoteException e) {
+                logger.warn("Change listener {} unreachable, unregistering: {}", registrationId, e.getMessage());
+                subscribers.remove(registrationId);
+                queue.clear();
+            } catch (RuntimeException e) {
+                logger.error("Error delivering change events to {}: {}", registrationId, e.getMessage(), e);
+            } finally {
+                scheduled.set(false);
+            }
+            // Events that arrived during delivery
+            if ((!queue.isEmpty() || resyncPending.get()) && subscribers.containsKey(registrationId)) {
+                schedule();
+            }
+        }
+    }
+}
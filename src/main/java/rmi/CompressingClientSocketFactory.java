@@ -0,0 +1,50 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+import java.util.Objects;
+
+/**
+ * CompressingClientSocketFactory - Client side of the compressed RMI transport
+ *
+ * Serialized into the service stub when gamingcenter.rmi.compression is on,
+ * so clients pick it up when they look the service up in the registry;
+ * they only need this package on their classpath.
+ */
+public class CompressingClientSocketFactory implements RMIClientSocketFactory, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final SocketSettings settings;
+
+    public CompressingClientSocketFactory(SocketSettings settings) {
+        this.settings = Objects.requireNonNull(settings, "settings");
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return new CompressingSocket(host, port, settings);
+    }
+
+    // RMI reuses connections per factory, so equal settings must compare equal
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompressingClientSocketFactory that && settings.equals(that.settings);
+    }
+
+    @Override
+    public int hashCode() {
+        return settings.hashCode();
+    }
+}
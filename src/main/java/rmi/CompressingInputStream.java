@@ -0,0 +1,125 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * CompressingInputStream - Reads frames written by CompressingOutputStream
+ */
+final class CompressingInputStream extends InputStream {
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private final int maxFrameSize;
+    private final byte[] buffer;
+    private final byte[] compressed;
+    private int position;
+    private int limit;
+    private boolean closed;
+
+    CompressingInputStream(InputStream in, SocketSettings settings) {
+        this.in = new DataInputStream(in);
+        this.maxFrameSize = settings.getFrameSize();
+        this.buffer = new byte[settings.getFrameSize()];
+        this.compressed = new byte[settings.getFrameSize()];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !readFrame()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !readFrame()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        inflater.end();
+        in.close();
+    }
+
+    /**
+     * @return false at end of stream
+     */
+    private boolean readFrame() throws IOException {
+        int flag;
+        do {
+            flag = in.read();
+            if (flag < 0) {
+                return false;
+            }
+            int payloadLength = in.readInt();
+            int wireLength = in.readInt();
+            if (payloadLength < 0 || payloadLength > maxFrameSize || wireLength < 0 || wireLength > maxFrameSize) {
+                throw new IOException("Corrupt RMI frame header");
+            }
+            if (flag == CompressingOutputStream.RAW) {
+                in.readFully(buffer, 0, payloadLength);
+            } else if (flag == CompressingOutputStream.DEFLATED) {
+                in.readFully(compressed, 0, wireLength);
+                inflate(wireLength, payloadLength);
+            } else {
+                throw new IOException("Unknown RMI frame type: " + flag);
+            }
+            WireStats.recordIn(payloadLength, CompressingOutputStream.HEADER_SIZE + wireLength);
+            position = 0;
+            limit = payloadLength;
+        } while (limit == 0);
+        return true;
+    }
+
+    private void inflate(int wireLength, int payloadLength) throws IOException {
+        inflater.reset();
+        inflater.setInput(compressed, 0, wireLength);
+        try {
+            int length = 0;
+            while (length < payloadLength) {
+                int n = inflater.inflate(buffer, length, payloadLength - length);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != payloadLength) {
+                throw new EOFException("Truncated deflated RMI frame");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt deflated RMI frame", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * CompressingOutputStream - Buffers writes and sends them as frames
+ *
+ * Frame layout: flag byte (0 = raw, 1 = deflated), payload length, wire
+ * length, then the wire bytes. A frame is emitted on flush() - RMI flushes
+ * after every call and return - or when the buffer fills up. Frames smaller
+ * than the threshold, or that do not shrink, are sent raw.
+ */
+final class CompressingOutputStream extends OutputStream {
+    static final int RAW = 0;
+    static final int DEFLATED = 1;
+    static final int HEADER_SIZE = 9;
+
+    private final DataOutputStream out;
+    private final int threshold;
+    private final Deflater deflater;
+    private final byte[] buffer;
+    private final byte[] compressed;
+    private int count;
+    private boolean closed;
+
+    CompressingOutputStream(OutputStream out, SocketSettings settings) {
+        this.out = new DataOutputStream(out);
+        this.threshold = settings.getCompressionThreshold();
+        this.deflater = new Deflater(settings.getCompressionLevel());
+        this.buffer = new byte[settings.getFrameSize()];
+        this.compressed = new byte[settings.getFrameSize()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            writeFrame();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                writeFrame();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeFrame();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        int wireLength = count >= threshold ? deflate() : -1;
+        if (wireLength < 0 || wireLength >= count) {
+            out.writeByte(RAW);
+            out.writeInt(count);
+            out.writeInt(count);
+            out.write(buffer, 0, count);
+            WireStats.recordOut(count, HEADER_SIZE + count, false);
+        } else {
+            out.writeByte(DEFLATED);
+            out.writeInt(count);
+            out.writeInt(wireLength);
+            out.write(compressed, 0, wireLength);
+            WireStats.recordOut(count, HEADER_SIZE + wireLength, true);
+        }
+        count = 0;
+    }
+
+    /**
+     * @return deflated length, or -1 if the output would not be smaller
+     */
+    private int deflate() {
+        deflater.reset();
+        deflater.setInput(buffer, 0, count);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                return -1;
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return length;
+    }
+}
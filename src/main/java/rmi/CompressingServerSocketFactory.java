@@ -0,0 +1,60 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.Objects;
+
+/**
+ * CompressingServerSocketFactory - Server side of the compressed RMI transport
+ */
+public class CompressingServerSocketFactory implements RMIServerSocketFactory {
+
+    private final SocketSettings settings;
+
+    public CompressingServerSocketFactory(SocketSettings settings) {
+        this.settings = Objects.requireNonNull(settings, "settings");
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket() {
+            @Override
+            public Socket accept() throws IOException {
+                CompressingSocket socket = new CompressingSocket(settings);
+                implAccept(socket);
+                socket.configure();
+                return socket;
+            }
+        };
+        if (settings.getSocketBufferSize() > 0) {
+            // Must be set before bind to take effect for accepted sockets
+            serverSocket.setReceiveBufferSize(settings.getSocketBufferSize());
+        }
+        serverSocket.bind(new InetSocketAddress(port));
+        return serverSocket;
+    }
+
+    // RMI shares a listening port between objects exported with equal factories
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompressingServerSocketFactory that && settings.equals(that.settings);
+    }
+
+    @Override
+    public int hashCode() {
+        return settings.hashCode();
+    }
+}
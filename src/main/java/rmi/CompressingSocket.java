@@ -0,0 +1,78 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * CompressingSocket - Socket whose streams carry compressed frames
+ *
+ * Used on both ends: the client factory connects it directly, the server
+ * socket accepts into it.
+ */
+final class CompressingSocket extends Socket {
+    private final SocketSettings settings;
+    private InputStream in;
+    private OutputStream out;
+
+    /**
+     * Unconnected socket for ServerSocket.implAccept
+     */
+    CompressingSocket(SocketSettings settings) {
+        super();
+        this.settings = settings;
+    }
+
+    CompressingSocket(String host, int port, SocketSettings settings) throws IOException {
+        super(host, port);
+        this.settings = settings;
+        configure();
+    }
+
+    void configure() throws IOException {
+        setTcpNoDelay(settings.isTcpNoDelay());
+        if (settings.getSocketBufferSize() > 0) {
+            setSendBufferSize(settings.getSocketBufferSize());
+            setReceiveBufferSize(settings.getSocketBufferSize());
+        }
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (in == null) {
+            in = new CompressingInputStream(super.getInputStream(), settings);
+        }
+        return in;
+    }
+
+    @Override
+    public synchronized OutputStream getOutputStream() throws IOException {
+        if (out == null) {
+            out = new CompressingOutputStream(super.getOutputStream(), settings);
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (out != null && !isOutputShutdown() && !isClosed()) {
+                out.flush();
+            }
+        } catch (IOException ignored) {
+            // Peer already gone - nothing left to deliver
+        } finally {
+            super.close();
+        }
+    }
+}
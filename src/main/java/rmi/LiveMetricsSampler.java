@@ -0,0 +1,169 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.BookingDAO;
+import dao.UserDAO;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import model.MetricsSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+import utils.TimeSeriesRing;
+
+/**
+ * LiveMetricsSampler - Samples live occupancy metrics into a TimeSeriesRing
+ *
+ * Every few seconds two COUNT queries read occupied stations and active
+ * sessions; bookings and revenue come from in-memory counters fed by the
+ * write hooks. Clients read the trend lines from memory without touching
+ * the database.
+ */
+public class LiveMetricsSampler {
+    private static final Logger logger = LoggerFactory.getLogger(LiveMetricsSampler.class);
+
+    private static final String PREFIX = "gamingcenter.metrics.";
+
+    private static final int OCCUPIED_STATIONS = 0;
+    private static final int ACTIVE_SESSIONS = 1;
+    private static final int BOOKINGS_PER_MINUTE = 2;
+    private static final int REVENUE_CENTS_PER_MINUTE = 3;
+
+    private final BookingDAO bookingDAO;
+    private final UserDAO userDAO;
+    private final long sampleIntervalMs;
+    private final TimeSeriesRing ring;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder bookingsCreated = new LongAdder();
+    private final LongAdder revenueCents = new LongAdder();
+
+    // Sampler thread state - per-sample deltas over the last minute
+    private final long[] sample = new long[4];
+    private final long[] bookingDeltas;
+    private final long[] revenueDeltas;
+    private int deltaIndex;
+    private long lastBookings;
+    private long lastRevenueCents;
+    private long bookingsInWindow;
+    private long revenueInWindow;
+
+    public LiveMetricsSampler(BookingDAO bookingDAO, UserDAO userDAO) {
+        this(bookingDAO, userDAO, Long.getLong(PREFIX + "sampleIntervalMs", 5000),
+             Integer.getInteger(PREFIX + "historyHours", 24));
+    }
+
+    public LiveMetricsSampler(BookingDAO bookingDAO, UserDAO userDAO, long sampleIntervalMs, int historyHours) {
+        this.bookingDAO = bookingDAO;
+        this.userDAO = userDAO;
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.ring = new TimeSeriesRing((int) (TimeUnit.HOURS.toMillis(historyHours) / sampleIntervalMs), 4);
+        int samplesPerMinute = (int) Math.max(1, TimeUnit.MINUTES.toMillis(1) / sampleIntervalMs);
+        this.bookingDeltas = new long[samplesPerMinute];
+        this.revenueDeltas = new long[samplesPerMinute];
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "live-metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::sample, 0, sampleIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Count a committed booking
+     */
+    public void bookingCreated() {
+        bookingsCreated.increment();
+    }
+
+    /**
+     * Count a committed revenue payment
+     */
+    public void revenueReceived(BigDecimal amount) {
+        revenueCents.add(amount.movePointRight(2).longValue());
+    }
+
+    /**
+     * Copy out recent samples
+     * @param minutes how far back to go
+     * @param maxPoints downsample to at most this many samples; 0 or less for all
+     */
+    public MetricsSeries getSeries(int minutes, int maxPoints) {
+        long since = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(minutes);
+        long[][] copy = ring.copySince(since, maxPoints);
+        int points = copy[0].length;
+
+        MetricsSeries series = new MetricsSeries();
+        series.setSampleIntervalMillis(sampleIntervalMs);
+        series.setTimestamps(copy[0]);
+        int[] occupied = new int[points];
+        int[] sessions = new int[points];
+        int[] bookings = new int[points];
+        double[] revenue = new double[points];
+        for (int i = 0; i < points; i++) {
+            occupied[i] = (int) copy[OCCUPIED_STATIONS + 1][i];
+            sessions[i] = (int) copy[ACTIVE_SESSIONS + 1][i];
+            bookings[i] = (int) copy[BOOKINGS_PER_MINUTE + 1][i];
+            revenue[i] = copy[REVENUE_CENTS_PER_MINUTE + 1][i] / 100.0;
+        }
+        series.setOccupiedStations(occupied);
+        series.setActiveSessions(sessions);
+        series.setBookingsPerMinute(bookings);
+        series.setRevenuePerMinute(revenue);
+        return series;
+    }
+
+    private void sample() {
+        try {
+            long now = System.currentTimeMillis();
+            // On a failed query the previous value is repeated
+            try {
+                sample[OCCUPIED_STATIONS] = bookingDAO.countStationsInUse(LocalDateTime.now());
+                sample[ACTIVE_SESSIONS] = userDAO.countActiveSessions();
+            } catch (RuntimeException e) {
+                MetricsRegistry.counter("metrics.sampler.failed").increment();
+                logger.warn("Live metrics query failed: {}", e.getMessage());
+            }
+
+            long bookings = bookingsCreated.sum();
+            long revenue = revenueCents.sum();
+            long bookingDelta = bookings - lastBookings;
+            long revenueDelta = revenue - lastRevenueCents;
+            lastBookings = bookings;
+            lastRevenueCents = revenue;
+
+            // Slide the one-minute window by one sample
+            bookingsInWindow += bookingDelta - bookingDeltas[deltaIndex];
+            revenueInWindow += revenueDelta - revenueDeltas[deltaIndex];
+            bookingDeltas[deltaIndex] = bookingDelta;
+            revenueDeltas[deltaIndex] = revenueDelta;
+            deltaIndex = (deltaIndex + 1) % bookingDeltas.length;
+
+            sample[BOOKINGS_PER_MINUTE] = bookingsInWindow;
+            sample[REVENUE_CENTS_PER_MINUTE] = revenueInWindow;
+            ring.append(now, sample);
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the schedule
+            logger.error("Live metrics sample failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import utils.MetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter - Token buckets per (policy, key), e.g. per username or client host
+ *
+ * A policy allows a burst of requests and refills one token every
+ * refill interval. Each bucket is a single AtomicLong holding the time at
+ * which it will be full again (GCRA form of a token bucket), so a check is
+ * one CAS and takes no lock. Full buckets carry no information and are
+ * swept every minute, so idle keys do not accumulate.
+ *
+ * Rejections are counted under ratelimit.&lt;policy&gt;.rejected. A policy's
+ * defaults can be overridden with gamingcenter.ratelimit.&lt;policy&gt;.burst
+ * and .refillMs.
+ */
+public class RateLimiter {
+
+    private static final String PREFIX = "gamingcenter.ratelimit.";
+
+    private record Policy(long refillNanos, long burstNanos) {
+    }
+
+    private final long origin = System.nanoTime();
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    public RateLimiter() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.MINUTES);
+        MetricsRegistry.gauge("ratelimit.buckets", buckets::size);
+    }
+
+    /**
+     * Define a policy
+     * @param burst requests allowed at once from a full bucket
+     * @param refillMs time to earn back one request
+     */
+    public void define(String policy, int burst, long refillMs) {
+        int effectiveBurst = Integer.getInteger(PREFIX + policy + ".burst", burst);
+        long refillNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong(PREFIX + policy + ".refillMs", refillMs));
+        policies.put(policy, new Policy(refillNanos, refillNanos * effectiveBurst));
+    }
+
+    /**
+     * Take a token from the bucket of a key
+     * @return 0 if allowed, otherwise milliseconds until the next token
+     */
+    public long tryAcquire(String policy, String key) {
+        Policy p = policies.get(policy);
+        if (p == null) {
+            throw new IllegalArgumentException("Unknown rate limit policy: " + policy);
+        }
+        AtomicLong fullAt = buckets.computeIfAbsent(policy + '|' + key, k -> new AtomicLong());
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + p.refillNanos;
+            long excess = next - now - p.burstNanos;
+            if (excess > 0) {
+                MetricsRegistry.counter("ratelimit." + policy + ".rejected").increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(excess));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // A caller may still hold a bucket removed here; that lets at most one
+    // extra request through, which is not worth a lock on the hot path
+    private void sweep() {
+        long now = System.nanoTime() - origin;
+        buckets.values().removeIf(fullAt -> fullAt.get() <= now);
+    }
+}
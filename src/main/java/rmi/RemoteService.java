@@ -13,8 +13,10 @@ import model.*;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * RemoteService Interface - RMI Remote Interface
@@ -74,6 +76,10 @@ public interface RemoteService extends Remote {
     Customer getCustomerById(Long customerId) throws RemoteException;
     List<Customer> getAllCustomers() throws RemoteException;
     List<Customer> searchCustomersByName(String searchTerm) throws RemoteException;
+    /**
+     * Ranked, typo-tolerant search over names, emails, phone numbers and card numbers
+     */
+    List<CustomerMatch> searchCustomers(String query, int limit) throws RemoteException;
     Customer getCustomerByUserId(Long userId) throws RemoteException;
 
     // ============================================
@@ -87,6 +93,14 @@ public interface RemoteService extends Remote {
     List<GamingStation> getAllGamingStations() throws RemoteException;
     List<GamingStation> getAvailableStations() throws RemoteException;
     List<GamingStation> getStationsByType(String stationType) throws RemoteException;
+    /**
+     * In-service stations with a game installed and no booking in a window
+     * @param gameId installed game, or null for any
+     * @param stationType station type, or null for any
+     * @param date day of the window, or null for stations free right now
+     */
+    List<GamingStation> findAvailableStations(Long gameId, StationType stationType, LocalDate date,
+                                              LocalTime startTime, LocalTime endTime) throws RemoteException;
 
     // ============================================
     // GAME MANAGEMENT
@@ -98,6 +112,11 @@ public interface RemoteService extends Remote {
     Game getGameById(Long gameId) throws RemoteException;
     List<Game> getAllGames() throws RemoteException;
     List<Game> searchGamesByTitle(String title) throws RemoteException;
+    /**
+     * Filter the catalog by title prefix, genre, age rating, publisher and
+     * multiplayer, with a count for every facet value
+     */
+    GameSearchResult searchGames(GameFilter filter) throws RemoteException;
 
     // ============================================
     // BOOKING MANAGEMENT
@@ -109,6 +128,51 @@ public interface RemoteService extends Remote {
      */
     Booking createBooking(Long customerId, Long stationId, LocalDate date, 
                          LocalTime startTime, LocalTime endTime) throws RemoteException;
+
+    /**
+     * Create booking using a hold from holdSlot
+     * @param holdToken token of the hold, consumed once the booking is saved and kept if it fails;
+     *                  an unknown or expired token books normally if the slot is free
+     */
+    Booking createBooking(Long customerId, Long stationId, LocalDate date, LocalTime startTime,
+                          LocalTime endTime, String holdToken) throws RemoteException;
+
+    /**
+     * Hold a free slot for a couple of minutes while the booking is completed
+     */
+    SlotHold holdSlot(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) throws RemoteException;
+
+    /**
+     * Give a hold back
+     * @return false if it was unknown or had already expired
+     */
+    boolean releaseSlotHold(String token) throws RemoteException;
+
+    /**
+     * Book one station at the same time of day on a series of dates, paid in one transaction
+     * @return the bookings made and, under ConflictPolicy.SKIP, the dates left out
+     */
+    RecurringBookingResult createRecurringBookings(RecurringBookingRequest request) throws RemoteException;
+
+    /**
+     * Book several stations for the same window, all or none, paid in one transaction
+     */
+    GroupBookingResult createGroupBooking(Long customerId, List<Long> stationIds, LocalDate date,
+                                          LocalTime startTime, LocalTime endTime) throws RemoteException;
+
+    /**
+     * Wait for any station of a type in a window; when one is cancelled or
+     * becomes a no-show the customer is booked (autoBook) or notified
+     */
+    WaitlistEntry joinWaitlist(Long customerId, StationType stationType, LocalDate date,
+                               LocalTime startTime, LocalTime endTime, boolean autoBook) throws RemoteException;
+
+    /**
+     * @return false if the entry was no longer waiting
+     */
+    boolean leaveWaitlist(Long entryId) throws RemoteException;
+
+    List<WaitlistEntry> getWaitlistByCustomerId(Long customerId) throws RemoteException;
     
     Booking updateBooking(Booking booking) throws RemoteException;
     void deleteBooking(Long bookingId) throws RemoteException;
@@ -123,6 +187,14 @@ public interface RemoteService extends Remote {
      */
     boolean isSlotAvailable(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) throws RemoteException;
 
+    /**
+     * Earliest free slots of a given length, by start time then cheaper station
+     * @param stationType station type, or null for any
+     * @param fromDateTime earliest start, or null for now
+     */
+    List<AvailableSlot> findNextAvailableSlots(StationType stationType, int durationMinutes,
+                                               LocalDateTime fromDateTime, int limit) throws RemoteException;
+
     // ============================================
     // MEMBERSHIP CARD MANAGEMENT
     // ============================================
@@ -173,6 +245,57 @@ public interface RemoteService extends Remote {
     List<Notification> getNotificationsByUserId(Long userId) throws RemoteException;
     List<Notification> getUnreadNotifications(Long userId) throws RemoteException;
     void markNotificationAsRead(Long notificationId) throws RemoteException;
+    
+    /**
+     * Mark the given notifications as read in one statement
+     * @return number of notifications updated
+     */
+    int markNotificationsAsRead(List<Long> notificationIds) throws RemoteException;
+    
+    /**
+     * Mark all of a user's notifications as read in one statement
+     * @return number of notifications updated
+     */
+    int markAllNotificationsAsRead(Long userId) throws RemoteException;
+    
+    /**
+     * Get the unread notification count for a user (cached server-side)
+     */
+    int getUnreadNotificationCount(Long userId) throws RemoteException;
+
+    // ============================================
+    // BULK OPERATIONS
+    // ============================================
+    
+    /**
+     * Import gaming stations in a single transaction
+     */
+    List<GamingStation> createGamingStations(List<GamingStation> stations) throws RemoteException;
+    
+    /**
+     * Seed games in a single transaction
+     */
+    List<Game> createGames(List<Game> games) throws RemoteException;
+    
+    /**
+     * Update bookings in a single transaction (e.g. status sweeps).
+     * Amounts are recalculated and the whole batch is rejected if any
+     * pending, confirmed or ongoing booking would overlap another.
+     * @return number of bookings updated; unknown IDs are skipped
+     */
+    int updateBookings(List<Booking> bookings) throws RemoteException;
+    
+    /**
+     * Delete bookings in a single transaction
+     * @return number of bookings deleted
+     */
+    int deleteBookings(List<Long> bookingIds) throws RemoteException;
+    
+    /**
+     * Send the same notification to many users in a single transaction
+     * @return number of notifications created
+     */
+    int sendBulkNotification(List<Long> userIds, NotificationType type, String message) throws RemoteException;
 
     // ============================================
     // REPORTS & EXPORT
@@ -198,6 +321,63 @@ public interface RemoteService extends Remote {
      * @return CSV content as String
      */
     String generateCSVReport(String reportType) throws RemoteException;
+    
+    /**
+     * Generate a filtered or aggregate report synchronously
+     * @param reportType CUSTOMERS, BOOKINGS, REVENUE, STATIONS, or the aggregate
+     *        types DAILY_REVENUE, STATION_UTILIZATION, PEAK_HOURS
+     * @param format PDF, EXCEL, CSV, or COLUMNAR (typed analytics extract of
+     *        BOOKINGS or REVENUE; read it with reports.ColumnarReader)
+     * @param params optional filters: from/to (yyyy-MM-dd, inclusive),
+     *        stationId, status (booking), paymentMethod - as applicable to the type
+     * @return report file; CSV is UTF-8 encoded
+     */
+    byte[] generateReport(String reportType, String format, Map<String, String> params) throws RemoteException;
+    
+    /**
+     * Queue a report for background generation
+     * @param reportType see generateReport
+     * @param format see generateReport
+     * @param params report filters as for generateReport, may be empty
+     * @return job ID for getReportStatus and fetchReportChunk
+     */
+    String submitReport(String reportType, String format, Map<String, String> params) throws RemoteException;
+    
+    /**
+     * Get the state of a report job
+     * @return status, or null if the job is unknown or has expired
+     */
+    ReportJobStatus getReportStatus(String jobId) throws RemoteException;
+    
+    /**
+     * Download part of a completed report (at most 1 MB per call)
+     * @return bytes from offset; an empty array past the end
+     */
+    byte[] fetchReportChunk(String jobId, long offset, int length) throws RemoteException;
+    
+    /**
+     * Recompute the daily station and revenue rollups from bookings and
+     * transactions (they are otherwise kept current automatically)
+     * @param from first day, or null together with to for all history
+     * @param to last day (inclusive)
+     * @return number of rollup rows written
+     */
+    int rebuildRollups(LocalDate from, LocalDate to) throws RemoteException;
+
+    // ============================================
+    // REAL-TIME CHANGE NOTIFICATIONS
+    // ============================================
+    
+    /**
+     * Register a client-exported callback for pushed change events
+     * (station status, booking created/updated/cancelled, new notifications
+     * of the logged-in user)
+     * @param sessionToken session of the user the client is logged in as
+     * @return registration ID for unregisterChangeListener
+     */
+    String registerChangeListener(ChangeListener listener, String sessionToken) throws RemoteException;
+    
+    void unregisterChangeListener(String registrationId) throws RemoteException;
 
     // ============================================
     // DASHBOARD STATISTICS
@@ -207,5 +387,18 @@ public interface RemoteService extends Remote {
      * Get dashboard statistics
      */
     DashboardStats getDashboardStats() throws RemoteException;
+    
+    /**
+     * Get live trend lines (occupied stations, active sessions, bookings and
+     * revenue per minute) sampled every few seconds, served from memory
+     * @param minutes how far back to go (history is kept for 24 hours by default)
+     * @param maxPoints downsample to at most this many samples; 0 for all
+     */
+    MetricsSeries getMetricsSeries(int minutes, int maxPoints) throws RemoteException;
+    
+    /**
+     * Get server counters and gauges (execution lanes, wire bytes)
+     */
+    Map<String, Long> getServerMetrics() throws RemoteException;
 }
 
@@ -15,17 +15,36 @@ import dao.*;
 import messaging.MessageProducer;
 import model.*;
 import reports.*;
+import search.BookingCalendar;
+import search.CustomerSearchIndex;
+import search.GameCatalogIndex;
+import search.SlotFinder;
+import search.StationIndex;
+import utils.DateTimeRange;
+import utils.MetricsRegistry;
+import utils.OtpStore;
+import utils.PasswordService;
 import utils.ValidationUtil;
 import utils.ValidationResult;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.rmi.RemoteException;
+import java.rmi.server.ServerNotActiveException;
 import java.rmi.server.UnicastRemoteObject;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -36,6 +55,19 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
     private static final long serialVersionUID = 1L;
     private static final Logger logger = LoggerFactory.getLogger(RemoteServiceImpl.class);
 
+    // Transaction types counted as revenue
+    private static final List<TransactionType> REVENUE_TYPES =
+            List.of(TransactionType.BOOKING_PAYMENT, TransactionType.TOURNAMENT_FEE);
+
+    // Most customers searchCustomersByName returns
+    private static final int NAME_SEARCH_LIMIT = 100;
+
+    // Most occurrences one createRecurringBookings call books
+    private static final int MAX_OCCURRENCES = 52;
+
+    // Most stations one createGroupBooking call books
+    private static final int MAX_GROUP_STATIONS = 32;
+
     // DAOs
     private final UserDAO userDAO;
     private final CustomerDAO customerDAO;
@@ -46,12 +78,65 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
     private final TournamentDAO tournamentDAO;
     private final TransactionDAO transactionDAO;
     private final NotificationDAO notificationDAO;
+    private final RollupDAO rollupDAO;
+    private final WaitlistDAO waitlistDAO;
 
     // Message Producer for OTP
     private final MessageProducer messageProducer;
 
+    // Pushes change events to registered client callbacks
+    private final ChangeNotifier changeNotifier;
+
+    // Bounded execution lanes for light reads and heavy reports
+    private final RequestExecutor requestExecutor;
+
+    // Background report generation with on-disk result cache
+    private final ReportJobService reportJobService;
+
+    // Daily station and revenue rollups, refreshed after writes
+    private final RollupService rollupService;
+
+    // Trend lines for the live dashboard
+    private final LiveMetricsSampler liveMetrics;
+
+    // BCrypt hashing on its own bounded pool
+    private final PasswordService passwordService;
+
+    // Pending login OTPs, in memory only
+    private final OtpStore otpStore;
+
+    // Token buckets per username and client host for expensive endpoints
+    private final RateLimiter rateLimiter;
+
+    // Customer search by name, email, phone and card number, in memory
+    private final CustomerSearchIndex customerIndex;
+
+    // Game catalog with title prefixes and facets, in memory
+    private final GameCatalogIndex gameCatalog;
+
+    // Blocked time per station day, and station bitmaps by game, type and status
+    private final BookingCalendar bookingCalendar;
+    private final StationIndex stationIndex;
+    private final SlotFinder slotFinder;
+
+    // Checkout holds on slots, reaped by a timer wheel
+    private final SlotHolds slotHolds;
+    private final StationDayLocks stationLocks;
+    private final Waitlist waitlist;
+    private final BookingLifecycle bookingLifecycle;
+
     public RemoteServiceImpl() throws RemoteException {
-        super();
+        this(SocketSettings.isCompressionEnabled() ? SocketSettings.fromSystemProperties() : null);
+    }
+
+    /**
+     * @param socketSettings export over compressing sockets with these
+     *                       settings, so large reports and lists take less
+     *                       time on the wire; null for plain RMI sockets
+     */
+    public RemoteServiceImpl(SocketSettings socketSettings) throws RemoteException {
+        super(0, socketSettings != null ? new CompressingClientSocketFactory(socketSettings) : null,
+                socketSettings != null ? new CompressingServerSocketFactory(socketSettings) : null);
         // Initialize DAOs
         this.userDAO = new UserDAO();
         this.customerDAO = new CustomerDAO();
@@ -62,9 +147,111 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
         this.tournamentDAO = new TournamentDAO();
         this.transactionDAO = new TransactionDAO();
         this.notificationDAO = new NotificationDAO();
+        this.rollupDAO = new RollupDAO();
+        this.waitlistDAO = new WaitlistDAO();
         this.messageProducer = new MessageProducer();
+        List<BookingDAO.BookingKey> confirmed = confirmPaidPendingBookings();
+        this.changeNotifier = new ChangeNotifier();
+        this.requestExecutor = new RequestExecutor();
+        this.passwordService = new PasswordService();
+        this.otpStore = new OtpStore();
+        this.rateLimiter = new RateLimiter();
+        rateLimiter.define("otp.user", 3, 60_000);
+        rateLimiter.define("otp.host", 10, 10_000);
+        rateLimiter.define("login.user", 5, 20_000);
+        rateLimiter.define("login.host", 20, 2_000);
+        rateLimiter.define("expensive.host", 10, 5_000);
+        rateLimiter.define("hold.host", 30, 2_000);
+        this.rollupService = new RollupService(rollupDAO);
+        // Rollups written before the migration counted these bookings as unused
+        confirmed.forEach(key -> rollupService.bookingChanged(key.stationId(), key.bookingDate()));
+        try {
+            this.reportJobService = new ReportJobService(
+                new ReportGenerator(customerDAO, bookingDAO, transactionDAO, stationDAO, rollupDAO, rollupService),
+                ReportCache.fromSystemProperties());
+        } catch (IOException e) {
+            throw new RemoteException("Failed to initialise report cache", e);
+        }
+        rollupService.start();
+        this.liveMetrics = new LiveMetricsSampler(bookingDAO, userDAO);
+        liveMetrics.start();
+        this.customerIndex = new CustomerSearchIndex(customerDAO);
+        customerIndex.start();
+        this.gameCatalog = new GameCatalogIndex(gameDAO);
+        gameCatalog.start();
+        this.bookingCalendar = new BookingCalendar(bookingDAO);
+        bookingCalendar.start();
+        this.stationIndex = new StationIndex(stationDAO, bookingDAO, bookingCalendar);
+        stationIndex.start();
+        this.slotFinder = new SlotFinder(stationIndex, bookingCalendar, bookingDAO);
+        this.slotHolds = new SlotHolds();
+        this.stationLocks = new StationDayLocks();
+        this.waitlist = new Waitlist(waitlistDAO, stationDAO);
+        this.bookingLifecycle = new BookingLifecycle(bookingDAO, new BookingLifecycle.Listener() {
+            @Override
+            public void bookingMoved(BookingLifecycle.Tracked booking, BookingStatus from, BookingStatus to) {
+                onBookingMovedByClock(booking, to);
+            }
+
+            @Override
+            public void stationChanged(Long stationId, StationStatus status) {
+                changeNotifier.publish(ChangeEvent.stationStatus(stationId, status));
+                stationIndex.stationChanged(stationId);
+            }
+        });
+        bookingLifecycle.start();
         
-        logger.info("RemoteServiceImpl initialized successfully");
+        logger.info("RemoteServiceImpl initialized successfully ({})",
+                socketSettings != null ? socketSettings : "plain sockets");
+    }
+
+    /**
+     * Confirm bookings paid for while every booking was saved PENDING, so
+     * the lifecycle starts them and the usage reports (which count only
+     * CONFIRMED, ONGOING and COMPLETED) see them; a failure is retried on
+     * the next start
+     */
+    private List<BookingDAO.BookingKey> confirmPaidPendingBookings() {
+        try {
+            List<BookingDAO.BookingKey> confirmed = bookingDAO.confirmPaidPending();
+            if (!confirmed.isEmpty()) {
+                logger.info("Confirmed {} paid booking(s) saved as pending", confirmed.size());
+            }
+            return confirmed;
+        } catch (RuntimeException e) {
+            logger.error("Confirming paid pending bookings failed: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Start the background parts that call back into this service
+     * (call once after construction, before binding)
+     */
+    public void start() {
+        waitlist.start(this::promoteFromWaitlist);
+    }
+
+    /**
+     * Release background resources (call when the server stops)
+     */
+    public void shutdown() {
+        changeNotifier.shutdown();
+        requestExecutor.shutdown();
+        reportJobService.shutdown();
+        rollupService.shutdown();
+        liveMetrics.shutdown();
+        passwordService.shutdown();
+        otpStore.shutdown();
+        rateLimiter.shutdown();
+        customerIndex.shutdown();
+        gameCatalog.shutdown();
+        stationIndex.shutdown();
+        bookingCalendar.shutdown();
+        slotHolds.shutdown();
+        waitlist.shutdown();
+        bookingLifecycle.shutdown();
+        logger.info("RemoteServiceImpl shut down, wire stats: {}", WireStats.snapshot());
     }
 
     // ============================================
@@ -73,37 +260,27 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public boolean generateAndSendOTP(String username) throws RemoteException {
+        checkRateLimit("otp", username);
         try {
             logger.info("Generating OTP for user: {}", username);
             
-            User user = userDAO.findByUsername(username);
+            User user = requestExecutor.light("generateAndSendOTP", () -> userDAO.findByUsername(username));
             if (user == null) {
                 logger.warn("User not found: {}", username);
                 return false;
             }
 
-            // Generate 6-digit OTP
-            String otp = String.format("%06d", new Random().nextInt(999999));
-            
-            // Set OTP expiry (5 minutes from now)
-            user.setOtpCode(otp);
-            user.setOtpExpiry(LocalDateTime.now().plusMinutes(5));
-            userDAO.update(user);
+            // Generate 6-digit OTP, valid for 5 minutes; kept in memory only
+            String otp = otpStore.issue(user.getUsername());
 
             // Send OTP via ActiveMQ
             messageProducer.sendOTPEmail(user.getEmail(), user.getUsername(), otp);
-            
-            // Create notification
-            Notification notification = new Notification(
-                user,
-                NotificationType.OTP,
-                "Your OTP code is: " + otp + ". Valid for 5 minutes."
-            );
-            notificationDAO.save(notification);
 
             logger.info("OTP generated and sent successfully to {}", user.getEmail());
             return true;
 
+        } catch (RemoteException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error generating OTP: {}", e.getMessage(), e);
             throw new RemoteException("Failed to generate OTP", e);
@@ -112,6 +289,7 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public User login(String username, String password, String otp) throws RemoteException {
+        checkRateLimit("login", username);
         try {
             logger.info("Login attempt for user: {}", username);
 
@@ -126,29 +304,36 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
                 throw new RemoteException(result.getMessage());
             }
 
-            // Find user
-            User user = userDAO.findByUsername(username);
+            // Find user; the password check runs even for unknown users so
+            // response times do not reveal which usernames exist
+            User user = requestExecutor.light("login", () -> userDAO.findByUsername(username));
+            boolean passwordValid = passwordService.verify(password, user != null ? user.getPassword() : null);
             if (user == null) {
                 logger.warn("Login failed: User not found - {}", username);
                 throw new RemoteException("Invalid username or password");
             }
 
-            // Verify password (In production, use BCrypt)
-            if (!user.getPassword().equals(password)) {
+            // Verify password
+            if (!passwordValid) {
                 logger.warn("Login failed: Invalid password for user - {}", username);
                 throw new RemoteException("Invalid username or password");
             }
 
-            // Verify OTP
-            if (user.getOtpCode() == null || !user.getOtpCode().equals(otp)) {
-                logger.warn("Login failed: Invalid OTP for user - {}", username);
-                throw new RemoteException("Invalid OTP code");
-            }
-
-            // Check OTP expiry
-            if (user.getOtpExpiry() == null || LocalDateTime.now().isAfter(user.getOtpExpiry())) {
-                logger.warn("Login failed: OTP expired for user - {}", username);
-                throw new RemoteException("OTP has expired. Please request a new one.");
+            // Verify OTP (a valid code is consumed)
+            switch (otpStore.verify(user.getUsername(), otp)) {
+                case VALID -> { }
+                case INVALID -> {
+                    logger.warn("Login failed: Invalid OTP for user - {}", username);
+                    throw new RemoteException("Invalid OTP code");
+                }
+                case TOO_MANY_ATTEMPTS -> {
+                    logger.warn("Login failed: Too many OTP attempts for user - {}", username);
+                    throw new RemoteException("Too many invalid OTP attempts. Please request a new one.");
+                }
+                case EXPIRED -> {
+                    logger.warn("Login failed: OTP expired for user - {}", username);
+                    throw new RemoteException("OTP has expired. Please request a new one.");
+                }
             }
 
             // Check if user is active
@@ -161,18 +346,27 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
             String sessionToken = UUID.randomUUID().toString();
             user.setSessionToken(sessionToken);
             user.setLastLogin(LocalDateTime.now());
-            
-            // Clear OTP after successful login
+
+            // Clear OTP columns left over from before the in-memory store
             user.setOtpCode(null);
             user.setOtpExpiry(null);
+
+            // Replace a plaintext or outdated hash now that the password is known
+            if (passwordService.needsRehash(user.getPassword())) {
+                user.setPassword(passwordService.hash(password));
+                logger.info("Password hash upgraded for user: {}", username);
+            }
             
-            userDAO.update(user);
+            requestExecutor.light("login", () -> userDAO.update(user));
 
             logger.info("Login successful for user: {}", username);
             return user;
 
         } catch (RemoteException e) {
             throw e;
+        } catch (IllegalStateException e) {
+            // Hashing pool saturated
+            throw new RemoteException(e.getMessage());
         } catch (Exception e) {
             logger.error("Login error: {}", e.getMessage(), e);
             throw new RemoteException("Login failed due to server error", e);
@@ -181,36 +375,68 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public boolean logout(String sessionToken) throws RemoteException {
-        try {
-            User user = userDAO.findBySessionToken(sessionToken);
-            if (user != null) {
-                user.setSessionToken(null);
-                userDAO.update(user);
-                logger.info("User logged out: {}", user.getUsername());
-                return true;
+        return requestExecutor.light("logout", () -> {
+            try {
+                User user = userDAO.findBySessionToken(sessionToken);
+                if (user != null) {
+                    user.setSessionToken(null);
+                    userDAO.update(user);
+                    logger.info("User logged out: {}", user.getUsername());
+                    return true;
+                }
+                return false;
+            } catch (Exception e) {
+                logger.error("Logout error: {}", e.getMessage(), e);
+                throw new RemoteException("Logout failed", e);
             }
-            return false;
-        } catch (Exception e) {
-            logger.error("Logout error: {}", e.getMessage(), e);
-            throw new RemoteException("Logout failed", e);
-        }
+        });
     }
 
     @Override
     public boolean validateSession(String sessionToken) throws RemoteException {
-        try {
-            return userDAO.findBySessionToken(sessionToken) != null;
-        } catch (Exception e) {
-            return false;
-        }
+        return requestExecutor.light("validateSession", () -> {
+            try {
+                return userDAO.findBySessionToken(sessionToken) != null;
+            } catch (Exception e) {
+                return false;
+            }
+        });
     }
 
     @Override
     public User getUserBySession(String sessionToken) throws RemoteException {
+        return requestExecutor.light("getUserBySession", () -> {
+            try {
+                return userDAO.findBySessionToken(sessionToken);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get user by session", e);
+            }
+        });
+    }
+
+    /**
+     * Reject the call when the client host, or the username if given, has
+     * used up its budget for the endpoint ("otp", "login", "expensive")
+     */
+    private void checkRateLimit(String endpoint, String username) throws RemoteException {
+        String host = clientHost();
+        long waitMs = rateLimiter.tryAcquire(endpoint + ".host", host);
+        if (waitMs == 0 && username != null) {
+            // Usernames compare case-insensitively in MySQL
+            waitMs = rateLimiter.tryAcquire(endpoint + ".user", username.trim().toLowerCase());
+        }
+        if (waitMs > 0) {
+            logger.warn("Rate limit hit: {} from {} (user {})", endpoint, host, username);
+            throw new RemoteException("Too many requests, please retry in " + (waitMs + 999) / 1000 + " s");
+        }
+    }
+
+    private static String clientHost() {
         try {
-            return userDAO.findBySessionToken(sessionToken);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get user by session", e);
+            return getClientHost();
+        } catch (ServerNotActiveException e) {
+            // Called locally, not through RMI
+            return "local";
         }
     }
 
@@ -220,81 +446,103 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public User createUser(User user) throws RemoteException {
-        try {
-            // Validate user data
-            ValidationResult result = ValidationUtil.validateUserRegistration(
-                user.getUsername(),
-                user.getPassword(),
-                user.getEmail(),
-                user.getPhoneNumber()
-            );
+        checkRateLimit("expensive", null);
+        return requestExecutor.light("createUser", () -> {
+            try {
+                // Validate user data
+                ValidationResult result = ValidationUtil.validateUserRegistration(
+                    user.getUsername(),
+                    user.getPassword(),
+                    user.getEmail(),
+                    user.getPhoneNumber()
+                );
             
-            if (!result.isSuccess()) {
-                throw new RemoteException(result.getMessage());
-            }
-
-            // Check if username exists
-            if (userDAO.findByUsername(user.getUsername()) != null) {
-                throw new RemoteException("Username already exists");
+                if (!result.isSuccess()) {
+                    throw new RemoteException(result.getMessage());
+                }
+
+                // Check if username exists
+                if (userDAO.findByUsername(user.getUsername()) != null) {
+                    throw new RemoteException("Username already exists");
+                }
+
+                // Check if email exists
+                if (userDAO.findByEmail(user.getEmail()) != null) {
+                    throw new RemoteException("Email already exists");
+                }
+
+                user.setPassword(passwordService.hash(user.getPassword()));
+                return userDAO.save(user);
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error creating user: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to create user", e);
             }
-
-            // Check if email exists
-            if (userDAO.findByEmail(user.getEmail()) != null) {
-                throw new RemoteException("Email already exists");
-            }
-
-            return userDAO.save(user);
-        } catch (RemoteException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error creating user: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to create user", e);
-        }
+        });
     }
 
     @Override
     public User updateUser(User user) throws RemoteException {
-        try {
-            return userDAO.update(user);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update user", e);
-        }
+        return requestExecutor.light("updateUser", () -> {
+            try {
+                // Clients send back the stored hash unless the password was changed
+                if (user.getPassword() != null && !PasswordService.isHash(user.getPassword())) {
+                    user.setPassword(passwordService.hash(user.getPassword()));
+                }
+                User updated = userDAO.update(user);
+                customerIndex.userChanged(updated.getUserId());
+                return updated;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update user", e);
+            }
+        });
     }
 
     @Override
     public void deleteUser(Long userId) throws RemoteException {
-        try {
-            userDAO.delete(userId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete user", e);
-        }
+        requestExecutor.light("deleteUser", () -> {
+            try {
+                userDAO.delete(userId);
+                customerIndex.userChanged(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete user", e);
+            }
+            return null;
+        });
     }
 
     @Override
     public User getUserById(Long userId) throws RemoteException {
-        try {
-            return userDAO.findById(userId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get user", e);
-        }
+        return requestExecutor.light("getUserById", () -> {
+            try {
+                return userDAO.findById(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get user", e);
+            }
+        });
     }
 
     @Override
     public List<User> getAllUsers() throws RemoteException {
-        try {
-            return userDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all users", e);
-        }
+        return requestExecutor.light("getAllUsers", () -> {
+            try {
+                return userDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all users", e);
+            }
+        });
     }
 
     @Override
     public User getUserByUsername(String username) throws RemoteException {
-        try {
-            return userDAO.findByUsername(username);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get user by username", e);
-        }
+        return requestExecutor.light("getUserByUsername", () -> {
+            try {
+                return userDAO.findByUsername(username);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get user by username", e);
+            }
+        });
     }
 
     // ============================================
@@ -303,29 +551,46 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public Customer createCustomer(Customer customer) throws RemoteException {
-        try {
-            return customerDAO.save(customer);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to create customer", e);
-        }
+        return requestExecutor.light("createCustomer", () -> {
+            try {
+                Customer saved = customerDAO.save(customer);
+                customerIndex.customerChanged(saved.getCustomerId());
+                return saved;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create customer", e);
+            }
+        });
     }
 
     @Override
     public Customer updateCustomer(Customer customer) throws RemoteException {
-        try {
-            return customerDAO.update(customer);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update customer", e);
-        }
+        return requestExecutor.light("updateCustomer", () -> {
+            try {
+                Customer updated = customerDAO.update(customer);
+                customerIndex.customerChanged(updated.getCustomerId());
+                return updated;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update customer", e);
+            }
+        });
     }
 
     @Override
     public void deleteCustomer(Long customerId) throws RemoteException {
-        try {
-            customerDAO.delete(customerId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete customer", e);
-        }
+        requestExecutor.light("deleteCustomer", () -> {
+            try {
+                // Bookings and transactions go with the customer
+                List<BookingDAO.BookingKey> bookings = bookingDAO.findKeysByCustomer(customerId);
+                List<LocalDate> transactionDays = transactionDAO.findDaysByCustomer(customerId);
+                customerDAO.delete(customerId);
+                customerIndex.customerDeleted(customerId);
+                bookings.forEach(key -> stationDayChanged(key.stationId(), key.bookingDate()));
+                transactionDays.forEach(day -> rollupService.transactionChanged(day.atStartOfDay()));
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete customer", e);
+            }
+            return null;
+        });
     }
 //    @Override
 //public void deleteCustomer(Long customerId) throws RemoteException {
@@ -340,38 +605,78 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public Customer getCustomerById(Long customerId) throws RemoteException {
-        try {
-            return customerDAO.findById(customerId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get customer", e);
-        }
+        return requestExecutor.light("getCustomerById", () -> {
+            try {
+                return customerDAO.findById(customerId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get customer", e);
+            }
+        });
     }
 
     @Override
     public List<Customer> getAllCustomers() throws RemoteException {
-        try {
-            return customerDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all customers", e);
-        }
+        return requestExecutor.light("getAllCustomers", () -> {
+            try {
+                return customerDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all customers", e);
+            }
+        });
     }
 
     @Override
     public List<Customer> searchCustomersByName(String searchTerm) throws RemoteException {
-        try {
-            return customerDAO.searchByName(searchTerm);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to search customers", e);
-        }
+        return requestExecutor.light("searchCustomersByName", () -> {
+            try {
+                if (!customerIndex.isReady()) {
+                    return customerDAO.searchByName(searchTerm);
+                }
+                List<Long> ids = new ArrayList<>();
+                for (CustomerMatch match : customerIndex.search(searchTerm, NAME_SEARCH_LIMIT)) {
+                    ids.add(match.getCustomerId());
+                }
+                return customerDAO.findByIds(ids);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to search customers", e);
+            }
+        });
+    }
+
+    @Override
+    public List<CustomerMatch> searchCustomers(String query, int limit) throws RemoteException {
+        return requestExecutor.light("searchCustomers", () -> {
+            try {
+                if (customerIndex.isReady()) {
+                    return customerIndex.search(query, limit);
+                }
+                // Index still loading: plain name search
+                List<CustomerMatch> matches = new ArrayList<>();
+                for (Customer customer : customerDAO.searchByName(query)) {
+                    if (matches.size() == limit) {
+                        break;
+                    }
+                    User user = customer.getUser();
+                    matches.add(new CustomerMatch(customer.getCustomerId(), customer.getFullName(),
+                            user != null ? user.getEmail() : null, user != null ? user.getPhoneNumber() : null,
+                            null, 0));
+                }
+                return matches;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to search customers", e);
+            }
+        });
     }
 
     @Override
     public Customer getCustomerByUserId(Long userId) throws RemoteException {
-        try {
-            return customerDAO.findByUserId(userId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get customer by user ID", e);
-        }
+        return requestExecutor.light("getCustomerByUserId", () -> {
+            try {
+                return customerDAO.findByUserId(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get customer by user ID", e);
+            }
+        });
     }
 
     // ============================================
@@ -380,73 +685,109 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public GamingStation createGamingStation(GamingStation station) throws RemoteException {
-        try {
-            // Validate hourly rate
-            ValidationResult result = ValidationUtil.validateHourlyRate(station.getHourlyRate());
-            if (!result.isSuccess()) {
-                throw new RemoteException(result.getMessage());
+        return requestExecutor.light("createGamingStation", () -> {
+            try {
+                // Validate hourly rate
+                ValidationResult result = ValidationUtil.validateHourlyRate(station.getHourlyRate());
+                if (!result.isSuccess()) {
+                    throw new RemoteException(result.getMessage());
+                }
+                GamingStation saved = stationDAO.save(station);
+                onStationChanged(saved);
+                return saved;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create gaming station", e);
             }
-            return stationDAO.save(station);
-        } catch (RemoteException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RemoteException("Failed to create gaming station", e);
-        }
+        });
     }
 
     @Override
     public GamingStation updateGamingStation(GamingStation station) throws RemoteException {
-        try {
-            return stationDAO.update(station);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update gaming station", e);
-        }
+        return requestExecutor.light("updateGamingStation", () -> {
+            try {
+                GamingStation updated = stationDAO.update(station);
+                onStationChanged(updated);
+                return updated;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update gaming station", e);
+            }
+        });
     }
 
     @Override
     public void deleteGamingStation(Long stationId) throws RemoteException {
-        try {
-            stationDAO.delete(stationId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete gaming station", e);
-        }
+        requestExecutor.light("deleteGamingStation", () -> {
+            try {
+                stationDAO.delete(stationId);
+                stationIndex.stationDeleted(stationId);
+                bookingCalendar.stationRemoved(stationId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete gaming station", e);
+            }
+            return null;
+        });
     }
 
     @Override
     public GamingStation getGamingStationById(Long stationId) throws RemoteException {
-        try {
-            return stationDAO.findById(stationId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get gaming station", e);
-        }
+        return requestExecutor.light("getGamingStationById", () -> {
+            try {
+                return stationDAO.findById(stationId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get gaming station", e);
+            }
+        });
     }
 
     @Override
     public List<GamingStation> getAllGamingStations() throws RemoteException {
-        try {
-            return stationDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all gaming stations", e);
-        }
+        return requestExecutor.light("getAllGamingStations", () -> {
+            try {
+                return stationDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all gaming stations", e);
+            }
+        });
     }
 
     @Override
     public List<GamingStation> getAvailableStations() throws RemoteException {
-        try {
-            return stationDAO.getAvailableStations();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get available stations", e);
-        }
+        return requestExecutor.light("getAvailableStations", () -> {
+            try {
+                return stationDAO.getAvailableStations();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get available stations", e);
+            }
+        });
     }
 
     @Override
     public List<GamingStation> getStationsByType(String stationType) throws RemoteException {
-        try {
-            StationType type = StationType.valueOf(stationType.toUpperCase());
-            return stationDAO.findByType(type);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get stations by type", e);
+        return requestExecutor.light("getStationsByType", () -> {
+            try {
+                StationType type = StationType.valueOf(stationType.toUpperCase());
+                return stationDAO.findByType(type);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get stations by type", e);
+            }
+        });
+    }
+
+    @Override
+    public List<GamingStation> findAvailableStations(Long gameId, StationType stationType, LocalDate date,
+                                                     LocalTime startTime, LocalTime endTime) throws RemoteException {
+        if (date != null && (startTime == null || endTime == null || !endTime.isAfter(startTime))) {
+            throw new RemoteException("A time window needs a start time before its end time");
         }
+        return requestExecutor.light("findAvailableStations", () -> {
+            try {
+                return stationIndex.findAvailable(gameId, stationType, date, startTime, endTime);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to find available stations", e);
+            }
+        });
     }
 
     // ============================================
@@ -455,56 +796,89 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public Game createGame(Game game) throws RemoteException {
-        try {
-            return gameDAO.save(game);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to create game", e);
-        }
+        return requestExecutor.light("createGame", () -> {
+            try {
+                Game saved = gameDAO.save(game);
+                gameCatalog.gameChanged(saved);
+                return saved;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create game", e);
+            }
+        });
     }
 
     @Override
     public Game updateGame(Game game) throws RemoteException {
-        try {
-            return gameDAO.update(game);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update game", e);
-        }
+        return requestExecutor.light("updateGame", () -> {
+            try {
+                Game updated = gameDAO.update(game);
+                gameCatalog.gameChanged(updated);
+                return updated;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update game", e);
+            }
+        });
     }
 
     @Override
     public void deleteGame(Long gameId) throws RemoteException {
-        try {
-            gameDAO.delete(gameId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete game", e);
-        }
+        requestExecutor.light("deleteGame", () -> {
+            try {
+                gameDAO.delete(gameId);
+                gameCatalog.gameDeleted(gameId);
+                stationIndex.gameDeleted(gameId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete game", e);
+            }
+            return null;
+        });
     }
 
     @Override
     public Game getGameById(Long gameId) throws RemoteException {
-        try {
-            return gameDAO.findById(gameId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get game", e);
-        }
+        return requestExecutor.light("getGameById", () -> {
+            try {
+                return gameDAO.findById(gameId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get game", e);
+            }
+        });
     }
 
     @Override
     public List<Game> getAllGames() throws RemoteException {
-        try {
-            return gameDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all games", e);
-        }
+        return requestExecutor.light("getAllGames", () -> {
+            try {
+                return gameDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all games", e);
+            }
+        });
     }
 
     @Override
     public List<Game> searchGamesByTitle(String title) throws RemoteException {
-        try {
-            return gameDAO.searchByTitle(title);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to search games", e);
-        }
+        return requestExecutor.light("searchGamesByTitle", () -> {
+            try {
+                if (!gameCatalog.isReady()) {
+                    return gameDAO.searchByTitle(title);
+                }
+                return gameCatalog.searchByTitle(title, Integer.MAX_VALUE);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to search games", e);
+            }
+        });
+    }
+
+    @Override
+    public GameSearchResult searchGames(GameFilter filter) throws RemoteException {
+        return requestExecutor.light("searchGames", () -> {
+            try {
+                return gameCatalog.search(filter);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to search games", e);
+            }
+        });
     }
 
     // ============================================
@@ -514,211 +888,663 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
     @Override
     public Booking createBooking(Long customerId, Long stationId, LocalDate date, 
                                  LocalTime startTime, LocalTime endTime) throws RemoteException {
-        try {
-            // Get customer and station
-            Customer customer = customerDAO.findById(customerId);
-            GamingStation station = stationDAO.findById(stationId);
-
-            if (customer == null) {
-                throw new RemoteException("Customer not found");
-            }
-            if (station == null) {
-                throw new RemoteException("Gaming station not found");
-            }
-
-            // Validate booking
-            ValidationResult result = ValidationUtil.validateBookingCreation(
-                customer, station, date, startTime, endTime, bookingDAO
-            );
-            
-            if (!result.isSuccess()) {
-                throw new RemoteException(result.getMessage());
-            }
-
-            // Create booking
-            Booking booking = new Booking(customer, station, date, startTime, endTime);
-            booking.calculateDurationAndAmount();
+        return createBooking(customerId, stationId, date, startTime, endTime, null);
+    }
+
+    @Override
+    public Booking createBooking(Long customerId, Long stationId, LocalDate date, LocalTime startTime,
+                                 LocalTime endTime, String holdToken) throws RemoteException {
+        return requestExecutor.booking("createBooking", () -> {
+            try {
+                // Get customer and station
+                Customer customer = customerDAO.findById(customerId);
+                GamingStation station = stationDAO.findById(stationId);
+
+                if (customer == null) {
+                    throw new RemoteException("Customer not found");
+                }
+                if (station == null) {
+                    throw new RemoteException("Gaming station not found");
+                }
+
+                Booking booking;
+                // Conflict check and insert must not interleave with another desk's
+                StationDayLocks.Held locked = stationLocks.lock(stationId, date);
+                try {
+                    // Checked under the lock, and only used up once the booking is saved
+                    boolean held = holdToken != null && startTime != null && endTime != null
+                            && slotHolds.covers(holdToken, stationId, date, startTime, endTime);
+                    if (!held && startTime != null && endTime != null
+                            && slotHolds.isHeld(stationId, date, startTime, endTime)) {
+                        throw new RemoteException("This slot is being booked at another desk, please pick another");
+                    }
+
+                    // Validate booking
+                    ValidationResult result = ValidationUtil.validateBookingCreation(
+                        customer, station, date, startTime, endTime, bookingDAO
+                    );
+
+                    if (!result.isSuccess()) {
+                        throw new RemoteException(result.getMessage());
+                    }
+
+                    // Create booking
+                    booking = new Booking(customer, station, date, startTime, endTime);
+                    booking.calculateDurationAndAmount();
+                    // Paid from the balance below, so confirmed from the start
+                    booking.confirm();
+
+                    // Check sufficient balance (BUSINESS RULE #4)
+                    result = ValidationUtil.validateSufficientBalance(customer, booking.getTotalAmount());
+                    if (!result.isSuccess()) {
+                        throw new RemoteException(result.getMessage());
+                    }
+
+                    // Save booking, deduct the balance and record the payment together
+                    Transaction transaction = new Transaction(
+                        customer,
+                        TransactionType.BOOKING_PAYMENT,
+                        booking.getTotalAmount(),
+                        PaymentMethod.ACCOUNT_BALANCE
+                    );
+                    booking = bookingDAO.saveWithPayment(booking, customerId, transaction);
+                    if (held) {
+                        slotHolds.claim(holdToken, stationId, date, startTime, endTime);
+                    }
+                    onBookingCreated(booking);
+                    onTransactionCreated(transaction);
+                } finally {
+                    locked.close();
+                }
+
+                // Send notification
+                Notification notification = new Notification(
+                    customer.getUser(),
+                    NotificationType.BOOKING_CONFIRMATION,
+                    String.format("Booking confirmed! Station: %s, Date: %s, Time: %s-%s",
+                        station.getStationName(), date, startTime, endTime)
+                );
+                notificationDAO.save(notification);
+                onNotificationCreated(notification);
+
+                // Send email notification via ActiveMQ
+                messageProducer.sendBookingConfirmation(
+                    customer.getUser().getEmail(),
+                    customer.getFullName(),
+                    station.getStationName(),
+                    date.toString(),
+                    startTime + " - " + endTime
+                );
 
-            // Check sufficient balance (BUSINESS RULE #4)
-            result = ValidationUtil.validateSufficientBalance(customer, booking.getTotalAmount());
-            if (!result.isSuccess()) {
-                throw new RemoteException(result.getMessage());
+                logger.info("Booking created successfully: {}", booking.getBookingId());
+                return booking;
+
+            } catch (RemoteException e) {
+                throw e;
+            } catch (IllegalStateException e) {
+                // Lock wait timed out
+                throw new RemoteException(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error creating booking: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to create booking", e);
             }
-
-            // Save booking
-            booking = bookingDAO.save(booking);
-
-            // Deduct amount from customer balance
-            customer.deductBalance(booking.getTotalAmount());
-            customerDAO.update(customer);
-
-            // Create transaction record
-            Transaction transaction = new Transaction(
-                customer,
-                TransactionType.BOOKING_PAYMENT,
-                booking.getTotalAmount(),
-                PaymentMethod.ACCOUNT_BALANCE
-            );
-            transaction.setDescription("Booking #" + booking.getBookingId());
-            transactionDAO.save(transaction);
-
-            // Send notification
-            Notification notification = new Notification(
-                customer.getUser(),
-                NotificationType.BOOKING_CONFIRMATION,
-                String.format("Booking confirmed! Station: %s, Date: %s, Time: %s-%s",
-                    station.getStationName(), date, startTime, endTime)
-            );
-            notificationDAO.save(notification);
-
-            // Send email notification via ActiveMQ
-            messageProducer.sendBookingConfirmation(
-                customer.getUser().getEmail(),
-                customer.getFullName(),
-                station.getStationName(),
-                date.toString(),
-                startTime + " - " + endTime
-            );
-
-            logger.info("Booking created successfully: {}", booking.getBookingId());
-            return booking;
-
-        } catch (RemoteException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error creating booking: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to create booking", e);
-        }
+        });
     }
 
     @Override
     public Booking updateBooking(Booking booking) throws RemoteException {
-        try {
-            return bookingDAO.update(booking);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update booking", e);
-        }
+        return requestExecutor.booking("updateBooking", () -> {
+            try {
+                BookingDAO.BookingKey previous = booking.getBookingId() != null
+                        ? bookingDAO.findKey(booking.getBookingId()) : null;
+                Booking updated = bookingDAO.update(booking);
+                onBookingUpdated(updated, previous);
+                return updated;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update booking", e);
+            }
+        });
     }
 
     @Override
     public void deleteBooking(Long bookingId) throws RemoteException {
-        try {
-            bookingDAO.delete(bookingId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete booking", e);
-        }
+        requestExecutor.booking("deleteBooking", () -> {
+            try {
+                Booking booking = bookingDAO.findById(bookingId);
+                bookingDAO.delete(bookingId);
+                if (booking != null) {
+                    onBookingDeleted(booking);
+                }
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete booking", e);
+            }
+            return null;
+        });
     }
 
     @Override
     public Booking getBookingById(Long bookingId) throws RemoteException {
-        try {
-            return bookingDAO.findById(bookingId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get booking", e);
-        }
+        return requestExecutor.light("getBookingById", () -> {
+            try {
+                return bookingDAO.findById(bookingId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get booking", e);
+            }
+        });
     }
 
     @Override
     public List<Booking> getAllBookings() throws RemoteException {
-        try {
-            return bookingDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all bookings", e);
-        }
+        return requestExecutor.light("getAllBookings", () -> {
+            try {
+                return bookingDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all bookings", e);
+            }
+        });
     }
 
     @Override
     public List<Booking> getBookingsByCustomerId(Long customerId) throws RemoteException {
-        try {
-            return bookingDAO.findByCustomerId(customerId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get customer bookings", e);
-        }
+        return requestExecutor.light("getBookingsByCustomerId", () -> {
+            try {
+                return bookingDAO.findByCustomerId(customerId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get customer bookings", e);
+            }
+        });
     }
 
     @Override
     public List<Booking> getBookingsByStationId(Long stationId) throws RemoteException {
-        try {
-            return bookingDAO.findByStationId(stationId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get station bookings", e);
-        }
+        return requestExecutor.light("getBookingsByStationId", () -> {
+            try {
+                return bookingDAO.findByStationId(stationId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get station bookings", e);
+            }
+        });
     }
 
     @Override
     public List<Booking> getUpcomingBookings() throws RemoteException {
-        try {
-            return bookingDAO.getUpcomingBookings();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get upcoming bookings", e);
-        }
+        return requestExecutor.light("getUpcomingBookings", () -> {
+            try {
+                return bookingDAO.getUpcomingBookings();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get upcoming bookings", e);
+            }
+        });
     }
 
     @Override
     public boolean isSlotAvailable(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) throws RemoteException {
+        return requestExecutor.light("isSlotAvailable", () -> {
+            try {
+                return !bookingDAO.hasConflict(stationId, date, startTime, endTime);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to check slot availability", e);
+            }
+        });
+    }
+
+    @Override
+    public SlotHold holdSlot(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime)
+            throws RemoteException {
+        checkRateLimit("hold", null);
+        if (stationId == null || date == null || startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            throw new RemoteException("A hold needs a station, a date and a start time before its end time");
+        }
+        if (date.isBefore(LocalDate.now())) {
+            throw new RemoteException("Cannot hold past dates");
+        }
+        return requestExecutor.light("holdSlot", () -> {
+            try {
+                int[] blocked = bookingCalendar.blocked(stationId, date);
+                boolean booked = blocked != null
+                        ? BookingCalendar.overlaps(blocked, startTime.toSecondOfDay(), endTime.toSecondOfDay())
+                        : bookingDAO.hasConflict(stationId, date, startTime, endTime);
+                if (booked) {
+                    throw new RemoteException("This station is already booked for the selected time slot");
+                }
+                SlotHold hold = slotHolds.hold(stationId, date, startTime, endTime);
+                if (hold == null) {
+                    throw new RemoteException("This slot is being booked at another desk, please pick another");
+                }
+                return hold;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to hold slot", e);
+            }
+        });
+    }
+
+    @Override
+    public boolean releaseSlotHold(String token) throws RemoteException {
+        try {
+            return token != null && slotHolds.release(token);
+        } catch (Exception e) {
+            throw new RemoteException("Failed to release slot hold", e);
+        }
+    }
+
+    @Override
+    public RecurringBookingResult createRecurringBookings(RecurringBookingRequest request) throws RemoteException {
+        if (request == null || request.getCustomerId() == null || request.getStationId() == null
+                || request.getFirstDate() == null || request.getStartTime() == null || request.getEndTime() == null) {
+            throw new RemoteException("All booking details are required");
+        }
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new RemoteException("Start time must be before end time");
+        }
+        if (request.getOccurrences() < 1 || request.getOccurrences() > MAX_OCCURRENCES) {
+            throw new RemoteException("Occurrences must be between 1 and " + MAX_OCCURRENCES);
+        }
+        if (request.getFirstDate().isBefore(LocalDate.now()) || (request.getFirstDate().isEqual(LocalDate.now())
+                && request.getStartTime().isBefore(LocalTime.now()))) {
+            throw new RemoteException("Cannot book for past dates");
+        }
+        return requestExecutor.booking("createRecurringBookings", () -> {
+            try {
+                Customer customer = customerDAO.findById(request.getCustomerId());
+                GamingStation station = stationDAO.findById(request.getStationId());
+                if (customer == null) {
+                    throw new RemoteException("Customer not found");
+                }
+                if (station == null) {
+                    throw new RemoteException("Gaming station not found");
+                }
+                ValidationResult result = ValidationUtil.validateMembershipExpiry(customer);
+                if (result.isError()) {
+                    throw new RemoteException(result.getMessage());
+                }
+
+                LocalTime startTime = request.getStartTime();
+                LocalTime endTime = request.getEndTime();
+                List<LocalDate> dates = new ArrayList<>();
+                for (int i = 0; i < request.getOccurrences(); i++) {
+                    dates.add(request.occurrenceDate(i));
+                }
+                int start = startTime.toSecondOfDay();
+                int end = endTime.toSecondOfDay();
+
+                List<Booking> bookings = new ArrayList<>();
+                List<LocalDate> conflicts = new ArrayList<>();
+                BigDecimal total = BigDecimal.ZERO;
+                Transaction payment;
+                StationDayLocks.Held locked = stationLocks.lockAll(List.of(station.getStationId()), dates);
+                try {
+                    // One range scan covers every occurrence instead of a COUNT per date
+                    Map<LocalDate, Map<Long, int[]>> blocked = BookingCalendar.toDays(bookingDAO.findBlockedIntervals(
+                            DateTimeRange.ofDays(dates.get(0), dates.get(dates.size() - 1)), station.getStationId()));
+                    for (LocalDate date : dates) {
+                        int[] intervals = blocked.getOrDefault(date, Map.of()).get(station.getStationId());
+                        if ((intervals != null && BookingCalendar.overlaps(intervals, start, end))
+                                || slotHolds.isHeld(station.getStationId(), date, startTime, endTime)) {
+                            conflicts.add(date);
+                            continue;
+                        }
+                        Booking booking = new Booking(customer, station, date, startTime, endTime);
+                        booking.calculateDurationAndAmount();
+                        total = total.add(booking.getTotalAmount());
+                        bookings.add(booking);
+                    }
+                    if (!conflicts.isEmpty() && request.getConflictPolicy() != ConflictPolicy.SKIP) {
+                        throw new RemoteException("Booking conflict! This station is already booked on " + conflicts);
+                    }
+                    if (bookings.isEmpty()) {
+                        throw new RemoteException("Booking conflict! This station is already booked on every requested date");
+                    }
+                    payment = payForBookings(customer, bookings, total, String.format("Recurring booking: %d x %s from %s",
+                            bookings.size(), station.getStationName(), bookings.get(0).getBookingDate()));
+                } finally {
+                    locked.close();
+                }
+
+                String span = bookings.get(0).getBookingDate() + " to " + bookings.get(bookings.size() - 1).getBookingDate();
+                Notification notification = new Notification(
+                    customer.getUser(),
+                    NotificationType.BOOKING_CONFIRMATION,
+                    String.format("%d bookings confirmed! Station: %s, Dates: %s, Time: %s-%s",
+                        bookings.size(), station.getStationName(), span, startTime, endTime)
+                );
+                notificationDAO.save(notification);
+                onNotificationCreated(notification);
+
+                messageProducer.sendBookingConfirmation(
+                    customer.getUser().getEmail(),
+                    customer.getFullName(),
+                    station.getStationName(),
+                    span,
+                    startTime + " - " + endTime
+                );
+
+                RecurringBookingResult outcome = new RecurringBookingResult();
+                outcome.setBookings(bookings);
+                outcome.setSkippedDates(conflicts);
+                outcome.setTotalAmount(total);
+                outcome.setPayment(payment);
+                logger.info("Recurring booking created: {} booking(s) of station {}, {} skipped",
+                        bookings.size(), station.getStationId(), conflicts.size());
+                return outcome;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (IllegalStateException e) {
+                // Lock wait timed out
+                throw new RemoteException(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error creating recurring booking: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to create recurring booking", e);
+            }
+        });
+    }
+
+    @Override
+    public GroupBookingResult createGroupBooking(Long customerId, List<Long> stationIds, LocalDate date,
+                                                 LocalTime startTime, LocalTime endTime) throws RemoteException {
+        if (customerId == null || stationIds == null || stationIds.isEmpty() || date == null
+                || startTime == null || endTime == null) {
+            throw new RemoteException("All booking details are required");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new RemoteException("Start time must be before end time");
+        }
+        List<Long> ids = stationIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() != stationIds.size() || ids.size() > MAX_GROUP_STATIONS) {
+            throw new RemoteException("A group booking needs up to " + MAX_GROUP_STATIONS + " distinct stations");
+        }
+        if (date.isBefore(LocalDate.now()) || (date.isEqual(LocalDate.now()) && startTime.isBefore(LocalTime.now()))) {
+            throw new RemoteException("Cannot book for past dates");
+        }
+        return requestExecutor.booking("createGroupBooking", () -> {
+            try {
+                Customer customer = customerDAO.findById(customerId);
+                if (customer == null) {
+                    throw new RemoteException("Customer not found");
+                }
+                List<GamingStation> stations = stationDAO.findByIds(ids);
+                if (stations.size() != ids.size()) {
+                    throw new RemoteException("Gaming station not found");
+                }
+                ValidationResult result = ValidationUtil.validateMembershipExpiry(customer);
+                if (result.isError()) {
+                    throw new RemoteException(result.getMessage());
+                }
+
+                List<Booking> bookings = new ArrayList<>();
+                BigDecimal total = BigDecimal.ZERO;
+                Transaction payment;
+                StationDayLocks.Held locked = stationLocks.lockAll(ids, List.of(date));
+                try {
+                    // All stations are checked before anything is written, so a conflict books none
+                    List<Long> busy = new ArrayList<>(bookingDAO.findBusyStationIds(date, startTime, endTime));
+                    busy.retainAll(ids);
+                    for (Long stationId : ids) {
+                        if (!busy.contains(stationId) && slotHolds.isHeld(stationId, date, startTime, endTime)) {
+                            busy.add(stationId);
+                        }
+                    }
+                    if (!busy.isEmpty()) {
+                        throw new RemoteException("Booking conflict! These stations are already booked: " + busy);
+                    }
+                    for (GamingStation station : stations) {
+                        Booking booking = new Booking(customer, station, date, startTime, endTime);
+                        booking.calculateDurationAndAmount();
+                        total = total.add(booking.getTotalAmount());
+                        bookings.add(booking);
+                    }
+                    payment = payForBookings(customer, bookings, total, String.format("Group booking: %d stations on %s %s-%s",
+                            bookings.size(), date, startTime, endTime));
+                } finally {
+                    locked.close();
+                }
+
+                Notification notification = new Notification(
+                    customer.getUser(),
+                    NotificationType.BOOKING_CONFIRMATION,
+                    String.format("Group booking confirmed! %d stations, Date: %s, Time: %s-%s",
+                        bookings.size(), date, startTime, endTime)
+                );
+                notificationDAO.save(notification);
+                onNotificationCreated(notification);
+
+                messageProducer.sendBookingConfirmation(
+                    customer.getUser().getEmail(),
+                    customer.getFullName(),
+                    bookings.size() + " stations",
+                    date.toString(),
+                    startTime + " - " + endTime
+                );
+
+                GroupBookingResult outcome = new GroupBookingResult();
+                outcome.setBookings(bookings);
+                outcome.setTotalAmount(total);
+                outcome.setPayment(payment);
+                logger.info("Group booking created: {} station(s) on {} for customer {}",
+                        bookings.size(), date, customerId);
+                return outcome;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (IllegalStateException e) {
+                // Lock wait timed out
+                throw new RemoteException(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error creating group booking: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to create group booking", e);
+            }
+        });
+    }
+
+    @Override
+    public WaitlistEntry joinWaitlist(Long customerId, StationType stationType, LocalDate date,
+                                      LocalTime startTime, LocalTime endTime, boolean autoBook) throws RemoteException {
+        if (customerId == null || stationType == null || date == null || startTime == null || endTime == null) {
+            throw new RemoteException("All waitlist details are required");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new RemoteException("Start time must be before end time");
+        }
+        if (!date.atTime(startTime).isAfter(LocalDateTime.now())) {
+            throw new RemoteException("Cannot wait for a slot that has already started");
+        }
+        return requestExecutor.light("joinWaitlist", () -> {
+            try {
+                Customer customer = customerDAO.findById(customerId);
+                if (customer == null) {
+                    throw new RemoteException("Customer not found");
+                }
+                ValidationResult result = ValidationUtil.validateMembershipExpiry(customer);
+                if (result.isError()) {
+                    throw new RemoteException(result.getMessage());
+                }
+                if (waitlistDAO.isWaiting(customerId, stationType, date, startTime, endTime)) {
+                    throw new RemoteException("Already on the waitlist for this slot");
+                }
+                WaitlistEntry entry = waitlistDAO.save(
+                        new WaitlistEntry(customer, stationType, date, startTime, endTime, autoBook));
+                waitlist.joined(entry);
+                logger.info("Customer {} joined the {} waitlist for {} {}-{}", customerId, stationType, date,
+                        startTime, endTime);
+                return entry;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error joining waitlist: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to join waitlist", e);
+            }
+        });
+    }
+
+    @Override
+    public boolean leaveWaitlist(Long entryId) throws RemoteException {
         try {
-            return !bookingDAO.hasConflict(stationId, date, startTime, endTime);
+            return entryId != null && waitlist.leave(entryId);
         } catch (Exception e) {
-            throw new RemoteException("Failed to check slot availability", e);
+            throw new RemoteException("Failed to leave waitlist", e);
         }
     }
 
+    @Override
+    public List<WaitlistEntry> getWaitlistByCustomerId(Long customerId) throws RemoteException {
+        return requestExecutor.light("getWaitlistByCustomerId", () -> {
+            try {
+                return waitlistDAO.findByCustomerId(customerId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get waitlist", e);
+            }
+        });
+    }
+
+    /**
+     * Book a freed slot for a waiting customer who asked for that, otherwise
+     * (or when the booking fails, e.g. on balance) tell them it is free
+     */
+    private Waitlist.Outcome promoteFromWaitlist(Waitlist.Waiting waiting, GamingStation station) {
+        Long stationId = station.getStationId();
+        if (slotHolds.isHeld(stationId, waiting.date(), waiting.startTime(), waiting.endTime())
+                || bookingDAO.hasConflict(stationId, waiting.date(), waiting.startTime(), waiting.endTime())) {
+            return Waitlist.Outcome.SLOT_TAKEN;
+        }
+        if (waiting.autoBook()) {
+            try {
+                Booking booking = createBooking(waiting.customerId(), stationId, waiting.date(),
+                        waiting.startTime(), waiting.endTime());
+                waitlistDAO.resolve(waiting.entryId(), WaitlistStatus.BOOKED, booking.getBookingId());
+                logger.info("Waitlist entry {} booked as booking {}", waiting.entryId(), booking.getBookingId());
+                return Waitlist.Outcome.PROMOTED;
+            } catch (RemoteException e) {
+                logger.info("Waitlist entry {} could not be booked ({}), offering instead",
+                        waiting.entryId(), e.getMessage());
+            }
+        }
+        if (!waitlistDAO.resolve(waiting.entryId(), WaitlistStatus.OFFERED, null)) {
+            return Waitlist.Outcome.GONE;
+        }
+        Customer customer = customerDAO.findById(waiting.customerId());
+        if (customer == null) {
+            return Waitlist.Outcome.GONE;
+        }
+        String message = String.format("A %s station opened up! Station: %s, Date: %s, Time: %s-%s. Book it soon.",
+                waiting.stationType(), station.getStationName(), waiting.date(), waiting.startTime(), waiting.endTime());
+        Notification notification = new Notification(customer.getUser(), NotificationType.SYSTEM, message);
+        notificationDAO.save(notification);
+        onNotificationCreated(notification);
+        messageProducer.sendNotification(customer.getUser().getEmail(), "Waitlist: a slot is free", message);
+        logger.info("Waitlist entry {} offered station {}", waiting.entryId(), stationId);
+        return Waitlist.Outcome.PROMOTED;
+    }
+
+    /**
+     * Check the balance, then save bookings together with one payment for their total
+     * @return the payment
+     */
+    private Transaction payForBookings(Customer customer, List<Booking> bookings, BigDecimal total,
+                                       String description) throws RemoteException {
+        ValidationResult result = ValidationUtil.validateSufficientBalance(customer, total);
+        if (!result.isSuccess()) {
+            throw new RemoteException(result.getMessage());
+        }
+        Transaction payment = new Transaction(customer, TransactionType.BOOKING_PAYMENT, total,
+                PaymentMethod.ACCOUNT_BALANCE);
+        payment.setDescription(description);
+        bookingDAO.saveAllWithPayment(bookings, customer.getCustomerId(), payment);
+        bookings.forEach(this::onBookingCreated);
+        onTransactionCreated(payment);
+        return payment;
+    }
+
+    @Override
+    public List<AvailableSlot> findNextAvailableSlots(StationType stationType, int durationMinutes,
+                                                      LocalDateTime fromDateTime, int limit) throws RemoteException {
+        if (durationMinutes <= 0 || durationMinutes > 24 * 60) {
+            throw new RemoteException("Duration must be between 1 minute and 24 hours");
+        }
+        return requestExecutor.light("findNextAvailableSlots", () -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime from = fromDateTime == null || fromDateTime.isBefore(now) ? now : fromDateTime;
+                return slotFinder.findNextAvailableSlots(stationType, durationMinutes, from, limit);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to find available slots", e);
+            }
+        });
+    }
+
     // ============================================
     // MEMBERSHIP CARD MANAGEMENT
     // ============================================
 
     @Override
     public MembershipCard createMembershipCard(MembershipCard card) throws RemoteException {
-        try {
-            return membershipDAO.save(card);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to create membership card", e);
-        }
+        return requestExecutor.light("createMembershipCard", () -> {
+            try {
+                MembershipCard saved = membershipDAO.save(card);
+                cardChanged(saved);
+                return saved;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create membership card", e);
+            }
+        });
     }
 
     @Override
     public MembershipCard updateMembershipCard(MembershipCard card) throws RemoteException {
-        try {
-            return membershipDAO.update(card);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update membership card", e);
-        }
+        return requestExecutor.light("updateMembershipCard", () -> {
+            try {
+                MembershipCard updated = membershipDAO.update(card);
+                cardChanged(updated);
+                return updated;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update membership card", e);
+            }
+        });
     }
 
     @Override
     public void deleteMembershipCard(Long cardId) throws RemoteException {
-        try {
-            membershipDAO.delete(cardId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete membership card", e);
-        }
+        requestExecutor.light("deleteMembershipCard", () -> {
+            try {
+                membershipDAO.delete(cardId);
+                customerIndex.cardDeleted(cardId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete membership card", e);
+            }
+            return null;
+        });
     }
 
     @Override
     public MembershipCard getMembershipCardById(Long cardId) throws RemoteException {
-        try {
-            return membershipDAO.findById(cardId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get membership card", e);
-        }
+        return requestExecutor.light("getMembershipCardById", () -> {
+            try {
+                return membershipDAO.findById(cardId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get membership card", e);
+            }
+        });
     }
 
     @Override
     public MembershipCard getMembershipCardByCustomerId(Long customerId) throws RemoteException {
-        try {
-            return membershipDAO.findByCustomerId(customerId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get membership card by customer", e);
-        }
+        return requestExecutor.light("getMembershipCardByCustomerId", () -> {
+            try {
+                return membershipDAO.findByCustomerId(customerId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get membership card by customer", e);
+            }
+        });
     }
 
     @Override
     public List<MembershipCard> getAllMembershipCards() throws RemoteException {
-        try {
-            return membershipDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all membership cards", e);
-        }
+        return requestExecutor.light("getAllMembershipCards", () -> {
+            try {
+                return membershipDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all membership cards", e);
+            }
+        });
     }
 
     // ============================================
@@ -727,134 +1553,150 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public Tournament createTournament(Tournament tournament) throws RemoteException {
-        try {
-            // Validate dates
-            ValidationResult result = ValidationUtil.validateDateRange(
-                tournament.getStartDate(),
-                tournament.getEndDate()
-            );
-            if (!result.isSuccess()) {
-                throw new RemoteException(result.getMessage());
+        return requestExecutor.light("createTournament", () -> {
+            try {
+                // Validate dates
+                ValidationResult result = ValidationUtil.validateDateRange(
+                    tournament.getStartDate(),
+                    tournament.getEndDate()
+                );
+                if (!result.isSuccess()) {
+                    throw new RemoteException(result.getMessage());
+                }
+                return tournamentDAO.save(tournament);
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create tournament", e);
             }
-            return tournamentDAO.save(tournament);
-        } catch (RemoteException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RemoteException("Failed to create tournament", e);
-        }
+        });
     }
 
     @Override
     public Tournament updateTournament(Tournament tournament) throws RemoteException {
-        try {
-            return tournamentDAO.update(tournament);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to update tournament", e);
-        }
+        return requestExecutor.light("updateTournament", () -> {
+            try {
+                return tournamentDAO.update(tournament);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to update tournament", e);
+            }
+        });
     }
 
     @Override
     public void deleteTournament(Long tournamentId) throws RemoteException {
-        try {
-            tournamentDAO.delete(tournamentId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to delete tournament", e);
-        }
+        requestExecutor.light("deleteTournament", () -> {
+            try {
+                tournamentDAO.delete(tournamentId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete tournament", e);
+            }
+            return null;
+        });
     }
 
     @Override
     public Tournament getTournamentById(Long tournamentId) throws RemoteException {
-        try {
-            return tournamentDAO.findById(tournamentId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get tournament", e);
-        }
+        return requestExecutor.light("getTournamentById", () -> {
+            try {
+                return tournamentDAO.findById(tournamentId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get tournament", e);
+            }
+        });
     }
 
     @Override
     public List<Tournament> getAllTournaments() throws RemoteException {
-        try {
-            return tournamentDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all tournaments", e);
-        }
+        return requestExecutor.light("getAllTournaments", () -> {
+            try {
+                return tournamentDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all tournaments", e);
+            }
+        });
     }
 
     @Override
     public List<Tournament> getUpcomingTournaments() throws RemoteException {
-        try {
-            return tournamentDAO.getUpcomingTournaments();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get upcoming tournaments", e);
-        }
+        return requestExecutor.light("getUpcomingTournaments", () -> {
+            try {
+                return tournamentDAO.getUpcomingTournaments();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get upcoming tournaments", e);
+            }
+        });
     }
 
     @Override
     public TournamentParticipant registerForTournament(Long tournamentId, Long customerId, String teamName) throws RemoteException {
-        try {
-            Tournament tournament = tournamentDAO.findById(tournamentId);
-            Customer customer = customerDAO.findById(customerId);
-
-            if (tournament == null || customer == null) {
-                throw new RemoteException("Tournament or Customer not found");
-            }
-
-            // Validate tournament registration (BUSINESS RULE #5)
-            ValidationResult result = ValidationUtil.validateTournamentRegistration(tournament, customer);
-            if (!result.isSuccess()) {
-                throw new RemoteException(result.getMessage());
-            }
-
-            // Create participant
-            TournamentParticipant participant = new TournamentParticipant(tournament, customer, teamName);
+        return requestExecutor.light("registerForTournament", () -> {
+            try {
+                Tournament tournament = tournamentDAO.findById(tournamentId);
+                Customer customer = customerDAO.findById(customerId);
+
+                if (tournament == null || customer == null) {
+                    throw new RemoteException("Tournament or Customer not found");
+                }
+
+                // Validate tournament registration (BUSINESS RULE #5)
+                ValidationResult result = ValidationUtil.validateTournamentRegistration(tournament, customer);
+                if (!result.isSuccess()) {
+                    throw new RemoteException(result.getMessage());
+                }
+
+                // Create participant
+                TournamentParticipant participant = new TournamentParticipant(tournament, customer, teamName);
             
-            // This would need a TournamentParticipantDAO - implement similarly
-            // For now, we'll increment tournament participants
-            tournament.incrementParticipants();
-            tournamentDAO.update(tournament);
-
-            // Deduct entry fee if applicable
-            if (tournament.getEntryFee().compareTo(BigDecimal.ZERO) > 0) {
-                customer.deductBalance(tournament.getEntryFee());
-                customerDAO.update(customer);
-
-                Transaction transaction = new Transaction(
-                    customer,
-                    TransactionType.TOURNAMENT_FEE,
-                    tournament.getEntryFee(),
-                    PaymentMethod.ACCOUNT_BALANCE
+                // This would need a TournamentParticipantDAO - implement similarly
+                // For now, we'll increment tournament participants
+                tournament.incrementParticipants();
+                tournamentDAO.update(tournament);
+
+                // Deduct entry fee if applicable
+                if (tournament.getEntryFee().compareTo(BigDecimal.ZERO) > 0) {
+                    Transaction transaction = new Transaction(
+                        customer,
+                        TransactionType.TOURNAMENT_FEE,
+                        tournament.getEntryFee(),
+                        PaymentMethod.ACCOUNT_BALANCE
+                    );
+                    transaction.setDescription("Tournament Entry: " + tournament.getTournamentName());
+                    customerDAO.applyPayment(customerId, tournament.getEntryFee().negate(), transaction);
+                    onTransactionCreated(transaction);
+                }
+
+                // Send notification
+                Notification notification = new Notification(
+                    customer.getUser(),
+                    NotificationType.TOURNAMENT_UPDATE,
+                    "Successfully registered for tournament: " + tournament.getTournamentName()
                 );
-                transaction.setDescription("Tournament Entry: " + tournament.getTournamentName());
-                transactionDAO.save(transaction);
-            }
+                notificationDAO.save(notification);
+                onNotificationCreated(notification);
 
-            // Send notification
-            Notification notification = new Notification(
-                customer.getUser(),
-                NotificationType.TOURNAMENT_UPDATE,
-                "Successfully registered for tournament: " + tournament.getTournamentName()
-            );
-            notificationDAO.save(notification);
+                logger.info("Customer {} registered for tournament {}", customerId, tournamentId);
+                return participant;
 
-            logger.info("Customer {} registered for tournament {}", customerId, tournamentId);
-            return participant;
-
-        } catch (RemoteException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error registering for tournament: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to register for tournament", e);
-        }
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error registering for tournament: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to register for tournament", e);
+            }
+        });
     }
 
     @Override
     public List<TournamentParticipant> getTournamentParticipants(Long tournamentId) throws RemoteException {
-        try {
-            // Would need TournamentParticipantDAO
-            return List.of();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get tournament participants", e);
-        }
+        return requestExecutor.light("getTournamentParticipants", () -> {
+            try {
+                // Would need TournamentParticipantDAO
+                return List.of();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get tournament participants", e);
+            }
+        });
     }
 
     // ============================================
@@ -863,69 +1705,80 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public Transaction createTransaction(Transaction transaction) throws RemoteException {
-        try {
-            return transactionDAO.save(transaction);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to create transaction", e);
-        }
+        return requestExecutor.light("createTransaction", () -> {
+            try {
+                Transaction saved = transactionDAO.save(transaction);
+                onTransactionCreated(saved);
+                return saved;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create transaction", e);
+            }
+        });
     }
 
     @Override
     public Transaction getTransactionById(Long transactionId) throws RemoteException {
-        try {
-            return transactionDAO.findById(transactionId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get transaction", e);
-        }
+        return requestExecutor.light("getTransactionById", () -> {
+            try {
+                return transactionDAO.findById(transactionId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get transaction", e);
+            }
+        });
     }
 
     @Override
     public List<Transaction> getAllTransactions() throws RemoteException {
-        try {
-            return transactionDAO.findAll();
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get all transactions", e);
-        }
+        return requestExecutor.light("getAllTransactions", () -> {
+            try {
+                return transactionDAO.findAll();
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get all transactions", e);
+            }
+        });
     }
 
     @Override
     public List<Transaction> getTransactionsByCustomerId(Long customerId) throws RemoteException {
-        try {
-            return transactionDAO.findByCustomerId(customerId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get customer transactions", e);
-        }
+        return requestExecutor.light("getTransactionsByCustomerId", () -> {
+            try {
+                return transactionDAO.findByCustomerId(customerId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get customer transactions", e);
+            }
+        });
     }
 
     @Override
     public boolean addBalance(Long customerId, double amount, String paymentMethod) throws RemoteException {
-        try {
-            Customer customer = customerDAO.findById(customerId);
-            if (customer == null) {
-                throw new RemoteException("Customer not found");
-            }
-
-            BigDecimal depositAmount = BigDecimal.valueOf(amount);
-            customer.addBalance(depositAmount);
-            customerDAO.update(customer);
-
-            // Create transaction record
-            Transaction transaction = new Transaction(
-                customer,
-                TransactionType.DEPOSIT,
-                depositAmount,
-                PaymentMethod.valueOf(paymentMethod.toUpperCase())
-            );
-            transaction.setDescription("Account top-up");
-            transactionDAO.save(transaction);
-
-            logger.info("Balance added for customer {}: {}", customerId, amount);
-            return true;
+        return requestExecutor.light("addBalance", () -> {
+            try {
+                Customer customer = customerDAO.findById(customerId);
+                if (customer == null) {
+                    throw new RemoteException("Customer not found");
+                }
 
-        } catch (Exception e) {
-            logger.error("Error adding balance: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to add balance", e);
-        }
+                BigDecimal depositAmount = BigDecimal.valueOf(amount);
+
+                // Credit the balance and record the deposit together
+                Transaction transaction = new Transaction(
+                    customer,
+                    TransactionType.DEPOSIT,
+                    depositAmount,
+                    PaymentMethod.valueOf(paymentMethod.toUpperCase())
+                );
+                transaction.setDescription("Account top-up");
+                customerDAO.applyPayment(customerId, depositAmount, transaction);
+                onTransactionCreated(transaction);
+
+                logger.info("Balance added for customer {}: {}", customerId, amount);
+                return true;
+
+            } catch (Exception e) {
+                logger.error("Error adding balance: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to add balance", e);
+            }
+        });
     }
 
     // ============================================
@@ -934,147 +1787,549 @@ public class RemoteServiceImpl extends UnicastRemoteObject implements RemoteServ
 
     @Override
     public List<Notification> getNotificationsByUserId(Long userId) throws RemoteException {
-        try {
-            return notificationDAO.findByUserId(userId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get notifications", e);
-        }
+        return requestExecutor.light("getNotificationsByUserId", () -> {
+            try {
+                return notificationDAO.findByUserId(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get notifications", e);
+            }
+        });
     }
 
     @Override
     public List<Notification> getUnreadNotifications(Long userId) throws RemoteException {
-        try {
-            return notificationDAO.getUnreadNotifications(userId);
-        } catch (Exception e) {
-            throw new RemoteException("Failed to get unread notifications", e);
-        }
+        return requestExecutor.light("getUnreadNotifications", () -> {
+            try {
+                return notificationDAO.getUnreadNotifications(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get unread notifications", e);
+            }
+        });
     }
 
     @Override
     public void markNotificationAsRead(Long notificationId) throws RemoteException {
-        try {
-            Notification notification = notificationDAO.findById(notificationId);
-            if (notification != null) {
-                notification.markAsRead();
-                notificationDAO.update(notification);
+        requestExecutor.light("markNotificationAsRead", () -> {
+            try {
+                notificationDAO.markAsRead(List.of(notificationId));
+            } catch (Exception e) {
+                throw new RemoteException("Failed to mark notification as read", e);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int markNotificationsAsRead(List<Long> notificationIds) throws RemoteException {
+        return requestExecutor.light("markNotificationsAsRead", () -> {
+            try {
+                return notificationDAO.markAsRead(notificationIds);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to mark notifications as read", e);
+            }
+        });
+    }
+
+    @Override
+    public int markAllNotificationsAsRead(Long userId) throws RemoteException {
+        return requestExecutor.light("markAllNotificationsAsRead", () -> {
+            try {
+                return notificationDAO.markAllAsRead(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to mark all notifications as read", e);
+            }
+        });
+    }
+
+    @Override
+    public int getUnreadNotificationCount(Long userId) throws RemoteException {
+        return requestExecutor.light("getUnreadNotificationCount", () -> {
+            try {
+                return notificationDAO.countUnread(userId);
+            } catch (Exception e) {
+                throw new RemoteException("Failed to get unread notification count", e);
+            }
+        });
+    }
+
+    // ============================================
+    // BULK OPERATIONS
+    // ============================================
+
+    @Override
+    public List<GamingStation> createGamingStations(List<GamingStation> stations) throws RemoteException {
+        return requestExecutor.heavy("createGamingStations", () -> {
+            try {
+                for (GamingStation station : stations) {
+                    ValidationResult result = ValidationUtil.validateHourlyRate(station.getHourlyRate());
+                    if (!result.isSuccess()) {
+                        throw new RemoteException(station.getStationName() + ": " + result.getMessage());
+                    }
+                }
+                List<GamingStation> saved = stationDAO.saveAll(stations);
+                saved.forEach(this::onStationChanged);
+                return saved;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to import gaming stations", e);
+            }
+        });
+    }
+
+    @Override
+    public List<Game> createGames(List<Game> games) throws RemoteException {
+        return requestExecutor.heavy("createGames", () -> {
+            try {
+                List<Game> saved = gameDAO.saveAll(games);
+                saved.forEach(gameCatalog::gameChanged);
+                return saved;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to create games", e);
+            }
+        });
+    }
+
+    @Override
+    public int updateBookings(List<Booking> bookings) throws RemoteException {
+        if (bookings == null || bookings.isEmpty()) {
+            return 0;
+        }
+        Set<Long> bookingIds = new HashSet<>();
+        Set<Long> stationIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (Booking booking : bookings) {
+            if (booking == null || booking.getBookingId() == null || booking.getGamingStation() == null
+                    || booking.getGamingStation().getStationId() == null || booking.getBookingDate() == null
+                    || booking.getStartTime() == null || booking.getEndTime() == null || booking.getStatus() == null) {
+                throw new RemoteException("All booking details are required");
+            }
+            if (!booking.getEndTime().isAfter(booking.getStartTime())) {
+                throw new RemoteException("Booking #" + booking.getBookingId() + ": start time must be before end time");
+            }
+            if (!bookingIds.add(booking.getBookingId())) {
+                throw new RemoteException("Booking #" + booking.getBookingId() + " appears more than once");
+            }
+            stationIds.add(booking.getGamingStation().getStationId());
+            dates.add(booking.getBookingDate());
+        }
+        return requestExecutor.heavy("updateBookings", () -> {
+            try {
+                int updated;
+                Map<Long, BookingDAO.BookingKey> previous = new HashMap<>();
+                // Same locks as createBooking, so no desk books into a slot while it is checked here
+                StationDayLocks.Held locked = stationLocks.lockAll(stationIds, dates);
+                try {
+                    checkBulkConflicts(bookings, bookingIds);
+                    for (BookingDAO.BookingKey key : bookingDAO.findKeys(bookingIds)) {
+                        previous.put(key.bookingId(), key);
+                    }
+                    for (Booking booking : bookings) {
+                        booking.calculateDurationAndAmount();
+                    }
+                    updated = bookingDAO.updateAll(bookings);
+                } finally {
+                    locked.close();
+                }
+                for (Booking booking : bookings) {
+                    BookingDAO.BookingKey key = previous.get(booking.getBookingId());
+                    if (key != null) {
+                        onBookingUpdated(booking, key);
+                    }
+                }
+                return updated;
+            } catch (RemoteException e) {
+                throw e;
+            } catch (IllegalStateException e) {
+                // Lock wait timed out
+                throw new RemoteException(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error updating bookings: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to update bookings", e);
+            }
+        });
+    }
+
+    /**
+     * Reject a bulk update that would leave two slot-keeping bookings overlapping,
+     * either with a booking outside the batch or with each other
+     */
+    private void checkBulkConflicts(List<Booking> bookings, Set<Long> bookingIds) throws RemoteException {
+        Map<String, List<Booking>> byStationDay = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (!BookingDAO.BLOCKING_STATUSES.contains(booking.getStatus())) {
+                continue;
+            }
+            Long stationId = booking.getGamingStation().getStationId();
+            if (bookingDAO.hasConflict(stationId, booking.getBookingDate(), booking.getStartTime(),
+                    booking.getEndTime(), bookingIds)) {
+                throw new RemoteException("Booking conflict! Booking #" + booking.getBookingId()
+                        + " overlaps an existing booking");
+            }
+            byStationDay.computeIfAbsent(stationId + "/" + booking.getBookingDate(), k -> new ArrayList<>()).add(booking);
+        }
+        for (List<Booking> sameDay : byStationDay.values()) {
+            sameDay.sort(Comparator.comparing(Booking::getStartTime));
+            for (int i = 1; i < sameDay.size(); i++) {
+                if (sameDay.get(i).getStartTime().isBefore(sameDay.get(i - 1).getEndTime())) {
+                    throw new RemoteException("Booking conflict! Bookings #" + sameDay.get(i - 1).getBookingId()
+                            + " and #" + sameDay.get(i).getBookingId() + " overlap");
+                }
             }
-        } catch (Exception e) {
-            throw new RemoteException("Failed to mark notification as read", e);
         }
     }
 
+    @Override
+    public int deleteBookings(List<Long> bookingIds) throws RemoteException {
+        return requestExecutor.heavy("deleteBookings", () -> {
+            try {
+                List<BookingDAO.BookingKey> keys = bookingDAO.findKeys(bookingIds);
+                int deleted = bookingDAO.deleteAllById(bookingIds);
+                keys.forEach(this::onBookingDeleted);
+                return deleted;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to delete bookings", e);
+            }
+        });
+    }
+
+    @Override
+    public int sendBulkNotification(List<Long> userIds, NotificationType type, String message) throws RemoteException {
+        return requestExecutor.heavy("sendBulkNotification", () -> {
+            try {
+                ValidationResult result = ValidationUtil.validateRequired(message, "Message");
+                if (!result.isSuccess()) {
+                    throw new RemoteException(result.getMessage());
+                }
+
+                List<Notification> notifications = new ArrayList<>(userIds.size());
+                for (Long userId : userIds) {
+                    // Only the user ID is needed for the foreign key
+                    User user = new User();
+                    user.setUserId(userId);
+                    notifications.add(new Notification(user, type, message));
+                }
+                notificationDAO.insertAll(notifications);
+                notifications.forEach(this::onNotificationCreated);
+
+                logger.info("Bulk notification sent to {} users", notifications.size());
+                return notifications.size();
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error sending bulk notification: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to send bulk notification", e);
+            }
+        });
+    }
+
     // ============================================
     // REPORTS & EXPORT
     // ============================================
 
     @Override
     public byte[] generatePDFReport(String reportType) throws RemoteException {
-        try {
-            logger.info("Generating PDF report: {}", reportType);
-            
-            switch (reportType.toUpperCase()) {
-                case "CUSTOMERS":
-                    return PDFExporter.generateCustomerReport(customerDAO.findAll());
-                case "BOOKINGS":
-                    return PDFExporter.generateBookingReport(bookingDAO.findAll());
-                case "REVENUE":
-                    return PDFExporter.generateRevenueReport(transactionDAO.findAll());
-                case "STATIONS":
-                    return PDFExporter.generateStationReport(stationDAO.findAll());
-                default:
-                    throw new RemoteException("Unknown report type: " + reportType);
-            }
-        } catch (RemoteException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error generating PDF report: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to generate PDF report", e);
-        }
+        checkRateLimit("expensive", null);
+        return requestExecutor.heavy("generatePDFReport", () -> renderReport(reportType, ReportFormat.PDF));
     }
 
     @Override
     public byte[] generateExcelReport(String reportType) throws RemoteException {
+        checkRateLimit("expensive", null);
+        return requestExecutor.heavy("generateExcelReport", () -> renderReport(reportType, ReportFormat.EXCEL));
+    }
+
+    @Override
+    public String generateCSVReport(String reportType) throws RemoteException {
+        checkRateLimit("expensive", null);
+        return requestExecutor.heavy("generateCSVReport",
+                () -> new String(renderReport(reportType, ReportFormat.CSV), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Synchronous report generation, served from the report cache when the
+     * underlying data has not changed since the last identical request
+     */
+    private byte[] renderReport(String reportType, ReportFormat format) throws RemoteException {
+        return renderReport(reportType, format, Map.of());
+    }
+
+    private byte[] renderReport(String reportType, ReportFormat format, Map<String, String> params) throws RemoteException {
         try {
-            logger.info("Generating Excel report: {}", reportType);
-            
-            switch (reportType.toUpperCase()) {
-                case "CUSTOMERS":
-                    return ExcelExporter.generateCustomerReport(customerDAO.findAll());
-                case "BOOKINGS":
-                    return ExcelExporter.generateBookingReport(bookingDAO.findAll());
-                case "REVENUE":
-                    return ExcelExporter.generateRevenueReport(transactionDAO.findAll());
-                case "STATIONS":
-                    return ExcelExporter.generateStationReport(stationDAO.findAll());
-                default:
-                    throw new RemoteException("Unknown report type: " + reportType);
-            }
-        } catch (RemoteException e) {
-            throw e;
+            return reportJobService.generateNow(reportType, format, params);
+        } catch (IllegalArgumentException e) {
+            throw new RemoteException(e.getMessage());
         } catch (Exception e) {
-            logger.error("Error generating Excel report: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to generate Excel report", e);
+            logger.error("Error generating {} report: {}", format, e.getMessage(), e);
+            throw new RemoteException("Failed to generate " + format + " report", e);
         }
     }
 
     @Override
-    public String generateCSVReport(String reportType) throws RemoteException {
-        try {
-            logger.info("Generating CSV report: {}", reportType);
-            
-            switch (reportType.toUpperCase()) {
-                case "CUSTOMERS":
-                    return CSVExporter.generateCustomerReport(customerDAO.findAll());
-                case "BOOKINGS":
-                    return CSVExporter.generateBookingReport(bookingDAO.findAll());
-                case "REVENUE":
-                    return CSVExporter.generateRevenueReport(transactionDAO.findAll());
-                case "STATIONS":
-                    return CSVExporter.generateStationReport(stationDAO.findAll());
-                default:
-                    throw new RemoteException("Unknown report type: " + reportType);
+    public byte[] generateReport(String reportType, String format, Map<String, String> params) throws RemoteException {
+        checkRateLimit("expensive", null);
+        return requestExecutor.heavy("generateReport", () -> {
+            ReportFormat reportFormat;
+            try {
+                reportFormat = ReportFormat.parse(format);
+            } catch (IllegalArgumentException e) {
+                throw new RemoteException(e.getMessage());
             }
-        } catch (RemoteException e) {
-            throw e;
+            return renderReport(reportType, reportFormat, params);
+        });
+    }
+
+    @Override
+    public String submitReport(String reportType, String format, Map<String, String> params) throws RemoteException {
+        checkRateLimit("expensive", null);
+        return requestExecutor.light("submitReport", () -> {
+            try {
+                return reportJobService.submit(reportType, format, params);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new RemoteException(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error submitting report job: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to submit report", e);
+            }
+        });
+    }
+
+    @Override
+    public ReportJobStatus getReportStatus(String jobId) throws RemoteException {
+        return requestExecutor.light("getReportStatus", () -> reportJobService.getStatus(jobId));
+    }
+
+    @Override
+    public byte[] fetchReportChunk(String jobId, long offset, int length) throws RemoteException {
+        return requestExecutor.light("fetchReportChunk", () -> {
+            try {
+                return reportJobService.fetchChunk(jobId, offset, length);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new RemoteException(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error reading report chunk: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to fetch report chunk", e);
+            }
+        });
+    }
+
+    @Override
+    public int rebuildRollups(LocalDate from, LocalDate to) throws RemoteException {
+        checkRateLimit("expensive", null);
+        return requestExecutor.heavy("rebuildRollups", () -> {
+            try {
+                if ((from == null) != (to == null) || (from != null && to.isBefore(from))) {
+                    throw new RemoteException("Give both from and to (from <= to), or neither for all history");
+                }
+                return rollupService.rebuild(from, to);
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error rebuilding rollups: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to rebuild rollups", e);
+            }
+        });
+    }
+
+
+    // ============================================
+    // REAL-TIME CHANGE NOTIFICATIONS
+    // ============================================
+
+    @Override
+    public String registerChangeListener(ChangeListener listener, String sessionToken) throws RemoteException {
+        return requestExecutor.light("registerChangeListener", () -> {
+            try {
+                ValidationResult result = ValidationUtil.validateRequired(listener, "Listener");
+                if (!result.isSuccess()) {
+                    throw new RemoteException(result.getMessage());
+                }
+                User user = sessionToken != null ? userDAO.findBySessionToken(sessionToken) : null;
+                if (user == null) {
+                    throw new RemoteException("Invalid or expired session");
+                }
+                return changeNotifier.register(listener, user.getUserId());
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RemoteException("Failed to register change listener", e);
+            }
+        });
+    }
+
+    @Override
+    public void unregisterChangeListener(String registrationId) throws RemoteException {
+        try {
+            changeNotifier.unregister(registrationId);
         } catch (Exception e) {
-            logger.error("Error generating CSV report: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to generate CSV report", e);
+            throw new RemoteException("Failed to unregister change listener", e);
+        }
+    }
+
+    // Change hooks - called after every successful write of the entity
+
+    private void onStationChanged(GamingStation station) {
+        changeNotifier.publish(ChangeEvent.stationStatus(station.getStationId(), station.getStatus()));
+        stationIndex.stationChanged(station.getStationId());
+    }
+
+    private void onBookingCreated(Booking booking) {
+        changeNotifier.publish(bookingEvent(ChangeEventType.BOOKING_CREATED, booking));
+        stationDayChanged(booking);
+        lifecycleChanged(booking);
+        liveMetrics.bookingCreated();
+    }
+
+    /**
+     * @param previous key of the booking before the write, or null if unknown
+     */
+    private void onBookingUpdated(Booking booking, BookingDAO.BookingKey previous) {
+        boolean cancelled = booking.getStatus() == BookingStatus.CANCELLED
+                && (previous == null || previous.status() != BookingStatus.CANCELLED);
+        changeNotifier.publish(bookingEvent(
+                cancelled ? ChangeEventType.BOOKING_CANCELLED : ChangeEventType.BOOKING_UPDATED, booking));
+        // The booking may have moved to another station or day
+        if (previous != null) {
+            stationDayChanged(previous.stationId(), previous.bookingDate());
+        }
+        stationDayChanged(booking);
+        lifecycleChanged(booking);
+        boolean freed = (booking.getStatus() == BookingStatus.CANCELLED || booking.getStatus() == BookingStatus.NO_SHOW)
+                && (previous == null || BookingDAO.BLOCKING_STATUSES.contains(previous.status()));
+        if (freed) {
+            slotFreed(booking);
+        }
+    }
+
+    private void onBookingDeleted(Booking booking) {
+        changeNotifier.publish(bookingEvent(ChangeEventType.BOOKING_DELETED, booking));
+        stationDayChanged(booking);
+        bookingLifecycle.bookingDeleted(booking.getBookingId());
+        if (BookingDAO.BLOCKING_STATUSES.contains(booking.getStatus())) {
+            slotFreed(booking);
+        }
+    }
+
+    // The same for a bulk delete, which only has the keys of the bookings
+    private void onBookingDeleted(BookingDAO.BookingKey key) {
+        changeNotifier.publish(ChangeEvent.booking(ChangeEventType.BOOKING_DELETED, key.bookingId(), key.stationId(),
+                null, key.status(), key.bookingDate(), key.startTime(), key.endTime()));
+        stationDayChanged(key.stationId(), key.bookingDate());
+        bookingLifecycle.bookingDeleted(key.bookingId());
+        if (BookingDAO.BLOCKING_STATUSES.contains(key.status())) {
+            waitlist.slotFreed(key.stationId(), key.bookingDate(), key.startTime(), key.endTime());
+        }
+    }
+
+    private void lifecycleChanged(Booking booking) {
+        bookingLifecycle.bookingChanged(booking.getBookingId(),
+                booking.getGamingStation() != null ? booking.getGamingStation().getStationId() : null,
+                booking.getCustomer() != null ? booking.getCustomer().getCustomerId() : null,
+                booking.getBookingDate(), booking.getStartTime(), booking.getEndTime(), booking.getStatus());
+    }
+
+    /**
+     * A booking started or ended on the lifecycle scheduler
+     */
+    private void onBookingMovedByClock(BookingLifecycle.Tracked booking, BookingStatus status) {
+        changeNotifier.publish(ChangeEvent.booking(ChangeEventType.BOOKING_UPDATED, booking.bookingId(),
+                booking.stationId(), booking.customerId(), status, booking.date(),
+                booking.startTime(), booking.endTime()));
+        stationDayChanged(booking.stationId(), booking.date());
+    }
+
+    private void slotFreed(Booking booking) {
+        if (booking.getGamingStation() != null) {
+            waitlist.slotFreed(booking.getGamingStation().getStationId(), booking.getBookingDate(),
+                    booking.getStartTime(), booking.getEndTime());
+        }
+    }
+
+    private void onTransactionCreated(Transaction transaction) {
+        rollupService.transactionChanged(transaction.getTransactionDate());
+        if (REVENUE_TYPES.contains(transaction.getTransactionType())) {
+            liveMetrics.revenueReceived(transaction.getAmount());
+        }
+    }
+
+    private void stationDayChanged(Booking booking) {
+        if (booking.getGamingStation() != null) {
+            stationDayChanged(booking.getGamingStation().getStationId(), booking.getBookingDate());
+        }
+    }
+
+    // Rollups and the booking calendar both keep per station day state
+    private void stationDayChanged(Long stationId, LocalDate date) {
+        rollupService.bookingChanged(stationId, date);
+        bookingCalendar.stationDayChanged(stationId, date);
+    }
+
+    private void cardChanged(MembershipCard card) {
+        if (card.getCustomer() != null) {
+            customerIndex.customerChanged(card.getCustomer().getCustomerId());
         }
     }
 
+    private void onNotificationCreated(Notification notification) {
+        changeNotifier.publish(ChangeEvent.notification(notification.getNotificationId(),
+                notification.getUser().getUserId(), notification.getNotificationType()));
+    }
+
+    private ChangeEvent bookingEvent(ChangeEventType type, Booking booking) {
+        return ChangeEvent.booking(type, booking.getBookingId(),
+                booking.getGamingStation() != null ? booking.getGamingStation().getStationId() : null,
+                booking.getCustomer() != null ? booking.getCustomer().getCustomerId() : null,
+                booking.getStatus(), booking.getBookingDate(), booking.getStartTime(), booking.getEndTime());
+    }
+
     // ============================================
     // DASHBOARD STATISTICS
     // ============================================
 
     @Override
     public DashboardStats getDashboardStats() throws RemoteException {
-        try {
-            DashboardStats stats = new DashboardStats();
+        return requestExecutor.light("getDashboardStats", () -> {
+            try {
+                DashboardStats stats = new DashboardStats();
             
-            stats.setTotalCustomers(customerDAO.count());
-            stats.setTotalBookings(bookingDAO.count());
-            stats.setActiveStations(stationDAO.getAvailableStations().size());
-            stats.setUpcomingTournaments(tournamentDAO.getUpcomingTournaments().size());
+                stats.setTotalCustomers(customerDAO.count());
+                stats.setTotalBookings(bookingDAO.count());
+                stats.setActiveStations(stationDAO.getAvailableStations().size());
+                stats.setUpcomingTournaments(tournamentDAO.getUpcomingTournaments().size());
             
-            // Calculate today's bookings
-            List<Booking> todayBookings = bookingDAO.findByDateRange(LocalDate.now(), LocalDate.now());
-            stats.setTodayBookings(todayBookings.size());
+                // Calculate today's bookings
+                stats.setTodayBookings(bookingDAO.countByRange(DateTimeRange.ofDay(LocalDate.now())));
             
-            // Calculate total revenue
-            List<Transaction> allTransactions = transactionDAO.findAll();
-            double totalRevenue = allTransactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.BOOKING_PAYMENT || 
-                            t.getTransactionType() == TransactionType.TOURNAMENT_FEE)
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-            stats.setTotalRevenue(totalRevenue);
+                // Calculate total revenue from the daily rollups (raw table until backfilled)
+                BigDecimal totalRevenue = rollupService.isReady()
+                    ? rollupDAO.sumAmount(REVENUE_TYPES)
+                    : transactionDAO.sumAmount(null, REVENUE_TYPES);
+                stats.setTotalRevenue(totalRevenue.doubleValue());
             
-            logger.info("Dashboard stats generated successfully");
-            return stats;
+                logger.info("Dashboard stats generated successfully");
+                return stats;
             
-        } catch (Exception e) {
-            logger.error("Error generating dashboard stats: {}", e.getMessage(), e);
-            throw new RemoteException("Failed to generate dashboard stats", e);
-        }
+            } catch (Exception e) {
+                logger.error("Error generating dashboard stats: {}", e.getMessage(), e);
+                throw new RemoteException("Failed to generate dashboard stats", e);
+            }
+        });
+    }
+
+    @Override
+    public MetricsSeries getMetricsSeries(int minutes, int maxPoints) throws RemoteException {
+        return requestExecutor.light("getMetricsSeries", () -> {
+            if (minutes <= 0) {
+                throw new RemoteException("Minutes must be positive");
+            }
+            return liveMetrics.getSeries(minutes, maxPoints);
+        });
+    }
+
+    @Override
+    public Map<String, Long> getServerMetrics() throws RemoteException {
+        Map<String, Long> metrics = new TreeMap<>(MetricsRegistry.snapshot());
+        metrics.putAll(WireStats.snapshot());
+        return metrics;
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RequestExecutor - Runs RMI handler work in separate, bounded lanes
+ *
+ * LIGHT: short reads and single-row writes (sessions, lookups, notifications).
+ * Each call runs inline on the RMI connection thread while it holds a permit;
+ * a semaphore caps how many run at once so they cannot take every DB
+ * connection, and callers wait briefly for a permit before being rejected.
+ *
+ * BOOKING: booking writes (single, recurring and group bookings). Run like
+ * LIGHT, behind their own, smaller semaphore, so a burst of bookings neither
+ * waits behind reports nor starves the reads.
+ *
+ * HEAVY: reports, exports and bulk writes. A small fixed pool with a bounded
+ * queue; calls beyond the queue are rejected at once instead of piling up
+ * behind each other.
+ *
+ * Rejections surface to the client as a RemoteException ("Server busy") and
+ * are counted under exec.&lt;lane&gt;.rejected. Limits can be tuned with the
+ * gamingcenter.exec.* system properties.
+ */
+public class RequestExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(RequestExecutor.class);
+
+    private static final String PREFIX = "gamingcenter.exec.";
+
+    public enum Lane {
+        LIGHT, BOOKING, HEAVY;
+
+        private final String metricPrefix = "exec." + name().toLowerCase() + ".";
+    }
+
+    private final Semaphore lightPermits;
+    private final Semaphore bookingPermits;
+    private final long lightAdmissionTimeoutMs;
+    private final ThreadPoolExecutor heavyExecutor;
+
+    public RequestExecutor() {
+        // Connection budget (hibernate.connection.pool_size = 20): lanes 6 + 2 + 2,
+        // ReportJobService 2, and 8 background threads (search indexes, booking
+        // calendar, lifecycle, waitlist, rollups, live metrics) with one each
+        this(Integer.getInteger(PREFIX + "lightConcurrency", 6),
+             Integer.getInteger(PREFIX + "bookingConcurrency", 2),
+             Long.getLong(PREFIX + "lightAdmissionTimeoutMs", 2000),
+             Integer.getInteger(PREFIX + "heavyThreads", 2),
+             Integer.getInteger(PREFIX + "heavyQueue", 8));
+    }
+
+    public RequestExecutor(int lightConcurrency, int bookingConcurrency, long lightAdmissionTimeoutMs,
+                           int heavyThreads, int heavyQueue) {
+        this.lightPermits = new Semaphore(lightConcurrency);
+        this.bookingPermits = new Semaphore(bookingConcurrency);
+        this.lightAdmissionTimeoutMs = lightAdmissionTimeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.heavyExecutor = new ThreadPoolExecutor(heavyThreads, heavyThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(heavyQueue), r -> {
+                    Thread thread = new Thread(r, "rmi-heavy-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        MetricsRegistry.gauge("exec.light.active", () -> lightConcurrency - lightPermits.availablePermits());
+        MetricsRegistry.gauge("exec.booking.active", () -> bookingConcurrency - bookingPermits.availablePermits());
+        MetricsRegistry.gauge("exec.heavy.active", heavyExecutor::getActiveCount);
+        MetricsRegistry.gauge("exec.heavy.queued", () -> heavyExecutor.getQueue().size());
+
+        logger.info("RequestExecutor: light concurrency {}, booking concurrency {}, heavy threads {} (queue {})",
+                lightConcurrency, bookingConcurrency, heavyThreads, heavyQueue);
+    }
+
+    public <T> T light(String operation, Callable<T> task) throws RemoteException {
+        return admit(Lane.LIGHT, lightPermits, operation, task);
+    }
+
+    public <T> T booking(String operation, Callable<T> task) throws RemoteException {
+        return admit(Lane.BOOKING, bookingPermits, operation, task);
+    }
+
+    public <T> T heavy(String operation, Callable<T> task) throws RemoteException {
+        Future<T> future;
+        try {
+            future = heavyExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw reject(Lane.HEAVY, operation);
+        }
+        return await(Lane.HEAVY, operation, future);
+    }
+
+    public void shutdown() {
+        heavyExecutor.shutdown();
+        try {
+            if (!heavyExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                heavyExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            heavyExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T admit(Lane lane, Semaphore permits, String operation, Callable<T> task) throws RemoteException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(lightAdmissionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Interrupted while waiting to run " + operation);
+        }
+        if (!admitted) {
+            throw reject(lane, operation);
+        }
+        long start = System.nanoTime();
+        MetricsRegistry.counter(lane.metricPrefix + "submitted").increment();
+        try {
+            return task.call();
+        } catch (RemoteException e) {
+            MetricsRegistry.counter(lane.metricPrefix + "failed").increment();
+            throw e;
+        } catch (Exception e) {
+            throw fail(lane, operation, e);
+        } finally {
+            permits.release();
+            MetricsRegistry.counter(lane.metricPrefix + "nanos").add(System.nanoTime() - start);
+        }
+    }
+
+    private <T> T await(Lane lane, String operation, Future<T> future) throws RemoteException {
+        long start = System.nanoTime();
+        MetricsRegistry.counter(lane.metricPrefix + "submitted").increment();
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RemoteException remote) {
+                MetricsRegistry.counter(lane.metricPrefix + "failed").increment();
+                throw remote;
+            }
+            throw fail(lane, operation, cause);
+        } catch (InterruptedException e) {
+            // The RMI connection thread is going away - stop the work too
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Interrupted while running " + operation);
+        } finally {
+            LongAdder nanos = MetricsRegistry.counter(lane.metricPrefix + "nanos");
+            nanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private RemoteException fail(Lane lane, String operation, Throwable cause) {
+        MetricsRegistry.counter(lane.metricPrefix + "failed").increment();
+        logger.error("Error in {}: {}", operation, cause.getMessage(), cause);
+        return new RemoteException("Failed to " + operation, cause);
+    }
+
+    private RemoteException reject(Lane lane, String operation) {
+        MetricsRegistry.counter(lane.metricPrefix + "rejected").increment();
+        logger.warn("Rejected {} - {} lane is saturated", operation, lane);
+        return new RemoteException("Server busy, please retry: " + operation);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import model.SlotHold;
+import utils.MetricsRegistry;
+import utils.TimerWheel;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlotHolds - Short-lived in-memory holds on station slots during checkout
+ *
+ * A desk holds a slot while it takes payment details, and createBooking
+ * consumes the hold with its token. A slot held by one desk is refused to
+ * every other desk at once, without a database round trip. Holds expire
+ * after two minutes (gamingcenter.holds.ttlSeconds) and are reaped by a
+ * TimerWheel, so thousands of holds cost one thread and no scans.
+ *
+ * Holds live in memory only; a restart drops them, and createBooking still
+ * runs the database conflict check.
+ */
+public class SlotHolds {
+
+    private static final String PREFIX = "gamingcenter.holds.";
+
+    private record StationDay(Long stationId, LocalDate date) {
+    }
+
+    private static final class Hold {
+        final String token;
+        final StationDay key;
+        final int start;
+        final int end;
+        final long expiresAtNanos;
+        final LocalDateTime expiresAt;
+        volatile TimerWheel.Timeout timeout;
+
+        Hold(String token, StationDay key, int start, int end, long ttlNanos) {
+            this.token = token;
+            this.key = key;
+            this.start = start;
+            this.end = end;
+            this.expiresAtNanos = System.nanoTime() + ttlNanos;
+            this.expiresAt = LocalDateTime.now().plusNanos(ttlNanos);
+        }
+
+        boolean isLive(long now) {
+            return now - expiresAtNanos < 0;
+        }
+
+        boolean overlaps(int otherStart, int otherEnd) {
+            return start < otherEnd && end > otherStart;
+        }
+    }
+
+    private final long ttlNanos;
+    private final SecureRandom random = new SecureRandom();
+    private final TimerWheel wheel;
+    // Lists are replaced, never modified, so readers need no lock
+    private final Map<StationDay, List<Hold>> byStationDay = new ConcurrentHashMap<>();
+    private final Map<String, Hold> byToken = new ConcurrentHashMap<>();
+
+    public SlotHolds() {
+        this(Long.getLong(PREFIX + "ttlSeconds", 120));
+    }
+
+    public SlotHolds(long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.wheel = new TimerWheel("slot-holds", 1000, 512);
+        MetricsRegistry.gauge("holds.active", byToken::size);
+    }
+
+    /**
+     * Hold a slot unless another live hold overlaps it
+     * @return the hold, or null when the slot is already held
+     */
+    public SlotHold hold(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        StationDay key = new StationDay(stationId, date);
+        Hold hold = new Hold(newToken(), key, startTime.toSecondOfDay(), endTime.toSecondOfDay(), ttlNanos);
+        boolean[] added = {false};
+        byStationDay.compute(key, (k, holds) -> {
+            long now = System.nanoTime();
+            List<Hold> updated = new ArrayList<>();
+            if (holds != null) {
+                for (Hold other : holds) {
+                    if (!other.isLive(now)) {
+                        // Due for reaping
+                        continue;
+                    }
+                    if (other.overlaps(hold.start, hold.end)) {
+                        return holds;
+                    }
+                    updated.add(other);
+                }
+            }
+            updated.add(hold);
+            added[0] = true;
+            return List.copyOf(updated);
+        });
+        if (!added[0]) {
+            MetricsRegistry.counter("holds.refused").increment();
+            return null;
+        }
+        byToken.put(hold.token, hold);
+        hold.timeout = wheel.schedule(() -> {
+            if (byToken.remove(hold.token, hold)) {
+                removeFromDay(hold);
+                MetricsRegistry.counter("holds.expired").increment();
+            }
+        }, ttlNanos, TimeUnit.NANOSECONDS);
+        MetricsRegistry.counter("holds.created").increment();
+        return new SlotHold(hold.token, stationId, date, startTime, endTime, hold.expiresAt);
+    }
+
+    /**
+     * Whether a token names a live hold covering a booking, without consuming it
+     */
+    public boolean covers(String token, Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return coveringHold(token, stationId, date, startTime, endTime) != null;
+    }
+
+    /**
+     * Consume a live hold covering a booking
+     * @return false if the token is unknown, expired or for another slot
+     */
+    public boolean claim(String token, Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Hold hold = coveringHold(token, stationId, date, startTime, endTime);
+        if (hold == null) {
+            return false;
+        }
+        if (!byToken.remove(token, hold)) {
+            // Claimed or expired concurrently
+            return false;
+        }
+        drop(hold);
+        MetricsRegistry.counter("holds.claimed").increment();
+        return true;
+    }
+
+    /**
+     * Give a hold back before it expires
+     */
+    public boolean release(String token) {
+        Hold hold = byToken.remove(token);
+        if (hold == null) {
+            return false;
+        }
+        drop(hold);
+        return true;
+    }
+
+    /**
+     * Whether a live hold overlaps a slot
+     */
+    public boolean isHeld(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        List<Hold> holds = byStationDay.get(new StationDay(stationId, date));
+        if (holds == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        for (Hold hold : holds) {
+            if (hold.isLive(now) && hold.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void shutdown() {
+        wheel.shutdown();
+    }
+
+    private Hold coveringHold(String token, Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Hold hold = byToken.get(token);
+        if (hold == null || !hold.isLive(System.nanoTime())
+                || !hold.key.equals(new StationDay(stationId, date))
+                || startTime.toSecondOfDay() < hold.start || endTime.toSecondOfDay() > hold.end) {
+            return null;
+        }
+        return hold;
+    }
+
+    private void drop(Hold hold) {
+        TimerWheel.Timeout timeout = hold.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        removeFromDay(hold);
+    }
+
+    private void removeFromDay(Hold hold) {
+        byStationDay.computeIfPresent(hold.key, (k, holds) -> {
+            List<Hold> updated = new ArrayList<>(holds);
+            updated.remove(hold);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * SocketSettings - Tuning for the compressing RMI socket factories
+ *
+ * Travels with the client socket factory inside the service stub, so the
+ * client uses the same frame size and compression settings as the server.
+ * The compressing factories are only used when gamingcenter.rmi.compression
+ * is true, since every client then needs them on its classpath; otherwise
+ * the service is exported over plain RMI sockets and these settings are
+ * unused. Values can be overridden with system properties at server start-up:
+ * <ul>
+ *   <li>gamingcenter.rmi.compression - export over the compressing factories (false)</li>
+ *   <li>gamingcenter.rmi.compressionThreshold - smallest frame to deflate, bytes (1024)</li>
+ *   <li>gamingcenter.rmi.compressionLevel - Deflater level 0-9 (1, fastest)</li>
+ *   <li>gamingcenter.rmi.frameSize - largest frame, bytes (65536)</li>
+ *   <li>gamingcenter.rmi.socketBufferSize - SO_SNDBUF/SO_RCVBUF, 0 = OS default (0)</li>
+ *   <li>gamingcenter.rmi.tcpNoDelay - disable Nagle's algorithm (true)</li>
+ * </ul>
+ */
+public final class SocketSettings implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final String PREFIX = "gamingcenter.rmi.";
+
+    private final int compressionThreshold;
+    private final int compressionLevel;
+    private final int frameSize;
+    private final int socketBufferSize;
+    private final boolean tcpNoDelay;
+
+    public SocketSettings(int compressionThreshold, int compressionLevel, int frameSize,
+                          int socketBufferSize, boolean tcpNoDelay) {
+        if (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9");
+        }
+        if (frameSize < 1024) {
+            throw new IllegalArgumentException("Frame size must be at least 1024 bytes");
+        }
+        if (compressionThreshold < 0 || socketBufferSize < 0) {
+            throw new IllegalArgumentException("Threshold and socket buffer size must not be negative");
+        }
+        this.compressionThreshold = compressionThreshold;
+        this.compressionLevel = compressionLevel;
+        this.frameSize = frameSize;
+        this.socketBufferSize = socketBufferSize;
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    public static SocketSettings defaults() {
+        return new SocketSettings(1024, Deflater.BEST_SPEED, 64 * 1024, 0, true);
+    }
+
+    public static boolean isCompressionEnabled() {
+        return Boolean.getBoolean(PREFIX + "compression");
+    }
+
+    public static SocketSettings fromSystemProperties() {
+        SocketSettings d = defaults();
+        return new SocketSettings(
+                Integer.getInteger(PREFIX + "compressionThreshold", d.compressionThreshold),
+                Integer.getInteger(PREFIX + "compressionLevel", d.compressionLevel),
+                Integer.getInteger(PREFIX + "frameSize", d.frameSize),
+                Integer.getInteger(PREFIX + "socketBufferSize", d.socketBufferSize),
+                Boolean.parseBoolean(System.getProperty(PREFIX + "tcpNoDelay", String.valueOf(d.tcpNoDelay))));
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public int getSocketBufferSize() {
+        return socketBufferSize;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SocketSettings that)) return false;
+        return compressionThreshold == that.compressionThreshold
+                && compressionLevel == that.compressionLevel
+                && frameSize == that.frameSize
+                && socketBufferSize == that.socketBufferSize
+                && tcpNoDelay == that.tcpNoDelay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(compressionThreshold, compressionLevel, frameSize, socketBufferSize, tcpNoDelay);
+    }
+
+    @Override
+    public String toString() {
+        return "SocketSettings{threshold=" + compressionThreshold + ", level=" + compressionLevel
+                + ", frameSize=" + frameSize + ", socketBufferSize=" + socketBufferSize
+                + ", tcpNoDelay=" + tcpNoDelay + "}";
+    }
+}
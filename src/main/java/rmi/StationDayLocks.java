@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import utils.MetricsRegistry;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * StationDayLocks - Striped locks serialising booking writes per station and day
+ *
+ * A booking checks for conflicts and then inserts; two desks doing that for
+ * the same station and day at once could both pass the check. Writers take
+ * the lock of every (station, day) they book around check and insert.
+ *
+ * Keys hash onto a fixed array of stripes (gamingcenter.locks.stripes,
+ * default 256), so the locks never need cleaning up. A multi-station or
+ * multi-day booking takes its stripes in ascending index order, which is the
+ * same total order for every caller, so two group bookings can never
+ * deadlock. Waiting is bounded by gamingcenter.locks.waitMs (default 5000);
+ * on timeout everything already taken is released and the booking fails
+ * with "Server busy".
+ *
+ * Contention is counted under locks.stationDay.contended and .waitNanos.
+ * StationDayLocksBenchmark (test sources) compares them against a single
+ * global lock under mixed load.
+ */
+public class StationDayLocks {
+
+    private static final String PREFIX = "gamingcenter.locks.";
+
+    /**
+     * Locks taken by one writer; close() releases them all
+     */
+    public interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final ReentrantLock[] stripes;
+    private final long waitNanos;
+
+    public StationDayLocks() {
+        this(Integer.getInteger(PREFIX + "stripes", 256), Long.getLong(PREFIX + "waitMs", 5000));
+    }
+
+    public StationDayLocks(int stripeCount, long waitMs) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMs);
+    }
+
+    /**
+     * Lock one station on one day
+     * @throws IllegalStateException when the lock is not free within the wait limit
+     */
+    public Held lock(Long stationId, LocalDate date) {
+        return acquire(new int[]{stripeOf(stationId, date)});
+    }
+
+    /**
+     * Lock every station on every date
+     * @throws IllegalStateException when the locks are not free within the wait limit
+     */
+    public Held lockAll(Collection<Long> stationIds, Collection<LocalDate> dates) {
+        int[] indexes = new int[stationIds.size() * dates.size()];
+        int n = 0;
+        for (Long stationId : stationIds) {
+            for (LocalDate date : dates) {
+                indexes[n++] = stripeOf(stationId, date);
+            }
+        }
+        return acquire(indexes);
+    }
+
+    private int stripeOf(Long stationId, LocalDate date) {
+        int h = Objects.hash(stationId, date);
+        return Math.floorMod(h ^ (h >>> 16), stripes.length);
+    }
+
+    private Held acquire(int[] indexes) {
+        int[] ordered = Arrays.stream(indexes).sorted().distinct().toArray();
+        long deadline = System.nanoTime() + waitNanos;
+        int taken = 0;
+        try {
+            for (int index : ordered) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock()) {
+                    MetricsRegistry.counter("locks.stationDay.contended").increment();
+                    long start = System.nanoTime();
+                    boolean locked = lock.tryLock(deadline - start, TimeUnit.NANOSECONDS);
+                    MetricsRegistry.counter("locks.stationDay.waitNanos").add(System.nanoTime() - start);
+                    if (!locked) {
+                        MetricsRegistry.counter("locks.stationDay.timeouts").increment();
+                        throw new IllegalStateException("Server busy, please retry");
+                    }
+                }
+                taken++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(ordered, taken);
+            throw new IllegalStateException("Interrupted while waiting for booking locks", e);
+        } catch (RuntimeException e) {
+            release(ordered, taken);
+            throw e;
+        }
+        return () -> release(ordered, ordered.length);
+    }
+
+    private void release(int[] ordered, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[ordered[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.GamingStationDAO;
+import dao.WaitlistDAO;
+import model.GamingStation;
+import model.StationStatus;
+import model.StationType;
+import model.WaitlistEntry;
+import model.WaitlistStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waitlist - Customers waiting for a station type in a time window
+ *
+ * Waiting entries are persisted in waitlist_entries and held in memory per
+ * station type as start -> end -> entries ordered oldest first, so adding and
+ * removing an entry is O(log n). When a booking is cancelled or marked
+ * NO_SHOW, the freed interval is matched against the windows that fit inside
+ * it (a range lookup on start, then on end) and the oldest entry among them
+ * is handed to the Promoter, which books it or tells the customer. The parts
+ * of the interval left on either side are matched again, so one freed
+ * afternoon can serve several shorter windows.
+ *
+ * Finding the oldest fitting entry is not logarithmic: it visits every
+ * distinct start inside the interval and reads the head of every window
+ * that fits, so one lookup costs O(s log n + w), where s is the number of
+ * distinct starts in the interval and w the number of fitting windows - not
+ * entries, since customers waiting for the same window share one queue.
+ * Windows follow the booking grid, so s and w stay in the tens for a freed
+ * day even with thousands of entries; each promotion repeats the lookup on
+ * the gaps either side.
+ *
+ * One thread applies loads, joins, leaves and promotions in order, so an
+ * entry can never be promoted twice or promoted after it was left. Entries
+ * whose window has started expire every few minutes
+ * (gamingcenter.waitlist.expireMinutes, default 5).
+ */
+public class Waitlist {
+    private static final Logger logger = LoggerFactory.getLogger(Waitlist.class);
+
+    private static final String PREFIX = "gamingcenter.waitlist.";
+
+    /**
+     * What the Promoter did with an entry
+     */
+    public enum Outcome {
+        PROMOTED,   // Booked or offered; the entry is resolved
+        SLOT_TAKEN, // The interval is not actually free; the entry keeps waiting
+        GONE        // The entry was no longer waiting
+    }
+
+    /**
+     * Books or offers a freed slot to a waiting customer
+     */
+    public interface Promoter {
+        Outcome promote(Waiting waiting, GamingStation station);
+    }
+
+    public record Waiting(Long entryId, Long customerId, StationType stationType, LocalDate date,
+                          LocalTime startTime, LocalTime endTime, boolean autoBook) {
+
+        LocalDateTime start() {
+            return date.atTime(startTime);
+        }
+
+        // A window ending at midnight ends the next day
+        LocalDateTime end() {
+            return endTime.isAfter(startTime) ? date.atTime(endTime) : date.plusDays(1).atStartOfDay();
+        }
+    }
+
+    private static final Comparator<Waiting> OLDEST_FIRST = Comparator.comparing(Waiting::entryId);
+
+    private final WaitlistDAO waitlistDAO;
+    private final GamingStationDAO stationDAO;
+    // Set by start, before the first change is applied
+    private volatile Promoter promoter;
+    private final long expireMinutes;
+    // Applies every change in order; the maps below are only touched on it
+    private final ScheduledExecutorService updater;
+    private final Map<StationType, TreeMap<LocalDateTime, TreeMap<LocalDateTime, TreeSet<Waiting>>>> windows =
+            new EnumMap<>(StationType.class);
+    // Read by the gauge from other threads
+    private final Map<Long, Waiting> byId = new ConcurrentHashMap<>();
+
+    public Waitlist(WaitlistDAO waitlistDAO, GamingStationDAO stationDAO) {
+        this(waitlistDAO, stationDAO, Long.getLong(PREFIX + "expireMinutes", 5));
+    }
+
+    public Waitlist(WaitlistDAO waitlistDAO, GamingStationDAO stationDAO, long expireMinutes) {
+        this.waitlistDAO = waitlistDAO;
+        this.stationDAO = stationDAO;
+        this.expireMinutes = expireMinutes;
+        this.updater = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "waitlist");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.gauge("waitlist.waiting", byId::size);
+    }
+
+    /**
+     * Load waiting entries in the background and start expiring them
+     * @param promoter books or offers the freed slots; taken here rather than
+     *        in the constructor so an owner can pass a callback into itself
+     *        once it is fully built
+     */
+    public void start(Promoter promoter) {
+        this.promoter = promoter;
+        enqueue(this::load);
+        updater.scheduleWithFixedDelay(this::expire, expireMinutes, expireMinutes, TimeUnit.MINUTES);
+    }
+
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Queue a saved entry
+     */
+    public void joined(WaitlistEntry entry) {
+        Waiting waiting = new Waiting(entry.getEntryId(), entry.getCustomer().getCustomerId(),
+                entry.getStationType(), entry.getBookingDate(), entry.getStartTime(), entry.getEndTime(),
+                entry.isAutoBook());
+        enqueue(() -> add(waiting));
+    }
+
+    /**
+     * Take an entry off the waitlist, after any promotion already under way
+     * @return false if it was no longer waiting
+     */
+    public boolean leave(Long entryId) {
+        try {
+            return updater.submit(() -> {
+                remove(byId.get(entryId));
+                return waitlistDAO.resolve(entryId, WaitlistStatus.CANCELLED, null);
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while leaving the waitlist", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to leave the waitlist", e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Waitlist is shut down", e);
+        }
+    }
+
+    /**
+     * Match an interval freed on a station against waiting entries
+     */
+    public void slotFreed(Long stationId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (stationId == null || date == null || startTime == null || endTime == null) {
+            return;
+        }
+        enqueue(() -> {
+            LocalDateTime from = date.atTime(startTime);
+            LocalDateTime to = endTime.isAfter(startTime) ? date.atTime(endTime) : date.plusDays(1).atStartOfDay();
+            LocalDateTime now = LocalDateTime.now();
+            if (!to.isAfter(now)) {
+                return;
+            }
+            GamingStation station = stationDAO.findById(stationId);
+            if (station == null || station.getStatus() == StationStatus.MAINTENANCE
+                    || station.getStatus() == StationStatus.OUT_OF_ORDER) {
+                return;
+            }
+            TreeMap<LocalDateTime, TreeMap<LocalDateTime, TreeSet<Waiting>>> byStart =
+                    windows.get(station.getStationType());
+            if (byStart != null) {
+                fill(byStart, station, from.isAfter(now) ? from : now, to);
+            }
+        });
+    }
+
+    // Promote the oldest entry whose window fits in [from, to), then fill what is left on either side.
+    // O(s log n + w) per lookup: s distinct starts in [from, to), w windows fitting in it
+    private void fill(TreeMap<LocalDateTime, TreeMap<LocalDateTime, TreeSet<Waiting>>> byStart,
+                      GamingStation station, LocalDateTime from, LocalDateTime to) {
+        while (from.isBefore(to)) {
+            Waiting oldest = null;
+            for (TreeMap<LocalDateTime, TreeSet<Waiting>> byEnd : byStart.subMap(from, true, to, false).values()) {
+                for (TreeSet<Waiting> queue : byEnd.headMap(to, true).values()) {
+                    Waiting head = queue.first();
+                    if (oldest == null || OLDEST_FIRST.compare(head, oldest) < 0) {
+                        oldest = head;
+                    }
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            remove(oldest);
+            Outcome outcome;
+            try {
+                outcome = promoter.promote(oldest, station);
+            } catch (RuntimeException e) {
+                logger.error("Waitlist promotion of entry {} failed: {}", oldest.entryId(), e.getMessage(), e);
+                outcome = Outcome.SLOT_TAKEN;
+            }
+            MetricsRegistry.counter("waitlist." + outcome.name().toLowerCase()).increment();
+            if (outcome == Outcome.SLOT_TAKEN) {
+                add(oldest);
+                return;
+            }
+            if (outcome == Outcome.PROMOTED) {
+                fill(byStart, station, from, oldest.start());
+                from = oldest.end();
+            }
+        }
+    }
+
+    private void add(Waiting waiting) {
+        if (!waiting.start().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        windows.computeIfAbsent(waiting.stationType(), t -> new TreeMap<>())
+                .computeIfAbsent(waiting.start(), s -> new TreeMap<>())
+                .computeIfAbsent(waiting.end(), e -> new TreeSet<>(OLDEST_FIRST))
+                .add(waiting);
+        byId.put(waiting.entryId(), waiting);
+    }
+
+    private void remove(Waiting waiting) {
+        if (waiting == null || byId.remove(waiting.entryId()) == null) {
+            return;
+        }
+        TreeMap<LocalDateTime, TreeMap<LocalDateTime, TreeSet<Waiting>>> byStart = windows.get(waiting.stationType());
+        TreeMap<LocalDateTime, TreeSet<Waiting>> byEnd = byStart.get(waiting.start());
+        TreeSet<Waiting> queue = byEnd.get(waiting.end());
+        queue.remove(waiting);
+        if (queue.isEmpty()) {
+            byEnd.remove(waiting.end());
+            if (byEnd.isEmpty()) {
+                byStart.remove(waiting.start());
+            }
+        }
+    }
+
+    private void load() {
+        try {
+            long start = System.nanoTime();
+            int loaded = 0;
+            for (Object[] row : waitlistDAO.findWaitingRows(LocalDate.now())) {
+                add(new Waiting((Long) row[0], (Long) row[1], (StationType) row[2], (LocalDate) row[3],
+                        (LocalTime) row[4], (LocalTime) row[5], (Boolean) row[6]));
+                loaded++;
+            }
+            logger.info("Waitlist loaded {} waiting entries in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Waitlist load failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void expire() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (TreeMap<LocalDateTime, TreeMap<LocalDateTime, TreeSet<Waiting>>> byStart : windows.values()) {
+                NavigableMap<LocalDateTime, TreeMap<LocalDateTime, TreeSet<Waiting>>> started = byStart.headMap(now, true);
+                for (Iterator<TreeMap<LocalDateTime, TreeSet<Waiting>>> it = started.values().iterator(); it.hasNext(); ) {
+                    it.next().values().forEach(queue -> queue.forEach(waiting -> byId.remove(waiting.entryId())));
+                    it.remove();
+                }
+            }
+            int expired = waitlistDAO.expireStarted(now);
+            if (expired > 0) {
+                logger.info("Expired {} waitlist entries", expired);
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the schedule
+            logger.error("Waitlist expiry failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            updater.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WireStats - Byte counters for the compressing RMI sockets in this JVM
+ *
+ * "payload" is what RMI wrote or read, "wire" is what crossed the socket
+ * including frame headers. Compare the two to see what compression saves.
+ */
+public final class WireStats {
+
+    private static final LongAdder payloadBytesOut = new LongAdder();
+    private static final LongAdder wireBytesOut = new LongAdder();
+    private static final LongAdder payloadBytesIn = new LongAdder();
+    private static final LongAdder wireBytesIn = new LongAdder();
+    private static final LongAdder framesOut = new LongAdder();
+    private static final LongAdder compressedFramesOut = new LongAdder();
+
+    private WireStats() {
+    }
+
+    static void recordOut(int payloadBytes, int wireBytes, boolean compressed) {
+        payloadBytesOut.add(payloadBytes);
+        wireBytesOut.add(wireBytes);
+        framesOut.increment();
+        if (compressed) {
+            compressedFramesOut.increment();
+        }
+    }
+
+    static void recordIn(int payloadBytes, int wireBytes) {
+        payloadBytesIn.add(payloadBytes);
+        wireBytesIn.add(wireBytes);
+    }
+
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("rmi.payloadBytesOut", payloadBytesOut.sum());
+        stats.put("rmi.wireBytesOut", wireBytesOut.sum());
+        stats.put("rmi.payloadBytesIn", payloadBytesIn.sum());
+        stats.put("rmi.wireBytesIn", wireBytesIn.sum());
+        stats.put("rmi.framesOut", framesOut.sum());
+        stats.put("rmi.compressedFramesOut", compressedFramesOut.sum());
+        return stats;
+    }
+}
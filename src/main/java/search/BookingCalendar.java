@@ -0,0 +1,227 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package search;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.BookingDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.DateTimeRange;
+import utils.MetricsRegistry;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingCalendar - Blocked time per station and day, in memory
+ *
+ * For each day from today to a horizon (60 days by default,
+ * gamingcenter.calendar.horizonDays) every station has its pending,
+ * confirmed and ongoing bookings as a sorted array of [start, end) second
+ * of day pairs, the same bookings BookingDAO.hasConflict checks. Booking
+ * writes queue a reload of the station day they touched; an hourly roll
+ * drops past days and loads new ones. Days outside the horizon return null
+ * and callers ask the database.
+ */
+public class BookingCalendar {
+    private static final Logger logger = LoggerFactory.getLogger(BookingCalendar.class);
+
+    private static final String PREFIX = "gamingcenter.calendar.";
+    private static final int[] FREE = new int[0];
+    private static final int END_OF_DAY = 24 * 60 * 60;
+
+    private final BookingDAO bookingDAO;
+    private final int horizonDays;
+    // Applies loads and reloads in order
+    private final ScheduledExecutorService updater;
+    // Arrays are never modified, only replaced
+    private final Map<LocalDate, Map<Long, int[]>> days = new ConcurrentHashMap<>();
+
+    public BookingCalendar(BookingDAO bookingDAO) {
+        this(bookingDAO, Integer.getInteger(PREFIX + "horizonDays", 60));
+    }
+
+    public BookingCalendar(BookingDAO bookingDAO, int horizonDays) {
+        this.bookingDAO = bookingDAO;
+        this.horizonDays = horizonDays;
+        this.updater = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "booking-calendar");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.gauge("calendar.days", days::size);
+    }
+
+    /**
+     * Load the horizon in the background and keep it rolling
+     */
+    public void start() {
+        updater.scheduleAtFixedRate(this::roll, 0, 1, TimeUnit.HOURS);
+    }
+
+    public boolean isReady() {
+        return days.containsKey(LocalDate.now());
+    }
+
+    /**
+     * Whether a day is loaded; if not, blocked() and busyStations() return null for it
+     */
+    public boolean covers(LocalDate date) {
+        return days.containsKey(date);
+    }
+
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Reload one station day after a booking on it was written
+     */
+    public void stationDayChanged(Long stationId, LocalDate date) {
+        if (stationId == null || date == null) {
+            return;
+        }
+        enqueue(() -> {
+            if (!days.containsKey(date)) {
+                // Loaded fresh when the horizon reaches it
+                return;
+            }
+            try {
+                List<Object[]> rows = bookingDAO.findBlockedIntervals(DateTimeRange.ofDay(date), stationId);
+                Map<Long, int[]> loaded = toDays(rows).getOrDefault(date, Map.of());
+                days.get(date).put(stationId, loaded.getOrDefault(stationId, FREE));
+            } catch (RuntimeException e) {
+                // Reloading the whole day on the next roll repairs it
+                days.remove(date);
+                MetricsRegistry.counter("calendar.reloadFailed").increment();
+                logger.warn("Failed to reload bookings of station {} on {}: {}", stationId, date, e.getMessage());
+            }
+        });
+    }
+
+    public void stationRemoved(Long stationId) {
+        enqueue(() -> days.values().forEach(stations -> stations.remove(stationId)));
+    }
+
+    /**
+     * Blocked [start, end) second of day pairs of a station, sorted by start
+     * @return the pairs (empty when free all day), or null when the day is not loaded
+     */
+    public int[] blocked(Long stationId, LocalDate date) {
+        Map<Long, int[]> stations = days.get(date);
+        if (stations == null) {
+            return null;
+        }
+        return stations.getOrDefault(stationId, FREE);
+    }
+
+    /**
+     * Stations with a blocking booking overlapping a time window, as bits by station ID
+     * @return the stations, or null when the day is not loaded
+     */
+    public BitSet busyStations(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Map<Long, int[]> stations = days.get(date);
+        if (stations == null) {
+            return null;
+        }
+        int start = startTime.toSecondOfDay();
+        int end = endTime.toSecondOfDay();
+        BitSet busy = new BitSet();
+        stations.forEach((stationId, intervals) -> {
+            if (overlaps(intervals, start, end)) {
+                busy.set(stationId.intValue());
+            }
+        });
+        return busy;
+    }
+
+    /**
+     * Whether blocked pairs from blocked() overlap [start, end) seconds of day
+     */
+    public static boolean overlaps(int[] intervals, int start, int end) {
+        for (int i = 0; i < intervals.length && intervals[i] < end; i += 2) {
+            if (intervals[i + 1] > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            updater.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void roll() {
+        try {
+            LocalDate today = LocalDate.now();
+            days.keySet().removeIf(date -> date.isBefore(today));
+            LocalDate end = today.plusDays(horizonDays);
+            LocalDate firstMissing = today;
+            while (firstMissing.isBefore(end) && days.containsKey(firstMissing)) {
+                firstMissing = firstMissing.plusDays(1);
+            }
+            if (!firstMissing.isBefore(end)) {
+                return;
+            }
+            long start = System.nanoTime();
+            List<Object[]> rows = bookingDAO.findBlockedIntervals(
+                    DateTimeRange.ofDays(firstMissing, end.minusDays(1)), null);
+            Map<LocalDate, Map<Long, int[]>> loaded = toDays(rows);
+            for (LocalDate date = firstMissing; date.isBefore(end); date = date.plusDays(1)) {
+                days.put(date, new ConcurrentHashMap<>(loaded.getOrDefault(date, Map.of())));
+            }
+            logger.info("Booking calendar loaded {} to {}: {} bookings in {} ms", firstMissing, end.minusDays(1),
+                    rows.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the schedule
+            logger.error("Booking calendar roll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Rows of BookingDAO.findBlockedIntervals, already ordered by start
+    public static Map<LocalDate, Map<Long, int[]>> toDays(List<Object[]> rows) {
+        Map<LocalDate, Map<Long, List<int[]>>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            int start = ((LocalTime) row[2]).toSecondOfDay();
+            int end = ((LocalTime) row[3]).toSecondOfDay();
+            // A booking ending at midnight blocks the rest of its day
+            grouped.computeIfAbsent((LocalDate) row[1], d -> new HashMap<>())
+                    .computeIfAbsent((Long) row[0], s -> new ArrayList<>())
+                    .add(new int[]{start, end > start ? end : END_OF_DAY});
+        }
+        Map<LocalDate, Map<Long, int[]>> result = new HashMap<>();
+        grouped.forEach((date, stations) -> {
+            Map<Long, int[]> byStation = new HashMap<>();
+            stations.forEach((stationId, intervals) -> {
+                int[] flat = new int[intervals.size() * 2];
+                for (int i = 0; i < intervals.size(); i++) {
+                    flat[2 * i] = intervals.get(i)[0];
+                    flat[2 * i + 1] = intervals.get(i)[1];
+                }
+                byStation.put(stationId, flat);
+            });
+            result.put(date, byStation);
+        });
+        return result;
+    }
+}
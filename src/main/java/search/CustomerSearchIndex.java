@@ -0,0 +1,555 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package search;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.CustomerDAO;
+import model.CustomerMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * CustomerSearchIndex - In-memory trigram index for the front-desk customer search
+ *
+ * Names, emails, phone numbers (digits only) and membership card numbers are
+ * split into words, and every word into padded trigrams ("^jo", "joh", "ohn",
+ * "hn$"), each with a BitSet of the customers having it. A query word picks
+ * its candidates by how many trigrams they share, then each candidate word is
+ * scored: exact 1.0, prefix 0.9, substring 0.7, and one or two edits away
+ * (Damerau-Levenshtein, for words of 4+ and 8+ letters) 0.6 less 0.1 per
+ * edit. Every query word must match; a customer scores the mean of its best
+ * word scores. Typos near the start of a short word can leave no shared
+ * trigram, so when too few customers match, the sorted vocabulary of first
+ * and last names starting with the first or second letter of the query word
+ * is checked for typos as well.
+ *
+ * The index loads in the background at start; until then isReady() is false
+ * and callers use the database. Writes queue a re-read of the customer on the
+ * same thread, so changes apply in order after the load, shortly after commit.
+ */
+public class CustomerSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}@._]+");
+    private static final Pattern EMAIL_SEPARATORS = Pattern.compile("[@._]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern NON_ALPHANUMERICS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record Doc(Long customerId, Long userId, Long cardId, String fullName, String email,
+                       String phoneNumber, String cardNumber, String[] names, String[] words) {
+    }
+
+    private record Hit(Doc doc, double score) {
+    }
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(hit -> hit.doc().fullName())
+            .thenComparing(hit -> hit.doc().customerId());
+
+    private final CustomerDAO customerDAO;
+    // Applies the load and all updates in order
+    private final ExecutorService updater;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; a removed customer leaves a null slot for reuse
+    private final List<Doc> docs = new ArrayList<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final TreeMap<String, BitSet> nameWords = new TreeMap<>();
+    private final Map<Long, Integer> ordinalByCustomer = new ConcurrentHashMap<>();
+    // Only touched by the updater thread
+    private final Map<Long, Long> customerByUser = new HashMap<>();
+    private final Map<Long, Long> customerByCard = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(CustomerDAO customerDAO) {
+        this.customerDAO = customerDAO;
+        this.updater = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "customer-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.gauge("search.customers.size", ordinalByCustomer::size);
+    }
+
+    /**
+     * Load all customers in the background
+     */
+    public void start() {
+        enqueue(this::load);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Re-read a customer after it was created or updated, or its card was saved
+     */
+    public void customerChanged(Long customerId) {
+        if (customerId != null) {
+            enqueue(() -> refresh(customerId));
+        }
+    }
+
+    public void customerDeleted(Long customerId) {
+        if (customerId != null) {
+            enqueue(() -> {
+                lock.writeLock().lock();
+                try {
+                    remove(customerId);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        }
+    }
+
+    /**
+     * Re-read the customer of a user after the user was updated or deleted
+     */
+    public void userChanged(Long userId) {
+        if (userId != null) {
+            enqueue(() -> {
+                Long customerId = customerByUser.get(userId);
+                if (customerId != null) {
+                    refresh(customerId);
+                }
+            });
+        }
+    }
+
+    public void cardDeleted(Long cardId) {
+        if (cardId != null) {
+            enqueue(() -> {
+                Long customerId = customerByCard.get(cardId);
+                if (customerId != null) {
+                    refresh(customerId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Find customers matching every word of a query, best first
+     * @param limit maximum number of results
+     */
+    public List<CustomerMatch> search(String query, int limit) {
+        String[] terms = words(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        // Worst kept hit at the head, so it is the one replaced
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            BitSet[] termCandidates = new BitSet[terms.length];
+            BitSet candidates = null;
+            for (int t = 0; t < terms.length; t++) {
+                termCandidates[t] = candidates(terms[t]);
+                if (candidates == null) {
+                    candidates = (BitSet) termCandidates[t].clone();
+                } else {
+                    candidates.and(termCandidates[t]);
+                }
+            }
+            collect(terms, candidates, top, limit);
+
+            if (top.size() < limit && allowsTypos(terms)) {
+                MetricsRegistry.counter("search.customers.fallback").increment();
+                BitSet more = null;
+                for (int t = 0; t < terms.length; t++) {
+                    BitSet termMore = termCandidates[t];
+                    if (maxEdits(terms[t]) > 0) {
+                        termMore.or(typoCandidates(terms[t]));
+                    }
+                    if (more == null) {
+                        more = termMore;
+                    } else {
+                        more.and(termMore);
+                    }
+                }
+                more.andNot(candidates);
+                collect(terms, more, top, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(BEST_FIRST);
+        List<CustomerMatch> matches = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            Doc doc = hit.doc();
+            matches.add(new CustomerMatch(doc.customerId(), doc.fullName(), doc.email(), doc.phoneNumber(),
+                    doc.cardNumber(), hit.score()));
+        }
+        MetricsRegistry.counter("search.customers.queries").increment();
+        MetricsRegistry.counter("search.customers.nanos").add(System.nanoTime() - start);
+        return matches;
+    }
+
+    // ============================================
+    // UPDATES (updater thread)
+    // ============================================
+
+    private void enqueue(Runnable task) {
+        try {
+            updater.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void load() {
+        try {
+            long start = System.nanoTime();
+            List<Object[]> rows = customerDAO.findSearchRows(null);
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    add(toDoc(row));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Customer search index loaded: {} customers, {} trigrams in {} ms",
+                    rows.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Customer search index failed to load, searching the database instead: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    private void refresh(Long customerId) {
+        try {
+            List<Object[]> rows = customerDAO.findSearchRows(customerId);
+            lock.writeLock().lock();
+            try {
+                remove(customerId);
+                if (!rows.isEmpty()) {
+                    add(toDoc(rows.get(0)));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            // The entry stays stale until the customer is written again
+            MetricsRegistry.counter("search.customers.refreshFailed").increment();
+            logger.warn("Failed to refresh customer {} in search index: {}", customerId, e.getMessage());
+        }
+    }
+
+    private void add(Doc doc) {
+        Integer free = freeOrdinals.poll();
+        int ordinal;
+        if (free != null) {
+            ordinal = free;
+            docs.set(ordinal, doc);
+        } else {
+            ordinal = docs.size();
+            docs.add(doc);
+        }
+        for (String gram : grams(doc.words(), true)) {
+            postings.computeIfAbsent(gram, g -> new BitSet()).set(ordinal);
+        }
+        for (String name : doc.names()) {
+            nameWords.computeIfAbsent(name, n -> new BitSet()).set(ordinal);
+        }
+        ordinalByCustomer.put(doc.customerId(), ordinal);
+        customerByUser.put(doc.userId(), doc.customerId());
+        if (doc.cardId() != null) {
+            customerByCard.put(doc.cardId(), doc.customerId());
+        }
+    }
+
+    private void remove(Long customerId) {
+        Integer ordinal = ordinalByCustomer.remove(customerId);
+        if (ordinal == null) {
+            return;
+        }
+        Doc doc = docs.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+        for (String gram : grams(doc.words(), true)) {
+            BitSet posting = postings.get(gram);
+            posting.clear(ordinal);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        for (String name : doc.names()) {
+            BitSet posting = nameWords.get(name);
+            posting.clear(ordinal);
+            if (posting.isEmpty()) {
+                nameWords.remove(name);
+            }
+        }
+        customerByUser.remove(doc.userId());
+        if (doc.cardId() != null) {
+            customerByCard.remove(doc.cardId());
+        }
+    }
+
+    // Row layout of CustomerDAO.findSearchRows
+    private static Doc toDoc(Object[] row) {
+        String fullName = (Objects.toString(row[1], "") + " " + Objects.toString(row[2], "")).trim();
+        String email = (String) row[4];
+        String phoneNumber = (String) row[5];
+        String cardNumber = (String) row[7];
+
+        String[] names = words(fullName);
+        Set<String> words = new LinkedHashSet<>();
+        addAll(words, names);
+        if (email != null && !email.isBlank()) {
+            String normalized = Text.normalize(email).trim();
+            words.add(normalized);
+            addAll(words, EMAIL_SEPARATORS.split(normalized));
+        }
+        if (phoneNumber != null) {
+            words.add(NON_DIGITS.matcher(phoneNumber).replaceAll(""));
+        }
+        if (cardNumber != null) {
+            words.add(NON_ALPHANUMERICS.matcher(Text.normalize(cardNumber)).replaceAll(""));
+        }
+        words.remove("");
+        return new Doc((Long) row[0], (Long) row[3], (Long) row[6], fullName,
+                email, phoneNumber, cardNumber, names, words.toArray(String[]::new));
+    }
+
+    private static void addAll(Set<String> words, String[] values) {
+        for (String value : values) {
+            words.add(value);
+        }
+    }
+
+    // ============================================
+    // MATCHING
+    // ============================================
+
+    private BitSet candidates(String term) {
+        if (term.length() == 1) {
+            BitSet posting = postings.get("^" + term);
+            return posting != null ? (BitSet) posting.clone() : new BitSet();
+        }
+        Set<String> grams = grams(new String[]{term}, false);
+        int[] hits = new int[docs.size()];
+        for (String gram : grams) {
+            BitSet posting = postings.get(gram);
+            if (posting != null) {
+                for (int i = posting.nextSetBit(0); i >= 0; i = posting.nextSetBit(i + 1)) {
+                    hits[i]++;
+                }
+            }
+        }
+        // A prefix misses the end trigram, a substring both end trigrams,
+        // and each edit can break up to three trigrams
+        int n = grams.size();
+        int exact = term.length() >= 3 ? n - 2 : n - 1;
+        int minHits = Math.max(1, Math.min(exact, n - 3 * maxEdits(term)));
+        BitSet candidates = new BitSet(hits.length);
+        for (int i = 0; i < hits.length; i++) {
+            if (hits[i] >= minHits) {
+                candidates.set(i);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Customers with a first or last name within the typo distance of a term,
+     * among names starting with its first or second letter
+     */
+    private BitSet typoCandidates(String term) {
+        BitSet candidates = new BitSet();
+        for (int i = 0; i < 2; i++) {
+            char first = term.charAt(i);
+            for (Map.Entry<String, BitSet> entry : nameWords.subMap(String.valueOf(first), true,
+                    String.valueOf((char) (first + 1)), false).entrySet()) {
+                if (wordScore(term, entry.getKey()) > 0) {
+                    candidates.or(entry.getValue());
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void collect(String[] terms, BitSet ordinals, PriorityQueue<Hit> top, int limit) {
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            Doc doc = docs.get(i);
+            if (doc == null) {
+                continue;
+            }
+            double score = score(terms, doc.words());
+            if (score <= 0) {
+                continue;
+            }
+            Hit hit = new Hit(doc, score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (BEST_FIRST.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+    }
+
+    private static double score(String[] terms, String[] words) {
+        double total = 0;
+        for (String term : terms) {
+            double best = 0;
+            for (String word : words) {
+                best = Math.max(best, wordScore(term, word));
+                if (best == 1.0) {
+                    break;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total / terms.length;
+    }
+
+    private static double wordScore(String term, String word) {
+        if (word.equals(term)) {
+            return 1.0;
+        }
+        if (word.startsWith(term)) {
+            return 0.9;
+        }
+        if (term.length() >= 3 && word.contains(term)) {
+            return 0.7;
+        }
+        int maxEdits = maxEdits(term);
+        if (maxEdits == 0) {
+            return 0;
+        }
+        int distance = editDistance(term, word, maxEdits);
+        if (word.length() > term.length()) {
+            // Typo in a word that is still being typed
+            distance = Math.min(distance, editDistance(term, word.substring(0, term.length()), maxEdits));
+        }
+        return distance <= maxEdits ? 0.6 - 0.1 * distance : 0;
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+    }
+
+    private static boolean allowsTypos(String[] terms) {
+        for (String term : terms) {
+            if (maxEdits(term) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent transpositions count as one
+     * edit), or max + 1 as soon as it is known to exceed max
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] before = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, before[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // ============================================
+    // TEXT
+    // ============================================
+
+    /**
+     * Padded trigrams of words; with starts, also the "^x" gram of each word
+     * so one-letter queries find prefixes
+     */
+    private static Set<String> grams(String[] words, boolean starts) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words) {
+            String padded = "^" + word + "$";
+            if (starts) {
+                grams.add(padded.substring(0, 2));
+            }
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATORS.split(Text.normalize(text))) {
+            // Keep dots and @ inside emails, not around words
+            String trimmed = word.replaceAll("^[._]+|[._]+$", "");
+            if (!trimmed.isEmpty()) {
+                words.add(trimmed);
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+}
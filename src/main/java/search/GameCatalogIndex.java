@@ -0,0 +1,341 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package search;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.GameDAO;
+import model.AgeRating;
+import model.Game;
+import model.GameFilter;
+import model.GameSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * GameCatalogIndex - In-memory game catalog for the kiosk game browser
+ *
+ * Games are kept sorted by title, so a game's position is its bit in every
+ * index: a trie of title word prefixes and inverted indexes for genre, age
+ * rating, publisher and multiplayer. A query ANDs the bitmaps of its filters
+ * and counts each facet against all the other filters, so one call returns
+ * the page and the counts without touching the database.
+ *
+ * The catalog is small and rarely written, so every game write publishes a
+ * new immutable snapshot and readers take no lock. Until the first load has
+ * finished, queries build a throwaway snapshot from the database.
+ */
+public class GameCatalogIndex {
+    private static final Logger logger = LoggerFactory.getLogger(GameCatalogIndex.class);
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final GameDAO gameDAO;
+    // Applies the load and all updates in order
+    private final ExecutorService updater;
+    // Only touched by the updater thread
+    private final Map<Long, Game> games = new HashMap<>();
+    private volatile Catalog catalog;
+
+    public GameCatalogIndex(GameDAO gameDAO) {
+        this.gameDAO = gameDAO;
+        this.updater = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "game-catalog-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsRegistry.gauge("search.games.size", () -> {
+            Catalog current = catalog;
+            return current != null ? current.games.length : 0;
+        });
+    }
+
+    /**
+     * Load all games in the background
+     */
+    public void start() {
+        enqueue(() -> {
+            try {
+                long start = System.nanoTime();
+                for (Game game : gameDAO.findAll()) {
+                    games.put(game.getGameId(), game);
+                }
+                catalog = new Catalog(games.values());
+                logger.info("Game catalog index loaded: {} games in {} ms",
+                        games.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                logger.error("Game catalog index failed to load, searching the database instead: {}",
+                        e.getMessage(), e);
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return catalog != null;
+    }
+
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Publish a created or updated game
+     */
+    public void gameChanged(Game game) {
+        enqueue(() -> {
+            if (catalog != null) {
+                games.put(game.getGameId(), game);
+                catalog = new Catalog(games.values());
+            }
+        });
+    }
+
+    public void gameDeleted(Long gameId) {
+        enqueue(() -> {
+            if (catalog != null && games.remove(gameId) != null) {
+                catalog = new Catalog(games.values());
+            }
+        });
+    }
+
+    /**
+     * Games matching a filter, sorted by title, with facet counts
+     */
+    public GameSearchResult search(GameFilter filter) {
+        long start = System.nanoTime();
+        Catalog current = catalog;
+        if (current == null) {
+            current = new Catalog(gameDAO.findAll());
+        }
+        GameSearchResult result = current.search(filter);
+        MetricsRegistry.counter("search.games.queries").increment();
+        MetricsRegistry.counter("search.games.nanos").add(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Games with a title word starting with every word of the prefix, sorted by title
+     */
+    public List<Game> searchByTitle(String titlePrefix, int limit) {
+        GameFilter filter = new GameFilter();
+        filter.setTitlePrefix(titlePrefix);
+        filter.setLimit(limit);
+        return search(filter).getGames();
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            updater.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = WORD_SEPARATORS.matcher(Text.normalize(text)).replaceAll(" ").trim();
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static String key(String value) {
+        return value == null || value.isBlank() ? null : Text.normalize(value.trim());
+    }
+
+    private static final class TrieNode {
+        final Map<Character, TrieNode> children = new HashMap<>();
+        // Games with a title word passing through this node
+        final BitSet games = new BitSet();
+    }
+
+    /**
+     * Immutable snapshot of the catalog; bit i is games[i]
+     */
+    private static final class Catalog {
+        final Game[] games;
+        final BitSet all = new BitSet();
+        final TrieNode titles = new TrieNode();
+        final Map<String, BitSet> byGenre = new HashMap<>();
+        final Map<String, BitSet> byPublisher = new HashMap<>();
+        final Map<AgeRating, BitSet> byAgeRating = new EnumMap<>(AgeRating.class);
+        final BitSet multiplayer = new BitSet();
+        // First spelling seen for each genre and publisher key
+        final Map<String, String> labels = new HashMap<>();
+
+        Catalog(Collection<Game> source) {
+            this.games = source.toArray(Game[]::new);
+            Arrays.sort(games, Comparator.comparing(
+                    (Game game) -> game.getGameTitle() != null ? Text.normalize(game.getGameTitle()) : "")
+                    .thenComparing(Game::getGameId));
+            all.set(0, games.length);
+            for (int i = 0; i < games.length; i++) {
+                Game game = games[i];
+                for (String word : words(game.getGameTitle())) {
+                    TrieNode node = titles;
+                    for (int c = 0; c < word.length(); c++) {
+                        node = node.children.computeIfAbsent(word.charAt(c), k -> new TrieNode());
+                        node.games.set(i);
+                    }
+                }
+                addTo(byGenre, game.getGenre(), i);
+                addTo(byPublisher, game.getPublisher(), i);
+                if (game.getAgeRating() != null) {
+                    byAgeRating.computeIfAbsent(game.getAgeRating(), r -> new BitSet()).set(i);
+                }
+                if (Boolean.TRUE.equals(game.getIsMultiplayer())) {
+                    multiplayer.set(i);
+                }
+            }
+        }
+
+        private void addTo(Map<String, BitSet> index, String value, int i) {
+            String key = key(value);
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new BitSet()).set(i);
+                labels.putIfAbsent(key, value.trim());
+            }
+        }
+
+        GameSearchResult search(GameFilter filter) {
+            BitSet title = titleMatches(filter.getTitlePrefix());
+            BitSet genre = anyOf(byGenre, keys(filter.getGenres()));
+            BitSet publisher = anyOf(byPublisher, keys(filter.getPublishers()));
+            BitSet ageRating = null;
+            if (filter.getAgeRatings() != null && !filter.getAgeRatings().isEmpty()) {
+                ageRating = new BitSet();
+                for (AgeRating rating : filter.getAgeRatings()) {
+                    BitSet posting = byAgeRating.get(rating);
+                    if (posting != null) {
+                        ageRating.or(posting);
+                    }
+                }
+            }
+            BitSet multi = null;
+            if (filter.getMultiplayer() != null) {
+                multi = (BitSet) multiplayer.clone();
+                if (!filter.getMultiplayer()) {
+                    multi.xor(all);
+                }
+            }
+
+            BitSet matches = and(title, genre, publisher, ageRating, multi);
+            List<Game> page = new ArrayList<>();
+            for (int i = matches.nextSetBit(0); i >= 0 && page.size() < filter.getLimit();
+                 i = matches.nextSetBit(i + 1)) {
+                page.add(games[i]);
+            }
+
+            GameSearchResult result = new GameSearchResult();
+            result.setGames(page);
+            result.setTotalMatches(matches.cardinality());
+            result.setGenreCounts(countLabels(byGenre, and(title, publisher, ageRating, multi)));
+            result.setPublisherCounts(countLabels(byPublisher, and(title, genre, ageRating, multi)));
+            BitSet othersForRating = and(title, genre, publisher, multi);
+            Map<AgeRating, Integer> ageRatingCounts = new EnumMap<>(AgeRating.class);
+            byAgeRating.forEach((rating, posting) -> putCount(ageRatingCounts, rating, posting, othersForRating));
+            result.setAgeRatingCounts(ageRatingCounts);
+            BitSet othersForMulti = and(title, genre, publisher, ageRating);
+            Map<Boolean, Integer> multiplayerCounts = new TreeMap<>();
+            int multiCount = intersectionSize(multiplayer, othersForMulti);
+            multiplayerCounts.put(Boolean.TRUE, multiCount);
+            multiplayerCounts.put(Boolean.FALSE, othersForMulti.cardinality() - multiCount);
+            result.setMultiplayerCounts(multiplayerCounts);
+            return result;
+        }
+
+        private BitSet titleMatches(String prefix) {
+            BitSet matches = (BitSet) all.clone();
+            for (String word : words(prefix)) {
+                TrieNode node = titles;
+                for (int c = 0; c < word.length() && node != null; c++) {
+                    node = node.children.get(word.charAt(c));
+                }
+                if (node == null) {
+                    return new BitSet();
+                }
+                matches.and(node.games);
+            }
+            return matches;
+        }
+
+        // Union of the postings of the keys, or null when there are no keys
+        private static BitSet anyOf(Map<String, BitSet> index, List<String> keys) {
+            if (keys.isEmpty()) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (String key : keys) {
+                BitSet posting = index.get(key);
+                if (posting != null) {
+                    union.or(posting);
+                }
+            }
+            return union;
+        }
+
+        private static List<String> keys(Collection<String> values) {
+            List<String> keys = new ArrayList<>();
+            if (values != null) {
+                for (String value : values) {
+                    String key = key(value);
+                    if (key != null) {
+                        keys.add(key);
+                    }
+                }
+            }
+            return keys;
+        }
+
+        // Intersection of the non-null sets, starting from the title matches
+        private static BitSet and(BitSet title, BitSet... filters) {
+            BitSet result = (BitSet) title.clone();
+            for (BitSet filter : filters) {
+                if (filter != null) {
+                    result.and(filter);
+                }
+            }
+            return result;
+        }
+
+        private Map<String, Integer> countLabels(Map<String, BitSet> index, BitSet others) {
+            Map<String, Integer> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            index.forEach((key, posting) -> putCount(counts, labels.get(key), posting, others));
+            return counts;
+        }
+
+        private static <K> void putCount(Map<K, Integer> counts, K key, BitSet posting, BitSet others) {
+            int count = intersectionSize(posting, others);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        }
+
+        private static int intersectionSize(BitSet a, BitSet b) {
+            BitSet both = (BitSet) a.clone();
+            both.and(b);
+            return both.cardinality();
+        }
+    }
+}
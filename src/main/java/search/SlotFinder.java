@@ -0,0 +1,213 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package search;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.BookingDAO;
+import model.AvailableSlot;
+import model.GamingStation;
+import model.StationType;
+import utils.DateTimeRange;
+import utils.MetricsRegistry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * SlotFinder - Earliest free slots of a given length across stations
+ *
+ * Each in-service station of the requested type has a cursor that walks
+ * its free gaps day by day; the cursors sit in a priority queue ordered by
+ * slot start, then by station preference (lower hourly rate, then station
+ * ID). Taking the head gives the next best slot, after which that station's
+ * cursor moves on to its next gap - so a station offers at most one slot
+ * per free gap and the walk stops after the requested number of slots.
+ *
+ * Busy time comes from BookingCalendar; days beyond its horizon are read in
+ * one range query. Slots start on the hour or a multiple of the granularity
+ * (15 minutes, gamingcenter.slots.granularityMinutes) from the requested
+ * time, or right when a booking ends, and do not run past midnight. The
+ * search covers gamingcenter.slots.searchDays days (default 7).
+ */
+public class SlotFinder {
+
+    private static final String PREFIX = "gamingcenter.slots.";
+    private static final int END_OF_DAY = 24 * 60 * 60;
+
+    private final StationIndex stationIndex;
+    private final BookingCalendar calendar;
+    private final BookingDAO bookingDAO;
+    private final int searchDays;
+    private final int granularitySeconds;
+
+    private static final class Cursor {
+        final GamingStation station;
+        LocalDate date;
+        // Second of day the next slot may start at
+        int from;
+        // Current slot and the end of its free gap
+        int slotStart;
+        int gapEnd;
+
+        Cursor(GamingStation station, LocalDate date, int from) {
+            this.station = station;
+            this.date = date;
+            this.from = from;
+        }
+    }
+
+    private static final Comparator<Cursor> NEXT_SLOT = Comparator
+            .comparing((Cursor c) -> c.date)
+            .thenComparingInt(c -> c.slotStart)
+            .thenComparing(c -> c.station.getHourlyRate(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(c -> c.station.getStationId());
+
+    public SlotFinder(StationIndex stationIndex, BookingCalendar calendar, BookingDAO bookingDAO) {
+        this(stationIndex, calendar, bookingDAO, Integer.getInteger(PREFIX + "searchDays", 7),
+             Integer.getInteger(PREFIX + "granularityMinutes", 15));
+    }
+
+    public SlotFinder(StationIndex stationIndex, BookingCalendar calendar, BookingDAO bookingDAO,
+                      int searchDays, int granularityMinutes) {
+        this.stationIndex = stationIndex;
+        this.calendar = calendar;
+        this.bookingDAO = bookingDAO;
+        this.searchDays = searchDays;
+        this.granularitySeconds = granularityMinutes * 60;
+    }
+
+    /**
+     * The earliest free slots, best first
+     * @param type station type, or null for any
+     * @param durationMinutes slot length, at most one day
+     * @param from earliest start
+     * @param limit maximum number of slots
+     */
+    public List<AvailableSlot> findNextAvailableSlots(StationType type, int durationMinutes, LocalDateTime from,
+                                                      int limit) {
+        if (durationMinutes <= 0 || durationMinutes > 24 * 60) {
+            throw new IllegalArgumentException("Duration must be between 1 minute and 24 hours");
+        }
+        long start = System.nanoTime();
+        int duration = durationMinutes * 60;
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate endDay = firstDay.plusDays(searchDays);
+        int firstFrom = roundUp(from.toLocalTime().toSecondOfDay());
+
+        List<GamingStation> stations = stationIndex.findInService(type);
+        Map<LocalDate, Map<Long, int[]>> uncovered = loadUncovered(firstDay, endDay);
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, stations.size()), NEXT_SLOT);
+        for (GamingStation station : stations) {
+            Cursor cursor = new Cursor(station, firstDay, firstFrom);
+            if (advance(cursor, duration, endDay, uncovered)) {
+                queue.add(cursor);
+            }
+        }
+
+        List<AvailableSlot> slots = new ArrayList<>(limit);
+        while (slots.size() < limit && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            slots.add(toSlot(cursor, duration));
+            cursor.from = cursor.gapEnd;
+            if (advance(cursor, duration, endDay, uncovered)) {
+                queue.add(cursor);
+            }
+        }
+        MetricsRegistry.counter("search.slots.queries").increment();
+        MetricsRegistry.counter("search.slots.nanos").add(System.nanoTime() - start);
+        return slots;
+    }
+
+    /**
+     * Move a cursor to the first slot at or after its position
+     * @return false when there is none before the end of the search
+     */
+    private boolean advance(Cursor cursor, int duration, LocalDate endDay,
+                            Map<LocalDate, Map<Long, int[]>> uncovered) {
+        while (cursor.date.isBefore(endDay)) {
+            int[] blocked = calendar.blocked(cursor.station.getStationId(), cursor.date);
+            if (blocked == null) {
+                blocked = uncovered.getOrDefault(cursor.date, Map.of())
+                        .getOrDefault(cursor.station.getStationId(), new int[0]);
+            }
+            if (findGap(cursor, blocked, duration)) {
+                return true;
+            }
+            cursor.date = cursor.date.plusDays(1);
+            cursor.from = 0;
+        }
+        return false;
+    }
+
+    // Intervals are sorted by start and may overlap
+    private static boolean findGap(Cursor cursor, int[] blocked, int duration) {
+        int t = cursor.from;
+        for (int i = 0; i < blocked.length; i += 2) {
+            if (blocked[i + 1] <= t) {
+                continue;
+            }
+            if (blocked[i] >= t + duration) {
+                cursor.slotStart = t;
+                cursor.gapEnd = blocked[i];
+                return true;
+            }
+            t = Math.max(t, blocked[i + 1]);
+        }
+        if (t + duration <= END_OF_DAY) {
+            cursor.slotStart = t;
+            cursor.gapEnd = END_OF_DAY;
+            return true;
+        }
+        return false;
+    }
+
+    // Busy time for days beyond the calendar horizon, in one range query
+    private Map<LocalDate, Map<Long, int[]>> loadUncovered(LocalDate firstDay, LocalDate endDay) {
+        LocalDate firstUncovered = firstDay;
+        while (firstUncovered.isBefore(endDay) && calendar.covers(firstUncovered)) {
+            firstUncovered = firstUncovered.plusDays(1);
+        }
+        if (!firstUncovered.isBefore(endDay)) {
+            return Map.of();
+        }
+        MetricsRegistry.counter("search.slots.calendarMiss").increment();
+        return BookingCalendar.toDays(bookingDAO.findBlockedIntervals(
+                DateTimeRange.ofDays(firstUncovered, endDay.minusDays(1)), null));
+    }
+
+    private int roundUp(int secondOfDay) {
+        return (secondOfDay + granularitySeconds - 1) / granularitySeconds * granularitySeconds;
+    }
+
+    private static AvailableSlot toSlot(Cursor cursor, int duration) {
+        GamingStation station = cursor.station;
+        AvailableSlot slot = new AvailableSlot();
+        slot.setStationId(station.getStationId());
+        slot.setStationName(station.getStationName());
+        slot.setStationType(station.getStationType());
+        slot.setDate(cursor.date);
+        slot.setStartTime(LocalTime.ofSecondOfDay(cursor.slotStart));
+        int end = cursor.slotStart + duration;
+        slot.setEndTime(end >= END_OF_DAY ? LocalTime.MAX : LocalTime.ofSecondOfDay(end));
+        if (station.getHourlyRate() != null) {
+            BigDecimal hours = BigDecimal.valueOf(duration / 60).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+            slot.setEstimatedAmount(station.getHourlyRate().multiply(hours));
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package search;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.BookingDAO;
+import dao.GamingStationDAO;
+import model.GamingStation;
+import model.StationStatus;
+import model.StationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.MetricsRegistry;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * StationIndex - Bitmaps of stations by installed game, type and status
+ *
+ * Each bitmap has one bit per station ID. Finding where a game can be
+ * played is an AND of the game, type and status bitmaps minus the stations
+ * BookingCalendar reports busy in the requested window, then a lookup of
+ * the matching stations - no database access for days within the calendar
+ * horizon.
+ *
+ * Station writes publish a new immutable snapshot from a single updater
+ * thread, so readers take no lock. Until the first load has finished,
+ * queries build a throwaway snapshot from the database.
+ */
+public class StationIndex {
+    private static final Logger logger = LoggerFactory.getLogger(StationIndex.class);
+
+    private final GamingStationDAO stationDAO;
+    private final BookingDAO bookingDAO;
+    private final BookingCalendar calendar;
+    // Applies the load and all updates in order
+    private final ExecutorService updater;
+    // Only touched by the updater thread
+    private final Map<Long, GamingStation> stations = new HashMap<>();
+    private final Map<Long, Set<Long>> gamesByStation = new HashMap<>();
+    private volatile Snapshot snapshot;
+
+    public StationIndex(GamingStationDAO stationDAO, BookingDAO bookingDAO, BookingCalendar calendar) {
+        this.stationDAO = stationDAO;
+        this.bookingDAO = bookingDAO;
+        this.calendar = calendar;
+        this.updater = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "station-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load all stations and installations in the background
+     */
+    public void start() {
+        enqueue(() -> {
+            try {
+                long start = System.nanoTime();
+                loadAll(stations, gamesByStation);
+                snapshot = new Snapshot(stations.values(), gamesByStation);
+                logger.info("Station index loaded: {} stations in {} ms",
+                        stations.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                logger.error("Station index failed to load, searching the database instead: {}",
+                        e.getMessage(), e);
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Re-read a station and its installed games after a write
+     */
+    public void stationChanged(Long stationId) {
+        enqueue(() -> {
+            if (snapshot == null) {
+                return;
+            }
+            try {
+                GamingStation station = stationDAO.findById(stationId);
+                Set<Long> games = new HashSet<>();
+                for (Object[] row : stationDAO.findInstalledGames(stationId)) {
+                    games.add((Long) row[1]);
+                }
+                if (station != null) {
+                    stations.put(stationId, station);
+                    gamesByStation.put(stationId, games);
+                } else {
+                    stations.remove(stationId);
+                    gamesByStation.remove(stationId);
+                }
+                snapshot = new Snapshot(stations.values(), gamesByStation);
+            } catch (RuntimeException e) {
+                MetricsRegistry.counter("search.stations.refreshFailed").increment();
+                logger.warn("Failed to refresh station {} in index: {}", stationId, e.getMessage());
+            }
+        });
+    }
+
+    public void stationDeleted(Long stationId) {
+        enqueue(() -> {
+            if (snapshot != null && stations.remove(stationId) != null) {
+                gamesByStation.remove(stationId);
+                snapshot = new Snapshot(stations.values(), gamesByStation);
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted game; its installations go with it
+     */
+    public void gameDeleted(Long gameId) {
+        enqueue(() -> {
+            if (snapshot == null) {
+                return;
+            }
+            boolean changed = false;
+            for (Set<Long> games : gamesByStation.values()) {
+                changed |= games.remove(gameId);
+            }
+            if (changed) {
+                snapshot = new Snapshot(stations.values(), gamesByStation);
+            }
+        });
+    }
+
+    /**
+     * Stations that are in service, match the game and type, and have no
+     * pending, confirmed or ongoing booking in the window, by station ID
+     * @param gameId installed game, or null for any
+     * @param type station type, or null for any
+     * @param date day of the window, or null for right now (status AVAILABLE and no booking in progress)
+     */
+    public List<GamingStation> findAvailable(Long gameId, StationType type, LocalDate date,
+                                             LocalTime startTime, LocalTime endTime) {
+        long start = System.nanoTime();
+        Snapshot current = currentSnapshot();
+        BitSet matches = (BitSet) current.byStatus.get(StationStatus.AVAILABLE).clone();
+        if (date == null) {
+            // Right now: free this minute and not marked occupied
+            LocalTime now = LocalTime.now().withSecond(0).withNano(0);
+            date = LocalDate.now();
+            startTime = now;
+            endTime = now.equals(LocalTime.of(23, 59)) ? LocalTime.MAX : now.plusMinutes(1);
+        } else {
+            // A later window only needs the station to be in service
+            matches.or(current.byStatus.get(StationStatus.OCCUPIED));
+        }
+        if (gameId != null) {
+            matches.and(current.byGame.getOrDefault(gameId, new BitSet()));
+        }
+        if (type != null) {
+            matches.and(current.byType.get(type));
+        }
+        if (!matches.isEmpty()) {
+            BitSet busy = calendar.busyStations(date, startTime, endTime);
+            if (busy == null) {
+                MetricsRegistry.counter("search.stations.calendarMiss").increment();
+                busy = new BitSet();
+                for (Long stationId : bookingDAO.findBusyStationIds(date, startTime, endTime)) {
+                    busy.set(stationId.intValue());
+                }
+            }
+            matches.andNot(busy);
+        }
+
+        List<GamingStation> result = current.collect(matches);
+        MetricsRegistry.counter("search.stations.queries").increment();
+        MetricsRegistry.counter("search.stations.nanos").add(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Stations that can be booked (available or occupied, not in maintenance
+     * or out of order), by station ID
+     * @param type station type, or null for any
+     */
+    public List<GamingStation> findInService(StationType type) {
+        Snapshot current = currentSnapshot();
+        BitSet matches = (BitSet) current.byStatus.get(StationStatus.AVAILABLE).clone();
+        matches.or(current.byStatus.get(StationStatus.OCCUPIED));
+        if (type != null) {
+            matches.and(current.byType.get(type));
+        }
+        return current.collect(matches);
+    }
+
+    // Until the first load has finished, a throwaway snapshot from the database
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            Map<Long, GamingStation> loadedStations = new HashMap<>();
+            Map<Long, Set<Long>> loadedGames = new HashMap<>();
+            loadAll(loadedStations, loadedGames);
+            current = new Snapshot(loadedStations.values(), loadedGames);
+        }
+        return current;
+    }
+
+    private void loadAll(Map<Long, GamingStation> stationsOut, Map<Long, Set<Long>> gamesOut) {
+        for (GamingStation station : stationDAO.findAll()) {
+            stationsOut.put(station.getStationId(), station);
+            gamesOut.put(station.getStationId(), new HashSet<>());
+        }
+        for (Object[] row : stationDAO.findInstalledGames(null)) {
+            Set<Long> games = gamesOut.get((Long) row[0]);
+            if (games != null) {
+                games.add((Long) row[1]);
+            }
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            updater.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Immutable snapshot; bit i is the station with ID i
+     */
+    private static final class Snapshot {
+        final GamingStation[] stations;
+        final Map<Long, BitSet> byGame = new HashMap<>();
+        final Map<StationType, BitSet> byType = new EnumMap<>(StationType.class);
+        final Map<StationStatus, BitSet> byStatus = new EnumMap<>(StationStatus.class);
+
+        Snapshot(Collection<GamingStation> source, Map<Long, Set<Long>> gamesByStation) {
+            int maxId = 0;
+            for (GamingStation station : source) {
+                maxId = Math.max(maxId, station.getStationId().intValue());
+            }
+            this.stations = new GamingStation[maxId + 1];
+            for (StationType type : StationType.values()) {
+                byType.put(type, new BitSet());
+            }
+            for (StationStatus status : StationStatus.values()) {
+                byStatus.put(status, new BitSet());
+            }
+            for (GamingStation station : source) {
+                int bit = station.getStationId().intValue();
+                stations[bit] = station;
+                if (station.getStationType() != null) {
+                    byType.get(station.getStationType()).set(bit);
+                }
+                if (station.getStatus() != null) {
+                    byStatus.get(station.getStatus()).set(bit);
+                }
+                for (Long gameId : gamesByStation.getOrDefault(station.getStationId(), Set.of())) {
+                    byGame.computeIfAbsent(gameId, g -> new BitSet()).set(bit);
+                }
+            }
+        }
+
+        List<GamingStation> collect(BitSet bits) {
+            List<GamingStation> result = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.add(stations[i]);
+            }
+            return result;
+        }
+    }
+}
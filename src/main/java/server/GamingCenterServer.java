@@ -31,6 +31,7 @@ public class GamingCenterServer {
     // Server configuration
     private static final int RMI_PORT = 3500; // Within required range 3000-4000
     private static final String SERVICE_NAME = "GamingCenterService";
+    private static final int CALLBACK_TIMEOUT_MS = 5000;
 
     public static void main(String[] args) {
         logger.info("==========================================");
@@ -46,6 +47,9 @@ public class GamingCenterServer {
             }
             logger.info("✅ Hibernate initialized successfully");
 
+            // Bound callback calls so a hung client cannot pin a delivery thread
+            System.setProperty("sun.rmi.transport.tcp.responseTimeout", String.valueOf(CALLBACK_TIMEOUT_MS));
+
             // Step 2: Create RMI Registry
             logger.info("Creating RMI registry on port {}...", RMI_PORT);
             Registry registry = LocateRegistry.createRegistry(RMI_PORT);
@@ -53,7 +57,8 @@ public class GamingCenterServer {
 
             // Step 3: Create and bind Remote Service
             logger.info("Creating Remote Service implementation...");
-            RemoteService service = new RemoteServiceImpl();
+            RemoteServiceImpl service = new RemoteServiceImpl();
+            service.start();
             registry.rebind(SERVICE_NAME, service);
             logger.info("✅ Remote Service bound to registry as '{}'", SERVICE_NAME);
 
@@ -96,6 +101,9 @@ public class GamingCenterServer {
                     registry.unbind(SERVICE_NAME);
                     logger.info("✅ Service unbound from registry");
                     
+                    // Stop background workers
+                    service.shutdown();
+                    
                     // Close Hibernate SessionFactory
                     HibernateUtil.shutdown();
                     logger.info("✅ Hibernate SessionFactory closed");
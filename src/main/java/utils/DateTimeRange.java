@@ -0,0 +1,112 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * DateTimeRange - Half-open timestamp range [start, end)
+ * Used by range queries so that predicates compare the raw indexed
+ * column (col >= :start AND col < :end) instead of wrapping it in DATE()
+ */
+public final class DateTimeRange implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    private DateTimeRange(LocalDateTime start, LocalDateTime end) {
+        this.start = Objects.requireNonNull(start, "start");
+        this.end = Objects.requireNonNull(end, "end");
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Range start must be before end: " + start + " - " + end);
+        }
+    }
+
+    /**
+     * Range from start (inclusive) to end (exclusive)
+     */
+    public static DateTimeRange of(LocalDateTime start, LocalDateTime endExclusive) {
+        return new DateTimeRange(start, endExclusive);
+    }
+
+    /**
+     * Range covering whole days from firstDay to lastDay (both inclusive)
+     */
+    public static DateTimeRange ofDays(LocalDate firstDay, LocalDate lastDay) {
+        return new DateTimeRange(firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay());
+    }
+
+    public static DateTimeRange ofDay(LocalDate day) {
+        return ofDays(day, day);
+    }
+
+    public static DateTimeRange ofMonth(YearMonth month) {
+        return ofDays(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * First calendar day touched by the range (for DATE columns)
+     */
+    public LocalDate getStartDate() {
+        return start.toLocalDate();
+    }
+
+    /**
+     * First calendar day after the range (exclusive bound for DATE columns)
+     */
+    public LocalDate getEndDateExclusive() {
+        LocalDate endDate = end.toLocalDate();
+        return end.toLocalTime().equals(LocalTime.MIDNIGHT) ? endDate : endDate.plusDays(1);
+    }
+
+    /**
+     * Number of calendar days touched by the range
+     */
+    public long getDays() {
+        return ChronoUnit.DAYS.between(getStartDate(), getEndDateExclusive());
+    }
+
+    public boolean contains(LocalDateTime instant) {
+        return !instant.isBefore(start) && instant.isBefore(end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DateTimeRange)) return false;
+        DateTimeRange other = (DateTimeRange) o;
+        return start.equals(other.start) && end.equals(other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ")";
+    }
+}
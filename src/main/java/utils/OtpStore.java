@@ -0,0 +1,118 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OtpStore - One-time login codes held in memory with a time to live
+ *
+ * Codes come from SecureRandom and live for a few minutes. Each username has
+ * at most one code; issuing a new one replaces it. A code is removed when it
+ * is used, when it expires (a sweeper runs every minute) or after too many
+ * wrong guesses. Codes are lost on restart, which only means users request
+ * a new one.
+ */
+public class OtpStore {
+
+    private static final String PREFIX = "gamingcenter.otp.";
+
+    public enum Result {
+        VALID, INVALID, EXPIRED, TOO_MANY_ATTEMPTS
+    }
+
+    private static final class Entry {
+        final String code;
+        final long expiresAtNanos;
+        int failedAttempts;
+
+        Entry(String code, long expiresAtNanos) {
+            this.code = code;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxAttempts;
+    private final ScheduledExecutorService sweeper;
+
+    public OtpStore() {
+        this(Long.getLong(PREFIX + "ttlSeconds", 300), Integer.getInteger(PREFIX + "maxAttempts", 5));
+    }
+
+    public OtpStore(long ttlSeconds, int maxAttempts) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxAttempts = maxAttempts;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "otp-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::removeExpired, 1, 1, TimeUnit.MINUTES);
+        MetricsRegistry.gauge("otp.active", entries::size);
+    }
+
+    /**
+     * Issue a new 6-digit code for a user, replacing any previous one
+     */
+    public String issue(String username) {
+        String code = String.format("%06d", random.nextInt(1_000_000));
+        entries.put(username, new Entry(code, System.nanoTime() + ttlNanos));
+        MetricsRegistry.counter("otp.issued").increment();
+        return code;
+    }
+
+    /**
+     * Check a code; a valid code is consumed
+     */
+    public Result verify(String username, String code) {
+        Result[] result = {Result.EXPIRED};
+        entries.computeIfPresent(username, (name, entry) -> {
+            if (entry.isExpired(System.nanoTime())) {
+                return null;
+            }
+            if (code != null && MessageDigest.isEqual(entry.code.getBytes(StandardCharsets.US_ASCII),
+                    code.getBytes(StandardCharsets.US_ASCII))) {
+                result[0] = Result.VALID;
+                return null;
+            }
+            if (++entry.failedAttempts >= maxAttempts) {
+                result[0] = Result.TOO_MANY_ATTEMPTS;
+                return null;
+            }
+            result[0] = Result.INVALID;
+            return entry;
+        });
+        MetricsRegistry.counter(result[0] == Result.VALID ? "otp.verified" : "otp.failed").increment();
+        return result[0];
+    }
+
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void removeExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+}
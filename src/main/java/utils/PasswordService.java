@@ -0,0 +1,158 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordService - BCrypt hashing on a dedicated bounded executor
+ *
+ * A BCrypt hash or check costs tens of milliseconds of CPU by design, so it
+ * runs on a small fixed pool (one thread per core by default, capped at 4)
+ * with a bounded queue. At peak, logins queue there instead of taking every
+ * CPU, and overflow is rejected at once ("Server busy") rather than making
+ * every login slow.
+ *
+ * Passwords stored before hashing was introduced are still accepted in
+ * plaintext; needsRehash() tells the caller to replace them with a hash on
+ * the next successful login. The same applies when the cost factor changes.
+ *
+ * Tune with gamingcenter.password.cost (4-31, default 10), .threads and
+ * .queue; PasswordServiceBenchmark (test sources) measures hash time and
+ * throughput on a given machine.
+ */
+public class PasswordService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordService.class);
+
+    private static final String PREFIX = "gamingcenter.password.";
+    private static final long WAIT_SECONDS = 30;
+
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    // Checked when the user does not exist, so both cases take equally long
+    private final String dummyHash;
+
+    public PasswordService() {
+        this(Integer.getInteger(PREFIX + "cost", 10),
+             Integer.getInteger(PREFIX + "threads", Math.min(4, Runtime.getRuntime().availableProcessors())),
+             Integer.getInteger(PREFIX + "queue", 32));
+    }
+
+    public PasswordService(int cost, int threads, int queue) {
+        if (cost < 4 || cost > 31) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31: " + cost);
+        }
+        this.cost = cost;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), r -> {
+                    Thread thread = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = BCrypt.hashpw("not-a-password", BCrypt.gensalt(cost));
+        MetricsRegistry.gauge("password.queued", () -> executor.getQueue().size());
+        logger.info("Password hashing: BCrypt cost {}, {} thread(s), queue {}", cost, threads, queue);
+    }
+
+    /**
+     * Hash a password with the configured cost
+     * @throws IllegalStateException when the hashing queue is full
+     */
+    public String hash(String password) {
+        return run("hash", () -> BCrypt.hashpw(password, BCrypt.gensalt(cost)));
+    }
+
+    /**
+     * Check a password against the stored value (BCrypt hash or legacy plaintext)
+     * @param stored stored password, or null for an unknown user (still costs one check)
+     * @throws IllegalStateException when the hashing queue is full
+     */
+    public boolean verify(String password, String stored) {
+        if (stored == null) {
+            run("verify", () -> BCrypt.checkpw(password, dummyHash));
+            return false;
+        }
+        if (!isHash(stored)) {
+            MetricsRegistry.counter("password.legacyVerified").increment();
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        return run("verify", () -> BCrypt.checkpw(password, stored));
+    }
+
+    /**
+     * Whether a stored password should be replaced by a fresh hash
+     * (legacy plaintext, or hashed with a different cost)
+     */
+    public boolean needsRehash(String stored) {
+        return !isHash(stored) || costOf(stored) != cost;
+    }
+
+    /**
+     * Whether a value is a BCrypt hash rather than a plaintext password
+     */
+    public static boolean isHash(String value) {
+        return value != null && value.length() == 60
+                && (value.startsWith("$2a$") || value.startsWith("$2b$") || value.startsWith("$2y$"));
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static int costOf(String hash) {
+        return Integer.parseInt(hash.substring(4, 6));
+    }
+
+    private <T> T run(String op, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            MetricsRegistry.counter("password.rejected").increment();
+            throw new IllegalStateException("Server busy, please retry");
+        }
+        try {
+            T result = future.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            MetricsRegistry.counter("password." + op + ".count").increment();
+            MetricsRegistry.counter("password." + op + ".nanos").add(System.nanoTime() - start);
+            return result;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password " + op + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password " + op + " interrupted", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Password " + op + " timed out", e);
+        }
+    }
+}
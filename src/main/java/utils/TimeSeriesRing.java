@@ -0,0 +1,90 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+/**
+ * TimeSeriesRing - Fixed-size ring of timestamped samples
+ *
+ * Each sample is a timestamp plus one long per channel, stored in
+ * preallocated primitive arrays, so appending never allocates. Once full,
+ * the oldest sample is overwritten. Appends and reads are synchronized;
+ * a read copies the requested window out.
+ */
+public final class TimeSeriesRing {
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final long[][] channels;
+    private int next;
+    private int size;
+
+    public TimeSeriesRing(int capacity, int channelCount) {
+        if (capacity <= 0 || channelCount <= 0) {
+            throw new IllegalArgumentException("capacity and channelCount must be positive");
+        }
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.channels = new long[channelCount][capacity];
+    }
+
+    /**
+     * Append a sample
+     * @param values one value per channel; copied, so the caller may reuse the array
+     */
+    public synchronized void append(long timestampMillis, long[] values) {
+        timestamps[next] = timestampMillis;
+        for (int channel = 0; channel < channels.length; channel++) {
+            channels[channel][next] = values[channel];
+        }
+        next = (next + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    /**
+     * Copy out the samples taken at or after a point in time, oldest first
+     * @param maxPoints keep at most this many samples by taking every n-th
+     *        (always including the newest); 0 or less for all
+     * @return [0] timestamps, [1..] channel values
+     */
+    public synchronized long[][] copySince(long sinceMillis, int maxPoints) {
+        int count = 0;
+        while (count < size && timestamps[index(size - 1 - count)] >= sinceMillis) {
+            count++;
+        }
+        int stride = maxPoints > 0 && count > maxPoints ? (count + maxPoints - 1) / maxPoints : 1;
+        int points = (count + stride - 1) / stride;
+
+        long[][] copy = new long[channels.length + 1][points];
+        // Walk back from the newest sample so it is always included
+        for (int point = points - 1, age = 0; point >= 0; point--, age += stride) {
+            int i = index(size - 1 - age);
+            copy[0][point] = timestamps[i];
+            for (int channel = 0; channel < channels.length; channel++) {
+                copy[channel + 1][point] = channels[channel][i];
+            }
+        }
+        return copy;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Physical index of the logical position (0 = oldest retained sample)
+    private int index(int position) {
+        return (next - size + position + capacity) % capacity;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TimerWheel - Hierarchical timing wheel for large numbers of timeouts
+ *
+ * Time is cut into ticks. The first level has one bucket per tick, and each
+ * level above has buckets as long as a full turn of the level below, so a
+ * few levels of 2^n buckets cover any delay: 1 s ticks and 64 buckets reach
+ * about a minute on level 0, an hour on level 1 and three days on level 2.
+ * A timeout goes into the lowest level whose span reaches its deadline;
+ * when a higher bucket comes due its timeouts move down a level, so each
+ * one is touched at most once per level however far out it is. Scheduling
+ * and cancelling are O(1) and take no lock - new timeouts are handed to the
+ * wheel thread through a queue and cancelled ones are dropped when their
+ * bucket comes round. Deadlines are accurate to one tick.
+ *
+ * Tasks run on the wheel thread, so they must be short; hand anything
+ * slower to an executor.
+ */
+public class TimerWheel {
+    private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    /**
+     * Handle of a scheduled task
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long dueTick;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * @return true if the task will not run, false if it already ran or was cancelled
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    private final long tickNanos;
+    // Buckets per level, created when first used
+    private final ArrayDeque<Timeout>[][] levels;
+    private final int bits;
+    private final int mask;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long origin = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * @param name thread name, also the metrics prefix (timers.&lt;name&gt;.*)
+     * @param tickMillis length of one tick
+     * @param wheelSize number of buckets per level, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(String name, long tickMillis, int wheelSize) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.bits = Integer.numberOfTrailingZeros(size);
+        this.mask = size - 1;
+        // Enough levels for any tick count
+        this.levels = (ArrayDeque<Timeout>[][]) new ArrayDeque<?>[(62 + bits) / bits][];
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+        MetricsRegistry.gauge("timers." + name + ".pending", pending::get);
+    }
+
+    /**
+     * Run a task after a delay, on the wheel thread
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - origin + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Number of scheduled tasks that have neither run nor been dropped
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long tickDeadline = (tick + 1) * tickNanos;
+            long sleepNanos = tickDeadline - (System.nanoTime() - origin);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferIncoming();
+            cascade();
+            expire(levels[0] != null ? levels[0][(int) (tick & mask)] : null, tickDeadline);
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        // Bounded so a flood of new timeouts cannot stall the wheel
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = incoming.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == CANCELLED) {
+                pending.decrementAndGet();
+                continue;
+            }
+            // Never into the past: a due timeout goes into the current bucket
+            timeout.dueTick = Math.max(tick, timeout.deadlineNanos / tickNanos);
+            place(timeout);
+        }
+    }
+
+    // The lowest level whose digits above its own match the current tick;
+    // that bucket comes round after now and no later than the deadline
+    private void place(Timeout timeout) {
+        int level = 0;
+        while (level + 1 < levels.length
+                && (timeout.dueTick >>> (bits * (level + 1))) != (tick >>> (bits * (level + 1)))) {
+            level++;
+        }
+        if (levels[level] == null) {
+            levels[level] = newBuckets();
+        }
+        levels[level][(int) ((timeout.dueTick >>> (bits * level)) & mask)].add(timeout);
+    }
+
+    // Move timeouts of higher buckets starting at this tick down a level, top level first
+    private void cascade() {
+        for (int level = levels.length - 1; level > 0; level--) {
+            if (levels[level] == null || (tick & ((1L << (bits * level)) - 1)) != 0) {
+                continue;
+            }
+            ArrayDeque<Timeout> bucket = levels[level][(int) ((tick >>> (bits * level)) & mask)];
+            for (Timeout timeout; (timeout = bucket.poll()) != null; ) {
+                if (timeout.state.get() == CANCELLED) {
+                    pending.decrementAndGet();
+                } else {
+                    place(timeout);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayDeque<Timeout>[] newBuckets() {
+        ArrayDeque<Timeout>[] buckets = (ArrayDeque<Timeout>[]) new ArrayDeque<?>[mask + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        return buckets;
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket, long tickDeadline) {
+        if (bucket == null) {
+            return;
+        }
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.state.get() == CANCELLED) {
+                it.remove();
+                pending.decrementAndGet();
+            } else if (timeout.deadlineNanos <= tickDeadline) {
+                it.remove();
+                pending.decrementAndGet();
+                if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Timer task failed: {}", e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+}
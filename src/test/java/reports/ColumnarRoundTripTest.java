@@ -0,0 +1,121 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package reports;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import model.BookingStatus;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarRoundTripTest {
+
+    private record Row(Long id, BigDecimal amount, LocalDate date, LocalTime time, LocalDateTime createdAt,
+                       String name, BookingStatus status) {
+    }
+
+    private static final ColumnarWriter.Schema<Row> SCHEMA = new ColumnarWriter.Schema<Row>()
+            .longColumn("id", Row::id)
+            .decimalColumn("amount", 2, Row::amount)
+            .dateColumn("date", Row::date)
+            .timeColumn("time", Row::time)
+            .dateTimeColumn("createdAt", Row::createdAt)
+            .stringColumn("name", Row::name)
+            .enumColumn("status", BookingStatus.class, Row::status);
+
+    @Test
+    public void readsBackEveryValueAcrossRowGroups() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 9, 30, 15);
+        for (int i = 0; i < 10; i++) {
+            boolean gap = i % 4 == 3;
+            rows.add(new Row(
+                    gap ? null : (i % 2 == 0 ? 1_000_000L + i : -5L * i),
+                    gap ? null : new BigDecimal("1500.50").subtract(BigDecimal.valueOf(i * 250)),
+                    LocalDate.of(2026, 3, 1).minusDays(i * 40L),
+                    gap ? null : LocalTime.of(8 + i, i % 2 == 0 ? 0 : 30),
+                    created.plusMinutes(i * 97L),
+                    gap ? null : (i == 5 ? "" : "Café ゲーム " + i),
+                    BookingStatus.values()[i % BookingStatus.values().length]));
+        }
+
+        List<Object[]> read = new ArrayList<>();
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(rows, 4)))) {
+            assertEquals(List.of("id", "amount", "date", "time", "createdAt", "name", "status"),
+                    reader.getColumnNames());
+            assertEquals(ColumnarWriter.ColumnType.ENUM, reader.getColumnType(reader.indexOf("status")));
+            List<Integer> groupSizes = new ArrayList<>();
+            while (reader.nextRowGroup()) {
+                groupSizes.add(reader.getRowCount());
+                for (int r = 0; r < reader.getRowCount(); r++) {
+                    Object[] values = new Object[7];
+                    for (int c = 0; c < values.length; c++) {
+                        values[c] = reader.getColumn(c)[r];
+                    }
+                    read.add(values);
+                }
+            }
+            assertEquals(List.of(4, 4, 2), groupSizes);
+            assertEquals(10, reader.getTotalRows());
+            assertFalse(reader.nextRowGroup());
+        }
+
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Object[] expected = {row.id(), row.amount() == null ? null : row.amount().setScale(2),
+                    row.date(), row.time(), row.createdAt(), row.name(),
+                    row.status() == null ? null : row.status().name()};
+            assertArrayEquals("row " + i, expected, read.get(i));
+        }
+    }
+
+    @Test
+    public void decimalsAreRoundedToTheColumnScale() throws IOException {
+        Row row = new Row(1L, new BigDecimal("12.345"), null, null, null, null, null);
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(List.of(row), 16)))) {
+            assertTrue(reader.nextRowGroup());
+            assertEquals(new BigDecimal("12.35"), reader.getColumn(reader.indexOf("amount"))[0]);
+            assertNull(reader.getColumn(reader.indexOf("status"))[0]);
+        }
+    }
+
+    @Test
+    public void emptyExportHasHeaderAndFooterOnly() throws IOException {
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(List.of(), 16)))) {
+            assertEquals(7, reader.getColumnNames().size());
+            assertFalse(reader.nextRowGroup());
+            assertEquals(0, reader.getTotalRows());
+        }
+    }
+
+    private static byte[] write(List<Row> rows, int rowGroupSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ColumnarWriter<Row> writer = new ColumnarWriter<>(out, SCHEMA, rowGroupSize)) {
+            for (Row row : rows) {
+                writer.write(row);
+            }
+        }
+        return out.toByteArray();
+    }
+}
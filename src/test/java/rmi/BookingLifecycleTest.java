@@ -0,0 +1,191 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.BookingDAO;
+import model.BookingStatus;
+import model.StationStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import utils.MetricsRegistry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * BookingLifecycle against an in-memory BookingDAO that applies the same
+ * guarded transitions as the real bulk UPDATEs. The wheel ticks once a
+ * second, so bookings here start and end a few seconds from now.
+ */
+public class BookingLifecycleTest {
+
+    private final Map<Long, BookingStatus> statuses = new ConcurrentHashMap<>();
+    private final List<Object[]> rows = new ArrayList<>();
+    private final List<String> moves = new CopyOnWriteArrayList<>();
+    private LocalDateTime now;
+    private BookingLifecycle lifecycle;
+
+    @Before
+    public void setUp() {
+        now = LocalDateTime.now().withNano(0);
+        // Bookings must start and end today
+        assumeTrue(now.toLocalTime().isAfter(LocalTime.of(0, 30)) && now.toLocalTime().isBefore(LocalTime.of(23, 50)));
+        BookingDAO bookingDAO = new BookingDAO() {
+            @Override
+            public List<Object[]> findLifecycleRows(LocalDate date) {
+                return rows;
+            }
+
+            @Override
+            public LifecycleChanges applyLifecycle(Collection<Long> toComplete, Collection<Long> toStart) {
+                List<BookingKey> moved = new ArrayList<>();
+                transition(toStart, BookingStatus.CONFIRMED, BookingStatus.ONGOING, moved);
+                transition(toComplete, BookingStatus.ONGOING, BookingStatus.COMPLETED, moved);
+                return new LifecycleChanges(moved, Map.of());
+            }
+
+            private void transition(Collection<Long> ids, BookingStatus from, BookingStatus to,
+                                    List<BookingKey> moved) {
+                for (Long id : ids) {
+                    if (statuses.replace(id, from, to)) {
+                        moved.add(new BookingKey(id, 10 + id, now.toLocalDate(), from, null, null));
+                    }
+                }
+            }
+        };
+        lifecycle = new BookingLifecycle(bookingDAO, new BookingLifecycle.Listener() {
+            @Override
+            public void bookingMoved(BookingLifecycle.Tracked booking, BookingStatus from, BookingStatus to) {
+                moves.add(booking.bookingId() + ":" + from + "->" + to);
+            }
+
+            @Override
+            public void stationChanged(Long stationId, StationStatus status) {
+            }
+        }, 200);
+    }
+
+    @After
+    public void tearDown() {
+        if (lifecycle != null) {
+            lifecycle.shutdown();
+        }
+    }
+
+    @Test
+    public void startsAndCompletesConfirmedBookings() throws Exception {
+        booking(1L, BookingStatus.CONFIRMED, now.plusSeconds(2), now.plusSeconds(4));
+        // Already under way when the day is loaded
+        booking(2L, BookingStatus.CONFIRMED, now.minusMinutes(30), now.plusSeconds(3));
+        lifecycle.start();
+
+        awaitStatus(2L, BookingStatus.ONGOING, 3);
+        awaitStatus(1L, BookingStatus.ONGOING, 5);
+        awaitStatus(2L, BookingStatus.COMPLETED, 5);
+        awaitStatus(1L, BookingStatus.COMPLETED, 5);
+        assertTrue(moves.toString(), moves.containsAll(List.of(
+                "1:CONFIRMED->ONGOING", "1:ONGOING->COMPLETED",
+                "2:CONFIRMED->ONGOING", "2:ONGOING->COMPLETED")));
+    }
+
+    @Test
+    public void bookingThatAlreadyEndedIsCompletedInOneStep() throws Exception {
+        booking(1L, BookingStatus.CONFIRMED, now.minusMinutes(20), now.minusMinutes(10));
+        lifecycle.start();
+
+        awaitStatus(1L, BookingStatus.COMPLETED, 3);
+        assertEquals(List.of("1:CONFIRMED->COMPLETED"), moves);
+    }
+
+    @Test
+    public void pendingBookingIsNeitherStartedNorMarkedNoShow() throws Exception {
+        booking(1L, BookingStatus.PENDING, now.minusMinutes(30), now.plusSeconds(2));
+        booking(2L, BookingStatus.CONFIRMED, now.minusMinutes(30), now.plusSeconds(3));
+        lifecycle.start();
+
+        awaitStatus(2L, BookingStatus.COMPLETED, 6);
+        assertEquals(BookingStatus.PENDING, statuses.get(1L));
+        assertTrue(moves.toString(), moves.stream().noneMatch(move -> move.startsWith("1:")));
+    }
+
+    @Test
+    public void pendingBookingIsDroppedOnceItEnds() throws Exception {
+        booking(1L, BookingStatus.PENDING, now.minusMinutes(30), now.plusSeconds(2));
+        lifecycle.start();
+        Thread.sleep(500);
+        assertEquals(1L, tracked());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tracked() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0L, tracked());
+        assertEquals(BookingStatus.PENDING, statuses.get(1L));
+    }
+
+    @Test
+    public void confirmingLateStartsTheBookingAtOnce() throws Exception {
+        booking(1L, BookingStatus.PENDING, now.minusMinutes(30), now.plusHours(1));
+        lifecycle.start();
+        Thread.sleep(1500);
+        assertEquals(BookingStatus.PENDING, statuses.get(1L));
+
+        // What a staff confirmation through updateBooking does
+        statuses.put(1L, BookingStatus.CONFIRMED);
+        lifecycle.bookingChanged(1L, 11L, 101L, now.toLocalDate(), now.minusMinutes(30).toLocalTime(),
+                now.plusHours(1).toLocalTime(), BookingStatus.CONFIRMED);
+
+        awaitStatus(1L, BookingStatus.ONGOING, 4);
+    }
+
+    @Test
+    public void cancelledBookingIsNoLongerFollowed() throws Exception {
+        booking(1L, BookingStatus.CONFIRMED, now.plusSeconds(2), now.plusHours(1));
+        booking(2L, BookingStatus.CONFIRMED, now.plusSeconds(2), now.plusHours(1));
+        lifecycle.start();
+
+        lifecycle.bookingChanged(1L, 11L, 101L, now.toLocalDate(), now.plusSeconds(2).toLocalTime(),
+                now.plusHours(1).toLocalTime(), BookingStatus.CANCELLED);
+        awaitStatus(2L, BookingStatus.ONGOING, 5);
+        Thread.sleep(500);
+        assertEquals(List.of("2:CONFIRMED->ONGOING"), moves);
+    }
+
+    private void booking(Long id, BookingStatus status, LocalDateTime start, LocalDateTime end) {
+        statuses.put(id, status);
+        rows.add(new Object[]{id, 10 + id, 100 + id, start.toLocalDate(),
+                start.toLocalTime(), end.toLocalTime(), status});
+    }
+
+    private long tracked() {
+        return MetricsRegistry.snapshot().get("lifecycle.tracked");
+    }
+
+    private void awaitStatus(Long id, BookingStatus status, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (statuses.get(id) != status && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals("booking " + id, status, statuses.get(id));
+    }
+}
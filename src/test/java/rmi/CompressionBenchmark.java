@@ -0,0 +1,138 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import model.BookingStatus;
+import model.ChangeEvent;
+import model.ChangeEventType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark: RMI round trips of typical payloads over plain sockets and over
+ * the compressing socket factories (SocketSettings.defaults()), on loopback.
+ * Reports bytes per round trip, p50/p99 latency, and the time those bytes
+ * alone take on a 100 Mbit/s link.
+ * Usage: CompressionBenchmark [calls] [rows]
+ */
+public class CompressionBenchmark {
+
+    public interface Echo extends Remote {
+        Object echo(Object payload) throws RemoteException;
+    }
+
+    private static final class EchoImpl implements Echo {
+        @Override
+        public Object echo(Object payload) {
+            return payload;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        EchoImpl plainImpl = new EchoImpl();
+        EchoImpl compressedImpl = new EchoImpl();
+        SocketSettings settings = SocketSettings.defaults();
+        Echo plain = (Echo) UnicastRemoteObject.exportObject(plainImpl, 0);
+        Echo compressed = (Echo) UnicastRemoteObject.exportObject(compressedImpl, 0,
+                new CompressingClientSocketFactory(settings), new CompressingServerSocketFactory(settings));
+        try {
+            Map<String, Serializable> payloads = Map.of(
+                    "events", changeEvents(rows),
+                    "report", reportRows(rows),
+                    "lookup", ChangeEvent.booking(ChangeEventType.BOOKING_UPDATED, 1L, 2L, 3L,
+                            BookingStatus.CONFIRMED, LocalDate.now(), LocalTime.NOON, LocalTime.of(13, 0)));
+            for (String name : List.of("lookup", "events", "report")) {
+                Serializable payload = payloads.get(name);
+                // The first round warms up
+                run(plain, payload, calls);
+                run(compressed, payload, calls);
+                double[] p = run(plain, payload, calls);
+                double[] c = run(compressed, payload, calls);
+                // Plain sockets carry what the compressing ones count as payload
+                double plainBytes = c[2];
+                System.out.printf("%-6s plain %7.0f B, p50 %5.2f ms p99 %5.2f ms, %5.2f ms at 100 Mbit/s | "
+                                + "deflate %6.0f B (%3.0f%%), p50 %5.2f ms p99 %5.2f ms, %5.2f ms at 100 Mbit/s%n",
+                        name, plainBytes, p[0], p[1], plainBytes * 8 / 1e5,
+                        c[3], 100 * c[3] / plainBytes, c[0], c[1], c[3] * 8 / 1e5);
+            }
+        } finally {
+            UnicastRemoteObject.unexportObject(plainImpl, true);
+            UnicastRemoteObject.unexportObject(compressedImpl, true);
+        }
+    }
+
+    /**
+     * @return p50 ms, p99 ms, payload bytes and wire bytes per round trip
+     */
+    private static double[] run(Echo echo, Serializable payload, int calls) throws RemoteException {
+        Map<String, Long> before = WireStats.snapshot();
+        long[] nanos = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            long t = System.nanoTime();
+            echo.echo(payload);
+            nanos[i] = System.nanoTime() - t;
+        }
+        Map<String, Long> after = WireStats.snapshot();
+        Arrays.sort(nanos);
+        // Both ends run in this JVM, so every byte is counted once out and once in
+        double payloadBytes = (delta(before, after, "rmi.payloadBytesOut")
+                + delta(before, after, "rmi.payloadBytesIn")) / 2.0 / calls;
+        double wireBytes = (delta(before, after, "rmi.wireBytesOut")
+                + delta(before, after, "rmi.wireBytesIn")) / 2.0 / calls;
+        return new double[]{nanos[calls / 2] / 1e6, nanos[calls * 99 / 100] / 1e6, payloadBytes, wireBytes};
+    }
+
+    private static long delta(Map<String, Long> before, Map<String, Long> after, String key) {
+        return after.get(key) - before.get(key);
+    }
+
+    // What a station board receives after a busy minute
+    private static ArrayList<ChangeEvent> changeEvents(int count) {
+        Random random = new Random(1);
+        BookingStatus[] statuses = BookingStatus.values();
+        ArrayList<ChangeEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalTime start = LocalTime.of(8 + random.nextInt(12), random.nextBoolean() ? 0 : 30);
+            events.add(ChangeEvent.booking(ChangeEventType.BOOKING_UPDATED, 10_000L + i, 1L + random.nextInt(60),
+                    1L + random.nextInt(5000), statuses[random.nextInt(statuses.length)],
+                    LocalDate.now().plusDays(random.nextInt(7)), start, start.plusHours(1 + random.nextInt(3))));
+        }
+        return events;
+    }
+
+    // Rows of a booking report as the exporters see them
+    private static ArrayList<Object[]> reportRows(int count) {
+        Random random = new Random(2);
+        BookingStatus[] statuses = BookingStatus.values();
+        ArrayList<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalTime start = LocalTime.of(8 + random.nextInt(12), random.nextBoolean() ? 0 : 30);
+            rows.add(new Object[]{10_000L + i, "Customer " + random.nextInt(5000),
+                    "customer" + random.nextInt(5000) + "@example.com", "Station PS5-" + random.nextInt(60),
+                    LocalDate.now().minusDays(random.nextInt(30)), start, start.plusHours(1),
+                    statuses[random.nextInt(statuses.length)].name(), BigDecimal.valueOf(1500 + random.nextInt(20) * 100)});
+        }
+        return rows;
+    }
+}
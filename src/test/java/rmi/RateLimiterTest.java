@@ -0,0 +1,67 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    private final RateLimiter limiter = new RateLimiter();
+
+    @After
+    public void shutdown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    public void allowsTheBurstThenRejects() {
+        limiter.define("test-burst", 3, 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("request " + i, 0, limiter.tryAcquire("test-burst", "alice"));
+        }
+        long wait = limiter.tryAcquire("test-burst", "alice");
+        assertTrue("wait " + wait + " ms", wait > 59_000 && wait <= 60_000);
+        // A rejection does not use up a token
+        assertTrue(limiter.tryAcquire("test-burst", "alice") > 0);
+    }
+
+    @Test
+    public void refillsOneTokenPerInterval() throws Exception {
+        limiter.define("test-refill", 2, 100);
+        assertEquals(0, limiter.tryAcquire("test-refill", "alice"));
+        assertEquals(0, limiter.tryAcquire("test-refill", "alice"));
+        assertTrue(limiter.tryAcquire("test-refill", "alice") > 0);
+
+        Thread.sleep(130);
+        assertEquals(0, limiter.tryAcquire("test-refill", "alice"));
+        assertTrue("only one token came back", limiter.tryAcquire("test-refill", "alice") > 0);
+    }
+
+    @Test
+    public void keysAndPoliciesHaveSeparateBuckets() {
+        limiter.define("test-a", 1, 60_000);
+        limiter.define("test-b", 1, 60_000);
+
+        assertEquals(0, limiter.tryAcquire("test-a", "alice"));
+        assertTrue(limiter.tryAcquire("test-a", "alice") > 0);
+        assertEquals(0, limiter.tryAcquire("test-a", "bob"));
+        assertEquals(0, limiter.tryAcquire("test-b", "alice"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownPolicyIsRejected() {
+        limiter.tryAcquire("test-undefined", "alice");
+    }
+}
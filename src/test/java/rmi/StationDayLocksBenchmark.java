@@ -0,0 +1,107 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark: single bookings (one station, ~2 ms of database work) mixed
+ * with group bookings (8-20 stations, ~10 ms), run once with striped
+ * StationDayLocks and once with one global lock.
+ * Usage: StationDayLocksBenchmark [threads] [operations] [groupPercent] [stations]
+ */
+public class StationDayLocksBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+        int groupPercent = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int stations = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+
+        StationDayLocks striped = new StationDayLocks(256, 60_000);
+        StationDayLocks global = new StationDayLocks(1, 60_000);
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            run("striped", striped, threads, operations, groupPercent, stations, round == 1);
+            run("global", global, threads, operations, groupPercent, stations, round == 1);
+        }
+    }
+
+    private static void run(String name, StationDayLocks locks, int threads, int operations,
+                            int groupPercent, int stations, boolean print) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        LocalDate today = LocalDate.now();
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            long seed = i;
+            results.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                LocalDate date = today.plusDays(random.nextInt(3));
+                boolean group = random.nextInt(100) < groupPercent;
+                long t = System.nanoTime();
+                StationDayLocks.Held held;
+                if (group) {
+                    int size = 8 + random.nextInt(13);
+                    int first = random.nextInt(stations - size + 1);
+                    List<Long> ids = new ArrayList<>();
+                    for (int s = 0; s < size; s++) {
+                        ids.add((long) (first + s));
+                    }
+                    held = locks.lockAll(ids, List.of(date));
+                } else {
+                    held = locks.lock((long) random.nextInt(stations), date);
+                }
+                try {
+                    LockSupport.parkNanos(group ? 10_000_000 : 2_000_000);
+                } finally {
+                    held.close();
+                }
+                return new long[]{group ? 1 : 0, System.nanoTime() - t};
+            }));
+        }
+        long[] singles = new long[operations];
+        long[] groups = new long[operations];
+        int singleCount = 0;
+        int groupCount = 0;
+        for (Future<long[]> result : results) {
+            long[] r = result.get();
+            if (r[0] == 1) {
+                groups[groupCount++] = r[1];
+            } else {
+                singles[singleCount++] = r[1];
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        if (!print) {
+            return;
+        }
+        Arrays.sort(singles, 0, singleCount);
+        Arrays.sort(groups, 0, groupCount);
+        System.out.printf("%-8s %d threads: %.0f bookings/s | single p50 %.1f ms p99 %.1f ms | "
+                        + "group p50 %.1f ms p99 %.1f ms (%d groups)%n",
+                name, threads, operations / seconds,
+                percentile(singles, singleCount, 50), percentile(singles, singleCount, 99),
+                percentile(groups, groupCount, 50), percentile(groups, groupCount, 99), groupCount);
+    }
+
+    private static double percentile(long[] sorted, int count, int p) {
+        return count > 0 ? sorted[Math.min(count - 1, count * p / 100)] / 1e6 : 0.0;
+    }
+}
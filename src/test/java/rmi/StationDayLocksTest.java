@@ -0,0 +1,118 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StationDayLocksTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 14);
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void groupsLockingOverlappingStationsInOppositeOrderDoNotDeadlock() throws Exception {
+        StationDayLocks locks = new StationDayLocks(64, 2_000);
+        List<Long> ascending = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            ascending.add(id);
+        }
+        List<Long> descending = new ArrayList<>(ascending.reversed());
+        List<LocalDate> days = List.of(TODAY, TODAY.plusDays(1));
+
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            List<Long> order = t % 2 == 0 ? ascending : descending;
+            results.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    StationDayLocks.Held held = locks.lockAll(order, days);
+                    held.close();
+                }
+            }));
+        }
+        // A timeout here, or "Server busy" from a writer, would mean a lock-order cycle
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void singleLocksSerialiseWritersOfOneStationAndDay() throws Exception {
+        StationDayLocks locks = new StationDayLocks(256, 5_000);
+        int[] counter = {0};
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    StationDayLocks.Held held = locks.lock(7L, TODAY);
+                    try {
+                        counter[0]++;
+                    } finally {
+                        held.close();
+                    }
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(80_000, counter[0]);
+    }
+
+    @Test
+    public void timesOutAndReleasesWhatItTook() throws Exception {
+        StationDayLocks locks = new StationDayLocks(1024, 100);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = pool.submit(() -> {
+            StationDayLocks.Held lock = locks.lock(2L, TODAY);
+            try {
+                held.countDown();
+                release.await();
+            } finally {
+                lock.close();
+            }
+            return null;
+        });
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        try {
+            locks.lockAll(List.of(1L, 2L, 3L), List.of(TODAY));
+            fail("expected a timeout");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Server busy"));
+        }
+        // Stations 1 and 3 were let go again, so another thread can take them
+        pool.submit(() -> locks.lockAll(List.of(1L, 3L), List.of(TODAY)).close()).get(5, TimeUnit.SECONDS);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        locks.lockAll(List.of(1L, 2L, 3L), List.of(TODAY)).close();
+    }
+}
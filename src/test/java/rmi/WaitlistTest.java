@@ -0,0 +1,167 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package rmi;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import dao.GamingStationDAO;
+import dao.WaitlistDAO;
+import model.GamingStation;
+import model.StationStatus;
+import model.StationType;
+import model.WaitlistStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Waitlist against in-memory DAOs. Every change runs on the waitlist
+ * thread in order, so leave() on an unknown entry is used to wait for the
+ * changes queued before it.
+ */
+public class WaitlistTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Map<Long, WaitlistStatus> resolved = new ConcurrentHashMap<>();
+    private final GamingStation station = new GamingStation();
+    private final List<Long> promoted = new CopyOnWriteArrayList<>();
+    private volatile Waitlist.Outcome outcome = Waitlist.Outcome.PROMOTED;
+    private final Waitlist.Promoter promoter = (waiting, freed) -> {
+        promoted.add(waiting.entryId());
+        return outcome;
+    };
+    private Waitlist waitlist;
+
+    @Before
+    public void setUp() {
+        station.setStationId(7L);
+        station.setStationType(StationType.PC);
+        station.setStatus(StationStatus.AVAILABLE);
+        WaitlistDAO waitlistDAO = new WaitlistDAO() {
+            @Override
+            public List<Object[]> findWaitingRows(LocalDate fromDate) {
+                return rows;
+            }
+
+            @Override
+            public boolean resolve(Long entryId, WaitlistStatus status, Long bookingId) {
+                return entryId > 0 && resolved.putIfAbsent(entryId, status) == null;
+            }
+
+            @Override
+            public int expireStarted(LocalDateTime now) {
+                return 0;
+            }
+        };
+        GamingStationDAO stationDAO = new GamingStationDAO() {
+            @Override
+            public GamingStation findById(Long id) {
+                return station;
+            }
+        };
+        waitlist = new Waitlist(waitlistDAO, stationDAO);
+    }
+
+    @After
+    public void tearDown() {
+        waitlist.shutdown();
+    }
+
+    @Test
+    public void promotesTheOldestFittingEntryThenFillsTheRest() {
+        waiting(1L, StationType.PC, 14, 16);
+        waiting(2L, StationType.PC, 16, 18);
+        waiting(3L, StationType.PC, 14, 18);
+        waiting(4L, StationType.PC, 15, 17);
+        waiting(5L, StationType.XBOX, 14, 16);
+        waitlist.start(promoter);
+
+        freed(14, 18);
+        // 1 is the oldest that fits; 16-18 is left over and fits 2; 3 and 4 overlap 1
+        assertEquals(List.of(1L, 2L), promoted);
+
+        promoted.clear();
+        freed(13, 19);
+        assertEquals(List.of(3L), promoted);
+    }
+
+    @Test
+    public void fillsTheGapsOnBothSidesOfAPromotion() {
+        waiting(1L, StationType.PC, 12, 14);
+        waiting(2L, StationType.PC, 10, 12);
+        waiting(3L, StationType.PC, 14, 16);
+        waiting(4L, StationType.PC, 10, 11);
+        waitlist.start(promoter);
+
+        freed(10, 16);
+        assertEquals(List.of(1L, 2L, 3L), promoted);
+    }
+
+    @Test
+    public void entryKeepsWaitingWhenTheSlotIsTaken() {
+        waiting(1L, StationType.PC, 14, 16);
+        waitlist.start(promoter);
+
+        outcome = Waitlist.Outcome.SLOT_TAKEN;
+        freed(14, 16);
+        assertEquals(List.of(1L), promoted);
+
+        outcome = Waitlist.Outcome.PROMOTED;
+        freed(14, 16);
+        assertEquals(List.of(1L, 1L), promoted);
+
+        freed(14, 16);
+        assertEquals("a promoted entry is not offered again", 2, promoted.size());
+    }
+
+    @Test
+    public void leftEntryIsNotPromoted() {
+        waiting(1L, StationType.PC, 14, 16);
+        waiting(2L, StationType.PC, 14, 16);
+        waitlist.start(promoter);
+
+        assertTrue(waitlist.leave(1L));
+        assertEquals(WaitlistStatus.CANCELLED, resolved.get(1L));
+        freed(14, 16);
+        assertEquals(List.of(2L), promoted);
+    }
+
+    @Test
+    public void stationOutOfServiceFreesNothing() {
+        waiting(1L, StationType.PC, 14, 16);
+        waitlist.start(promoter);
+
+        station.setStatus(StationStatus.MAINTENANCE);
+        freed(14, 16);
+        assertEquals(List.of(), promoted);
+    }
+
+    private void waiting(Long entryId, StationType type, int fromHour, int toHour) {
+        rows.add(new Object[]{entryId, 100L + entryId, type, TOMORROW,
+                LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0), false});
+    }
+
+    private void freed(int fromHour, int toHour) {
+        waitlist.slotFreed(station.getStationId(), TOMORROW, LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0));
+        waitlist.leave(-1L);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The bounds the range queries bind: timestamp columns compare against
+ * [getStart(), getEnd()), DATE columns against [getStartDate(), getEndDateExclusive()).
+ */
+public class DateTimeRangeTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+
+    @Test
+    public void wholeDaysEndAtTheNextMidnight() {
+        DateTimeRange range = DateTimeRange.ofDays(MARCH_1, LocalDate.of(2026, 3, 31));
+
+        assertEquals(MARCH_1.atStartOfDay(), range.getStart());
+        assertEquals(LocalDate.of(2026, 4, 1).atStartOfDay(), range.getEnd());
+        assertEquals(MARCH_1, range.getStartDate());
+        assertEquals(LocalDate.of(2026, 4, 1), range.getEndDateExclusive());
+        assertEquals(31, range.getDays());
+        assertEquals(range, DateTimeRange.ofMonth(YearMonth.of(2026, 3)));
+    }
+
+    @Test
+    public void timestampPredicateIncludesTheStartAndExcludesTheEnd() {
+        DateTimeRange day = DateTimeRange.ofDay(MARCH_1);
+
+        assertTrue(day.contains(MARCH_1.atStartOfDay()));
+        assertTrue(day.contains(MARCH_1.atTime(LocalTime.MAX)));
+        assertFalse(day.contains(MARCH_1.plusDays(1).atStartOfDay()));
+        assertFalse(day.contains(MARCH_1.minusDays(1).atTime(23, 59, 59)));
+    }
+
+    @Test
+    public void adjacentRangesNeitherOverlapNorLeaveGaps() {
+        DateTimeRange first = DateTimeRange.ofDay(MARCH_1);
+        DateTimeRange second = DateTimeRange.ofDay(MARCH_1.plusDays(1));
+        LocalDateTime midnight = MARCH_1.plusDays(1).atStartOfDay();
+
+        assertEquals(first.getEnd(), second.getStart());
+        assertFalse(first.contains(midnight));
+        assertTrue(second.contains(midnight));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void dateColumnBoundsCoverEveryDayTheRangeTouches() {
+        // bookingDate >= :startDate AND bookingDate < :endDate
+        DateTimeRange range = DateTimeRange.of(MARCH_1.atTime(18, 0), MARCH_1.plusDays(2).atTime(6, 0));
+        List<LocalDate> matched = MARCH_1.minusDays(1).datesUntil(MARCH_1.plusDays(5))
+                .filter(d -> !d.isBefore(range.getStartDate()) && d.isBefore(range.getEndDateExclusive()))
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(MARCH_1, MARCH_1.plusDays(1), MARCH_1.plusDays(2)), matched);
+        assertEquals(3, range.getDays());
+    }
+
+    @Test
+    public void rangeEndingAtMidnightDoesNotTouchTheNextDay() {
+        DateTimeRange range = DateTimeRange.of(MARCH_1.atTime(12, 0), MARCH_1.plusDays(1).atStartOfDay());
+
+        assertEquals(MARCH_1.plusDays(1), range.getEndDateExclusive());
+        assertEquals(1, range.getDays());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyRangeIsRejected() {
+        DateTimeRange.of(MARCH_1.atStartOfDay(), MARCH_1.atStartOfDay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reversedRangeIsRejected() {
+        DateTimeRange.ofDays(MARCH_1, MARCH_1.minusDays(1));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OtpStoreTest {
+
+    private OtpStore store;
+
+    @After
+    public void shutdown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void validCodeIsConsumed() {
+        store = new OtpStore(300, 5);
+        String code = store.issue("alice");
+
+        assertTrue(code.matches("\\d{6}"));
+        assertEquals(OtpStore.Result.VALID, store.verify("alice", code));
+        assertEquals(OtpStore.Result.EXPIRED, store.verify("alice", code));
+    }
+
+    @Test
+    public void newCodeReplacesThePreviousOne() {
+        store = new OtpStore(300, 5);
+        String first = store.issue("alice");
+        String second = store.issue("alice");
+        if (first.equals(second)) {
+            second = store.issue("alice");
+        }
+        assertNotEquals(first, second);
+
+        assertEquals(OtpStore.Result.INVALID, store.verify("alice", first));
+        assertEquals(OtpStore.Result.VALID, store.verify("alice", second));
+    }
+
+    @Test
+    public void expiredCodeIsRejected() {
+        store = new OtpStore(0, 5);
+        String code = store.issue("alice");
+
+        assertEquals(OtpStore.Result.EXPIRED, store.verify("alice", code));
+        assertEquals(OtpStore.Result.EXPIRED, store.verify("bob", "123456"));
+    }
+
+    @Test
+    public void tooManyWrongGuessesRemoveTheCode() {
+        store = new OtpStore(300, 3);
+        String code = store.issue("alice");
+        String wrong = code.equals("000000") ? "111111" : "000000";
+
+        assertEquals(OtpStore.Result.INVALID, store.verify("alice", wrong));
+        assertEquals(OtpStore.Result.INVALID, store.verify("alice", null));
+        assertEquals(OtpStore.Result.TOO_MANY_ATTEMPTS, store.verify("alice", wrong));
+        // The right code no longer works once the limit is reached
+        assertEquals(OtpStore.Result.EXPIRED, store.verify("alice", code));
+    }
+
+    @Test
+    public void attemptsAreCountedPerUser() {
+        store = new OtpStore(300, 2);
+        String alice = store.issue("alice");
+        String bob = store.issue("bob");
+
+        assertEquals(OtpStore.Result.INVALID, store.verify("alice", alice.equals("000000") ? "111111" : "000000"));
+        assertEquals(OtpStore.Result.VALID, store.verify("bob", bob));
+        assertEquals(OtpStore.Result.VALID, store.verify("alice", alice));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: time per hash for a range of costs, then login throughput
+ * through a PasswordService with the given cost, threads and queue.
+ * Usage: PasswordServiceBenchmark [minCost] [maxCost] [logins] [cost] [threads] [queue]
+ */
+public class PasswordServiceBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int minCost = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int maxCost = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int logins = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int cost = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Math.min(4, Runtime.getRuntime().availableProcessors());
+        int queue = args.length > 5 ? Integer.parseInt(args[5]) : 32;
+
+        for (int c = minCost; c <= maxCost; c++) {
+            String hash = BCrypt.hashpw("benchmark", BCrypt.gensalt(c));
+            int rounds = Math.max(3, 2000 >> c);
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                BCrypt.checkpw("benchmark", hash);
+            }
+            System.out.printf("cost %2d: %8.1f ms per check%n", c, (System.nanoTime() - start) / 1e6 / rounds);
+        }
+
+        PasswordService service = new PasswordService(cost, threads, queue);
+        String hash = service.hash("benchmark");
+        // Far more callers than pool threads, like RMI threads at peak
+        ThreadPoolExecutor callers = new ThreadPoolExecutor(64, 64, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(logins));
+        List<Future<Long>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < logins; i++) {
+            results.add(callers.submit(() -> {
+                long t = System.nanoTime();
+                try {
+                    service.verify("benchmark", hash);
+                    return System.nanoTime() - t;
+                } catch (IllegalStateException e) {
+                    return -1L;
+                }
+            }));
+        }
+        long[] latencies = new long[logins];
+        int accepted = 0;
+        for (Future<Long> result : results) {
+            long latency = result.get();
+            if (latency >= 0) {
+                latencies[accepted++] = latency;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies, 0, accepted);
+        System.out.printf("cost %d, %d thread(s), queue %d: %d of %d logins accepted, %.1f/s, "
+                        + "p50 %.0f ms, p99 %.0f ms%n",
+                cost, threads, queue, accepted, logins, accepted / seconds,
+                accepted > 0 ? latencies[accepted / 2] / 1e6 : 0.0,
+                accepted > 0 ? latencies[accepted * 99 / 100] / 1e6 : 0.0);
+        callers.shutdown();
+        service.shutdown();
+    }
+}
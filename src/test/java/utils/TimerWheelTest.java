@@ -0,0 +1,102 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package utils;
+
+/**
+ *
+ * @author Odeth
+ */
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * TimerWheel with 10 ms ticks and 4 buckets per level, so level 0 spans
+ * 40 ms, level 1 160 ms and level 2 640 ms, and the longer delays below
+ * only fire after cascading down one or two levels.
+ */
+public class TimerWheelTest {
+
+    private final TimerWheel wheel = new TimerWheel("test", 10, 4);
+
+    @After
+    public void shutdown() {
+        wheel.shutdown();
+    }
+
+    @Test
+    public void firesEachTimeoutAfterItsDelayAcrossLevels() throws Exception {
+        long[] delays = {5, 30, 120, 450, 900};
+        long[] firedAfter = new long[delays.length];
+        CountDownLatch done = new CountDownLatch(delays.length);
+        long start = System.nanoTime();
+        for (int i = delays.length - 1; i >= 0; i--) {
+            int index = i;
+            wheel.schedule(() -> {
+                firedAfter[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                done.countDown();
+            }, delays[i], TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue("timeouts did not all fire", done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue("timeout of " + delays[i] + " ms fired after " + firedAfter[i] + " ms",
+                    firedAfter[i] >= delays[i]);
+            // One tick of accuracy, plus slack for a busy build machine
+            assertTrue("timeout of " + delays[i] + " ms fired after " + firedAfter[i] + " ms",
+                    firedAfter[i] <= delays[i] + 250);
+        }
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    public void firesInDeadlineOrder() throws Exception {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        int[] order = {3, 0, 2, 1};
+        for (int i : order) {
+            wheel.schedule(() -> {
+                fired.add(i);
+                done.countDown();
+            }, 50 + i * 100L, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3), fired);
+    }
+
+    @Test
+    public void cancelledTimeoutNeverRuns() throws Exception {
+        CountDownLatch ran = new CountDownLatch(1);
+        CountDownLatch later = new CountDownLatch(1);
+        TimerWheel.Timeout cancelled = wheel.schedule(ran::countDown, 200, TimeUnit.MILLISECONDS);
+        TimerWheel.Timeout kept = wheel.schedule(later::countDown, 300, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse("cancelling twice", cancelled.cancel());
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertEquals(1, ran.getCount());
+        assertFalse(cancelled.isExpired());
+        assertTrue(kept.isExpired());
+        assertFalse("cancelling after it ran", kept.cancel());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    public void zeroDelayRunsOnTheNextTick() throws Exception {
+        CountDownLatch ran = new CountDownLatch(1);
+        wheel.schedule(ran::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+    }
+}